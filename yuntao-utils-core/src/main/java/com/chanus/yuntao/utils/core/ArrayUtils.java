@@ -17,6 +17,7 @@ package com.chanus.yuntao.utils.core;
 
 import com.chanus.yuntao.utils.core.function.Filter;
 import com.chanus.yuntao.utils.core.function.Replacer;
+import com.chanus.yuntao.utils.core.lang.StringBuilderPool;
 
 import java.lang.reflect.Array;
 import java.util.*;
@@ -597,7 +598,7 @@ public class ArrayUtils {
             return null;
         }
 
-        final StringBuilder stringBuilder = new StringBuilder();
+        final StringBuilder stringBuilder = StringBuilderPool.acquire();
         boolean isFirst = true;
         for (T t : array) {
             if (!isIgnoreNull || ObjectUtils.isNotEmpty(t)) {
@@ -613,7 +614,7 @@ public class ArrayUtils {
                 }
             }
         }
-        return stringBuilder.toString();
+        return StringBuilderPool.toStringAndRelease(stringBuilder);
     }
 
     /**
@@ -167,6 +167,17 @@ public class CharUtils {
      */
     public static final char LF = '\n';
 
+    /**
+     * Latin-1 字符是否为空白符的查找表，由 {@link #isBlank(int)} 的通用判断生成，二者结果完全一致
+     */
+    private static final boolean[] LATIN1_BLANKS = new boolean[256];
+
+    static {
+        for (int c = 0; c < LATIN1_BLANKS.length; c++) {
+            LATIN1_BLANKS[c] = isUnicodeBlank(c);
+        }
+    }
+
     private CharUtils() {
         throw new IllegalStateException("Utility class");
     }
@@ -392,6 +403,10 @@ public class CharUtils {
      * @return {@code true} 表示为空白符；{@code false} 表示非空白符
      */
     public static boolean isBlank(final int c) {
+        return c >= 0 && c < LATIN1_BLANKS.length ? LATIN1_BLANKS[c] : isUnicodeBlank(c);
+    }
+
+    private static boolean isUnicodeBlank(final int c) {
         return Character.isWhitespace(c) || Character.isSpaceChar(c) || c == '\ufeff' || c == '\u202a';
     }
 
@@ -427,6 +442,55 @@ public class CharUtils {
         return ignoreCase ? Character.toLowerCase(c1) == Character.toLowerCase(c2) : c1 == c2;
     }
 
+    /**
+     * 比较两个字符是否相同，忽略大小写，规则与 {@link String#equalsIgnoreCase(String)} 一致，ASCII 字符直接比较
+     *
+     * @param c1 字符1
+     * @param c2 字符2
+     * @return {@code true} 表示相同；{@code false} 表示不相同
+     * @since 1.8.0
+     */
+    public static boolean equalsIgnoreCase(final char c1, final char c2) {
+        if (c1 == c2) {
+            return true;
+        }
+        if ((c1 | c2) < 0x80) {
+            return toLowerCase(c1) == toLowerCase(c2);
+        }
+
+        char u1 = Character.toUpperCase(c1);
+        char u2 = Character.toUpperCase(c2);
+        return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+    }
+
+    /**
+     * 字符转为大写，ASCII 字符直接计算，其他字符同 {@link Character#toUpperCase(char)}
+     *
+     * @param c 字符
+     * @return 大写字符
+     * @since 1.8.0
+     */
+    public static char toUpperCase(final char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' ? (char) (c - 32) : c;
+        }
+        return Character.toUpperCase(c);
+    }
+
+    /**
+     * 字符转为小写，ASCII 字符直接计算，其他字符同 {@link Character#toLowerCase(char)}
+     *
+     * @param c 字符
+     * @return 小写字符
+     * @since 1.8.0
+     */
+    public static char toLowerCase(final char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
     /**
      * 获取字符类型
      *
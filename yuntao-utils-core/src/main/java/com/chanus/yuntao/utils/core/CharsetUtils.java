@@ -15,9 +15,27 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.codec.Utf8;
+import com.chanus.yuntao.utils.core.lang.CharsetDetector;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 字符集工具类
@@ -52,6 +70,19 @@ public class CharsetUtils {
      */
     public static final Charset CHARSET_GBK;
 
+    /**
+     * 线程本地缓存的编码器
+     */
+    private static final ThreadLocal<Map<Charset, CharsetEncoder>> ENCODERS = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * 线程本地缓存的解码器
+     */
+    private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * 字符集是否兼容 ASCII，即 ASCII 字符的编码与 ASCII 码相同
+     */
+    private static final Map<Charset, Boolean> ASCII_COMPATIBLE = new ConcurrentHashMap<>();
+
     static {
         // 避免不支持 GBK 的系统中运行报错
         Charset gbk = null;
@@ -149,7 +180,179 @@ public class CharsetUtils {
         if (StringUtils.isBlank(source) || srcCharset.equals(destCharset)) {
             return source;
         }
-        return new String(source.getBytes(srcCharset), destCharset);
+        if (isAscii(source) && isAsciiCompatible(srcCharset) && isAsciiCompatible(destCharset)) {
+            // 纯 ASCII 内容在两种字符集下编码相同，转换结果与原字符串一致
+            return source;
+        }
+        byte[] bytes = source.getBytes(srcCharset);
+        return decode(bytes, 0, bytes.length, destCharset);
+    }
+
+    /**
+     * 探测字节数组的字符集，支持 BOM 以及 UTF-8 和 GBK 的区分，只检查前 {@value CharsetDetector#DEFAULT_SAMPLE_SIZE} 个字节
+     *
+     * @param bytes 字节数组
+     * @return 探测结果，包括字符集、置信度和 BOM 的字节数
+     * @since 1.8.0
+     */
+    public static CharsetDetector.Result detect(byte[] bytes) {
+        return CharsetDetector.detect(bytes);
+    }
+
+    /**
+     * 探测输入流的字符集，最多读取 {@value CharsetDetector#DEFAULT_SAMPLE_SIZE} 个字节，
+     * 输入流支持 mark 时读取后重置到原位置，不关闭输入流
+     *
+     * @param in 输入流
+     * @return 探测结果，包括字符集、置信度和 BOM 的字节数
+     * @throws IOException IO 异常
+     * @since 1.8.0
+     */
+    public static CharsetDetector.Result detect(InputStream in) throws IOException {
+        return CharsetDetector.detect(in);
+    }
+
+    /**
+     * 探测文件的字符集，只读取文件开头的 {@value CharsetDetector#DEFAULT_SAMPLE_SIZE} 个字节
+     *
+     * @param file 文件
+     * @return 探测结果，包括字符集、置信度和 BOM 的字节数
+     * @throws IOException IO 异常
+     * @since 1.8.0
+     */
+    public static CharsetDetector.Result detect(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return CharsetDetector.detect(in);
+        }
+    }
+
+    /**
+     * 获取当前线程缓存的编码器，无法编码的字符以替换字节处理<br>
+     * 返回的编码器已重置，只能在当前线程中使用，使用期间不能再次获取同一字符集的编码器
+     *
+     * @param charset 字符集
+     * @return 编码器
+     * @since 1.8.0
+     */
+    public static CharsetEncoder encoder(Charset charset) {
+        CharsetEncoder encoder = ENCODERS.get().computeIfAbsent(charset, c -> c.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        return encoder.reset();
+    }
+
+    /**
+     * 获取当前线程缓存的解码器，非法的字节序列以替换字符处理<br>
+     * 返回的解码器已重置，只能在当前线程中使用，使用期间不能再次获取同一字符集的解码器
+     *
+     * @param charset 字符集
+     * @return 解码器
+     * @since 1.8.0
+     */
+    public static CharsetDecoder decoder(Charset charset) {
+        CharsetDecoder decoder = DECODERS.get().computeIfAbsent(charset, c -> c.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        return decoder.reset();
+    }
+
+    /**
+     * 将字符序列编码后写入缓冲区，写入后缓冲区的 position 后移，UTF-8 编码不经过编码器直接写入
+     *
+     * @param s       字符序列
+     * @param charset 字符集
+     * @param dest    目标缓冲区
+     * @return 写入的字节数
+     * @throws BufferOverflowException 缓冲区剩余空间不足，此时缓冲区的 position 不变
+     * @since 1.8.0
+     */
+    public static int encode(CharSequence s, Charset charset, ByteBuffer dest) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return Utf8.encode(s, dest);
+        }
+
+        final int start = dest.position();
+        CharsetEncoder encoder = encoder(charset);
+        CoderResult result = encoder.encode(CharBuffer.wrap(s), dest, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(dest);
+        }
+        if (result.isOverflow()) {
+            dest.position(start);
+            throw new BufferOverflowException();
+        }
+        return dest.position() - start;
+    }
+
+    /**
+     * 解码字节数组的片段，UTF-8 编码的纯 ASCII 内容直接按字节转换
+     *
+     * @param bytes   字节数组
+     * @param offset  起始位置
+     * @param length  字节数
+     * @param charset 字符集
+     * @return 字符串
+     * @since 1.8.0
+     */
+    public static String decode(byte[] bytes, int offset, int length, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return Utf8.decode(bytes, offset, length);
+        }
+        return new String(bytes, offset, length, charset);
+    }
+
+    /**
+     * 解码缓冲区的剩余内容，解码后缓冲区的 position 移至 limit<br>
+     * 基于数组的缓冲区直接解码数组的片段，其他缓冲区使用线程本地缓存的解码器
+     *
+     * @param buffer  缓冲区
+     * @param charset 字符集
+     * @return 字符串
+     * @since 1.8.0
+     */
+    public static String decode(ByteBuffer buffer, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return Utf8.decode(buffer);
+        }
+        if (buffer.hasArray()) {
+            String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), charset);
+            buffer.position(buffer.limit());
+            return s;
+        }
+
+        try {
+            return decoder(charset).decode(buffer).toString();
+        } catch (CharacterCodingException e) {
+            // 解码器使用替换模式，不会抛出该异常
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        Boolean compatible = ASCII_COMPATIBLE.get(charset);
+        if (compatible == null) {
+            char[] ascii = new char[128];
+            for (char c = 0; c < ascii.length; c++) {
+                ascii[c] = c;
+            }
+            String s = new String(ascii);
+            byte[] bytes = s.getBytes(charset);
+            compatible = bytes.length == ascii.length && s.equals(new String(bytes, charset));
+            for (int i = 0; compatible && i < bytes.length; i++) {
+                compatible = bytes[i] == i;
+            }
+            ASCII_COMPATIBLE.put(charset, compatible);
+        }
+        return compatible;
     }
 
     /**
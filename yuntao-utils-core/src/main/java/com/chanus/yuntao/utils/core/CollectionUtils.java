@@ -18,6 +18,7 @@ package com.chanus.yuntao.utils.core;
 import com.chanus.yuntao.utils.core.function.Editor;
 import com.chanus.yuntao.utils.core.function.Filter;
 import com.chanus.yuntao.utils.core.function.Matcher;
+import com.chanus.yuntao.utils.core.lang.StringBuilderPool;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -249,7 +250,7 @@ public class CollectionUtils {
             return null;
         }
 
-        final StringBuilder stringBuilder = new StringBuilder();
+        final StringBuilder stringBuilder = StringBuilderPool.acquire();
         boolean isFirst = true;
         T item;
         while (iterator.hasNext()) {
@@ -270,7 +271,7 @@ public class CollectionUtils {
                 stringBuilder.append(item);
             }
         }
-        return stringBuilder.toString();
+        return StringBuilderPool.toStringAndRelease(stringBuilder);
     }
 
     /**
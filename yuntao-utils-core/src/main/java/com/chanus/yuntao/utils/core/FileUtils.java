@@ -15,10 +15,11 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.codec.Hex;
+import com.chanus.yuntao.utils.core.lang.CharsetDetector;
 import com.chanus.yuntao.utils.core.reflect.ClassUtils;
 
 import java.io.*;
-import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
@@ -376,6 +377,35 @@ public class FileUtils {
         return readString(newFile(path), charset);
     }
 
+    /**
+     * 读文件，根据 BOM 和文件开头的内容自动识别字符集（UTF-8 或 GBK），BOM 不包含在返回的内容中
+     *
+     * @param file 文件
+     * @return 文件内容
+     * @throws IOException IO 异常
+     * @see CharsetUtils#detect(byte[])
+     * @since 1.8.0
+     */
+    public static String readString(File file) throws IOException {
+        byte[] bytes = readBytes(file);
+        CharsetDetector.Result result = CharsetUtils.detect(bytes);
+        int bom = result.getBomLength();
+        return CharsetUtils.decode(bytes, bom, bytes.length - bom, result.getCharset());
+    }
+
+    /**
+     * 读文件，根据 BOM 和文件开头的内容自动识别字符集（UTF-8 或 GBK），BOM 不包含在返回的内容中
+     *
+     * @param path 文件路径
+     * @return 文件内容
+     * @throws IOException IO 异常
+     * @see CharsetUtils#detect(byte[])
+     * @since 1.8.0
+     */
+    public static String readString(String path) throws IOException {
+        return readString(newFile(path));
+    }
+
     /**
      * 读文件
      *
@@ -1342,7 +1372,7 @@ public class FileUtils {
                 md.update(buffer, 0, len);
             }
             fis.close();
-            return new BigInteger(1, md.digest()).toString(16);
+            return Hex.encode(md.digest());
         } catch (NoSuchAlgorithmException | IOException e) {
             e.printStackTrace();
         } finally {
@@ -2242,18 +2272,11 @@ public class FileUtils {
      * @since 1.2.4
      */
     public static String toBase64(InputStream inputStream) {
-        // 读取图片字节数组
-        try {
-            byte[] data = new byte[inputStream.available()];
-            inputStream.read(data);
+        // 读取图片字节数组，不能使用 available() 作为长度，网络流等情况下其值可能小于实际长度
+        byte[] data = StreamUtils.read2Byte(inputStream);
 
-            // 对字节数组进行 Base64 编码，得到 Base64 编码的字符串
-            return Base64.getEncoder().encodeToString(data);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } finally {
-            IOUtils.close(inputStream);
-        }
+        // 对字节数组进行 Base64 编码，得到 Base64 编码的字符串
+        return Base64.getEncoder().encodeToString(data);
     }
 
     /**
@@ -2271,6 +2294,22 @@ public class FileUtils {
         }
     }
 
+    /**
+     * 文件转换成 Base64 编码并写出到输出流，边读边编码，内存占用固定，适用于大文件，不关闭输出流
+     *
+     * @param file         文件
+     * @param outputStream 输出流
+     * @since 1.8.0
+     */
+    public static void toBase64(File file, OutputStream outputStream) {
+        BufferedInputStream inputStream = getInputStream(file);
+        try {
+            com.chanus.yuntao.utils.core.codec.Base64.encode(inputStream, outputStream, false, false);
+        } finally {
+            IOUtils.close(inputStream);
+        }
+    }
+
     /**
      * 在线文件转换成 Base64 字符串
      *
@@ -20,7 +20,6 @@ import com.chanus.yuntao.utils.core.codec.Base64;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
@@ -122,26 +121,40 @@ public class GoogleAuthenticatorUtils {
      * @return {@code true} if the code is valid, {@code false} otherwise
      */
     public static boolean checkCode(String secret, long code, long timeMsec) {
-        byte[] decodedKey = Base32.decode2Bytes(secret);
+        return checkCode(Base32.decode2Bytes(secret), code, timeMsec);
+    }
+
+    /**
+     * Check the code entered by the user to see if it is valid 验证 code 是否合法<br>
+     * 频繁校验同一用户时，可缓存 {@link Base32#decode2Bytes(String)} 解码后的密钥，避免每次校验都解码
+     *
+     * @param decodedKey The users secret decoded by {@link Base32#decode2Bytes(String)}.
+     * @param code       The code displayed on the users device.
+     * @param timeMsec   The time in msec (System.currentTimeMillis() for example)
+     * @return {@code true} if the code is valid, {@code false} otherwise
+     * @since 1.8.0
+     */
+    public static boolean checkCode(byte[] decodedKey, long code, long timeMsec) {
         // convert unix msec time into a 30 second "window"
         // this is per the TOTP spec (see the RFC for details)
         long t = (timeMsec / 1000L) / 30L;
+        Mac mac;
+        try {
+            mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(decodedKey, "HmacSHA1"));
+        } catch (Exception e) {
+            // Yes, this is bad form - but
+            // the exceptions thrown would be rare and a static
+            // configuration problem
+            e.printStackTrace();
+            throw new RuntimeException(e.getMessage());
+        }
+
         // Window is used to check codes generated in the near past.
         // You can use this value to tune how far you're willing to go.
+        byte[] data = new byte[8];
         for (int i = -window_size; i <= window_size; ++i) {
-            long hash;
-            try {
-                hash = verify(decodedKey, t + i);
-            } catch (Exception e) {
-                // Yes, this is bad form - but
-                // the exceptions thrown would be rare and a static
-                // configuration problem
-                e.printStackTrace();
-                throw new RuntimeException(e.getMessage());
-                // return false;
-            }
-
-            if (hash == code) {
+            if (verify(mac, data, t + i) == code) {
                 return true;
             }
         }
@@ -163,15 +176,11 @@ public class GoogleAuthenticatorUtils {
         return checkCode(secret, code, t);
     }
 
-    private static long verify(byte[] key, long t) throws NoSuchAlgorithmException, InvalidKeyException {
-        byte[] data = new byte[8];
+    private static long verify(Mac mac, byte[] data, long t) {
         long value = t;
         for (int i = 8; i-- > 0; value >>>= 8) {
             data[i] = (byte) value;
         }
-        SecretKeySpec signKey = new SecretKeySpec(key, "HmacSHA1");
-        Mac mac = Mac.getInstance("HmacSHA1");
-        mac.init(signKey);
         byte[] hash = mac.doFinal(data);
         int offset = hash[20 - 1] & 0xF;
         // We're using a long because Java hasn't got unsigned int.
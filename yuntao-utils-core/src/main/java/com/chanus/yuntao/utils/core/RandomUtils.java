@@ -15,6 +15,8 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.date.CachedClock;
+
 import java.awt.*;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
@@ -222,10 +224,11 @@ public class RandomUtils {
      *
      * @param digitCount 随机数字个数
      * @return 时间戳和 {@code digitCount} 位随机数字组成的纯数字字符串
+     * @see CachedClock#currentTimeMillisString()
      * @since 1.2.2
      */
     public static String getRandomUniqueNo(int digitCount) {
-        return System.currentTimeMillis() + getRandomDigits(digitCount);
+        return CachedClock.getInstance().currentTimeMillisString() + getRandomDigits(digitCount);
     }
 
     /**
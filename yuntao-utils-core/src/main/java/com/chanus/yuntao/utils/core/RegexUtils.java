@@ -15,7 +15,12 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.lang.PatternCache;
+import com.chanus.yuntao.utils.core.lang.RegexScanner;
+
+import java.io.Reader;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +48,11 @@ public class RegexUtils {
      */
     public static final String RE_CHINESES = REGEX_CHINESE + "+";
 
+    /**
+     * 字符串正则的编译缓存，匹配标志为 {@link Pattern#DOTALL}
+     */
+    private static final PatternCache PATTERN_CACHE = new PatternCache(PatternCache.DEFAULT_MAX_SIZE, Pattern.DOTALL);
+
     /**
      * 正则中需要被转义的关键字
      */
@@ -56,6 +66,38 @@ public class RegexUtils {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * 获取已编译的正则，匹配标志为 {@link Pattern#DOTALL}，编译结果会被缓存，
+     * 所有使用字符串正则的方法都通过该方法编译
+     *
+     * @param regex 正则表达式
+     * @return 已编译的正则
+     * @since 1.8.0
+     */
+    public static Pattern getPattern(String regex) {
+        return PATTERN_CACHE.get(regex);
+    }
+
+    /**
+     * 预编译正则，预编译的正则常驻缓存，不会被淘汰，适用于频繁调用的校验逻辑
+     *
+     * @param regexes 正则表达式
+     * @since 1.8.0
+     */
+    public static void precompile(String... regexes) {
+        PATTERN_CACHE.precompile(regexes);
+    }
+
+    /**
+     * 获取字符串正则的编译缓存，可用于查看命中统计或注册命名的正则
+     *
+     * @return 正则编译缓存
+     * @since 1.8.0
+     */
+    public static PatternCache getPatternCache() {
+        return PATTERN_CACHE;
+    }
+
     /**
      * 获得匹配的字符串，获得正则中分组0的内容
      *
@@ -91,7 +133,7 @@ public class RegexUtils {
             return null;
         }
 
-        return get(Pattern.compile(regex, Pattern.DOTALL), content, groupIndex);
+        return get(getPattern(regex), content, groupIndex);
     }
 
     /**
@@ -184,7 +226,7 @@ public class RegexUtils {
             return StringUtils.toString(content);
         }
 
-        return delFirst(Pattern.compile(regex, Pattern.DOTALL), content);
+        return delFirst(getPattern(regex), content);
     }
 
     /**
@@ -214,7 +256,7 @@ public class RegexUtils {
             return StringUtils.toString(content);
         }
 
-        return delAll(Pattern.compile(regex, Pattern.DOTALL), content);
+        return delAll(getPattern(regex), content);
     }
 
     /**
@@ -247,7 +289,7 @@ public class RegexUtils {
             return collection;
         }
 
-        return findAll(Pattern.compile(regex, Pattern.DOTALL), content, group, collection);
+        return findAll(getPattern(regex), content, group, collection);
     }
 
     /**
@@ -300,6 +342,42 @@ public class RegexUtils {
         return findAll(pattern, content, group, new ArrayList<>());
     }
 
+    /**
+     * 流式获取 {@link Reader} 中匹配正则的所有结果，无需将全部内容读入内存，不关闭 {@code reader}
+     *
+     * @param regex    正则表达式
+     * @param reader   {@link Reader}
+     * @param group    正则的分组
+     * @param consumer 匹配结果的处理
+     * @see RegexScanner
+     * @since 1.8.0
+     */
+    public static void findAll(String regex, Reader reader, int group, Consumer<String> consumer) {
+        if (regex == null) {
+            return;
+        }
+
+        findAll(getPattern(regex), reader, group, consumer);
+    }
+
+    /**
+     * 流式获取 {@link Reader} 中匹配正则的所有结果，无需将全部内容读入内存，不关闭 {@code reader}
+     *
+     * @param pattern  正则模式
+     * @param reader   {@link Reader}
+     * @param group    正则的分组
+     * @param consumer 匹配结果的处理
+     * @see RegexScanner
+     * @since 1.8.0
+     */
+    public static void findAll(Pattern pattern, Reader reader, int group, Consumer<String> consumer) {
+        if (pattern == null || reader == null) {
+            return;
+        }
+
+        RegexScanner.of(pattern).scan(reader, match -> consumer.accept(match.group(group)));
+    }
+
     /**
      * 计算给定内容中匹配正则的个数
      *
@@ -312,7 +390,7 @@ public class RegexUtils {
             return 0;
         }
 
-        return count(Pattern.compile(regex, Pattern.DOTALL), content);
+        return count(getPattern(regex), content);
     }
 
     /**
@@ -336,6 +414,38 @@ public class RegexUtils {
         return count;
     }
 
+    /**
+     * 流式计算 {@link Reader} 中匹配正则的个数，无需将全部内容读入内存，不关闭 {@code reader}
+     *
+     * @param regex  正则表达式
+     * @param reader {@link Reader}
+     * @return 匹配正则的个数
+     * @since 1.8.0
+     */
+    public static long count(String regex, Reader reader) {
+        if (regex == null || reader == null) {
+            return 0;
+        }
+
+        return count(getPattern(regex), reader);
+    }
+
+    /**
+     * 流式计算 {@link Reader} 中匹配正则的个数，无需将全部内容读入内存，不关闭 {@code reader}
+     *
+     * @param pattern 正则模式
+     * @param reader  {@link Reader}
+     * @return 匹配正则的个数
+     * @since 1.8.0
+     */
+    public static long count(Pattern pattern, Reader reader) {
+        if (pattern == null || reader == null) {
+            return 0;
+        }
+
+        return RegexScanner.of(pattern).count(reader);
+    }
+
     /**
      * 判断给定内容中是否包含正则表达式匹配的内容
      *
@@ -344,7 +454,7 @@ public class RegexUtils {
      * @return {@code true} 包含正则表达式匹配的内容；{@code false} 不包含正则表达式匹配的内容
      */
     public static boolean contains(String regex, CharSequence content) {
-        return regex != null && content != null && contains(Pattern.compile(regex, Pattern.DOTALL), content);
+        return regex != null && content != null && contains(getPattern(regex), content);
     }
 
     /**
@@ -366,7 +476,7 @@ public class RegexUtils {
      * @return {@code true} 匹配；{@code false} 不匹配
      */
     public static boolean isMatch(String regex, CharSequence content) {
-        return regex != null && content != null && isMatch(Pattern.compile(regex, Pattern.DOTALL), content);
+        return regex != null && content != null && isMatch(getPattern(regex), content);
     }
 
     /**
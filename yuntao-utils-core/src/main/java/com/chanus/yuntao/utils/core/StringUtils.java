@@ -15,8 +15,16 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.codec.Escaper;
+import com.chanus.yuntao.utils.core.codec.Utf8;
 import com.chanus.yuntao.utils.core.function.Editor;
 import com.chanus.yuntao.utils.core.function.Filter;
+import com.chanus.yuntao.utils.core.function.Replacer;
+import com.chanus.yuntao.utils.core.lang.AhoCorasick;
+import com.chanus.yuntao.utils.core.lang.StringBuilderPool;
+import com.chanus.yuntao.utils.core.lang.StringSplitter;
+import com.chanus.yuntao.utils.core.lang.StringTemplate;
+import com.chanus.yuntao.utils.core.lang.TextMasker;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -208,6 +216,11 @@ public class StringUtils {
 
     public static final int INDEX_NOT_FOUND = -1;
 
+    /**
+     * 十六进制字符
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private StringUtils() {
         throw new IllegalStateException("Utility class");
     }
@@ -224,7 +237,17 @@ public class StringUtils {
      * @return {@code true} 字符串为空；{@code false} 字符串不为空
      */
     public static boolean isBlank(final String s) {
-        return s == null || s.trim().length() == 0;
+        if (s == null) {
+            return true;
+        }
+
+        // 与 String.trim() 的空白定义一致，直接扫描避免创建子串
+        for (int i = 0, length = s.length(); i < length; i++) {
+            if (s.charAt(i) > CharUtils.SPACE) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -624,7 +647,22 @@ public class StringUtils {
      * @return 去除首尾空格后的字符串
      */
     public static String trim(final String s) {
-        return isBlank(s) ? null : s.trim();
+        if (s == null) {
+            return null;
+        }
+
+        int end = s.length();
+        int start = 0;
+        while (start < end && s.charAt(start) <= CharUtils.SPACE) {
+            start++;
+        }
+        if (start == end) {
+            return null;
+        }
+        while (s.charAt(end - 1) <= CharUtils.SPACE) {
+            end--;
+        }
+        return start > 0 || end < s.length() ? s.substring(start, end) : s;
     }
 
     /**
@@ -788,7 +826,20 @@ public class StringUtils {
             return t == null;
         }
 
-        return t != null && s.toString().equalsIgnoreCase(t.toString());
+        if (t == null || s.length() != t.length()) {
+            return false;
+        }
+        if (s instanceof String && t instanceof String) {
+            return ((String) s).equalsIgnoreCase((String) t);
+        }
+
+        // 非 String 时逐字符比较，避免 toString() 复制内容
+        for (int i = 0, length = s.length(); i < length; i++) {
+            if (!CharUtils.equalsIgnoreCase(s.charAt(i), t.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -914,15 +965,45 @@ public class StringUtils {
         if (num <= 0) {
             return EMPTY;
         }
-        if (num == 1) {
+        if (num == 1 || s.isEmpty()) {
             return s;
         }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < num; i++) {
-            sb.append(s);
+        final char[] chars = new char[checkedLength((long) s.length() * num)];
+        repeatTo(s, chars, 0, chars.length);
+        return new String(chars);
+    }
+
+    /**
+     * 计算结果的长度，超过字符串的最大长度时抛出异常
+     */
+    private static int checkedLength(long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Required length is too large: " + length);
+        }
+        return (int) length;
+    }
+
+    /**
+     * 从 {@code offset} 开始将字符串循环写入 {@code length} 个字符，先写入一份，之后每次复制已写入的全部内容，
+     * 共 O(log n) 次数组复制
+     */
+    private static void repeatTo(String s, char[] chars, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        if (s.length() == 1) {
+            Arrays.fill(chars, offset, offset + length, s.charAt(0));
+            return;
+        }
+
+        int filled = Math.min(s.length(), length);
+        s.getChars(0, filled, chars, offset);
+        while (filled < length) {
+            int n = Math.min(filled, length - filled);
+            System.arraycopy(chars, offset, chars, offset + filled, n);
+            filled += n;
         }
-        return sb.toString();
     }
 
     /**
@@ -944,24 +1025,15 @@ public class StringUtils {
             return s;
         }
 
-        boolean join = true, isFirst = true;
         if (isEmpty(separator)) {
-            join = false;
+            return repeat(s, num);
         }
 
-        StringBuilder sb = new StringBuilder();
-        while (num-- > 0) {
-            if (isFirst) {
-                isFirst = false;
-            } else if (join) {
-                sb.append(separator);
-            }
-            sb.append(s);
-        }
-        for (int i = 0; i < num; i++) {
-            sb.append(s);
-        }
-        return sb.toString();
+        // 结果是以“源字符串 + 分隔符”为周期的字符串去掉最后一个分隔符
+        final String unit = s.concat(separator);
+        final char[] chars = new char[checkedLength((long) unit.length() * num - separator.length())];
+        repeatTo(unit, chars, 0, chars.length);
+        return new String(chars);
     }
 
     /**
@@ -983,11 +1055,40 @@ public class StringUtils {
      *
      * @param source 源字符串
      * @param begin  开始替换的位置
-     * @param end    结束替换的位置
+     * @param end    结束替换的位置（不包含）
      * @return 返回替换后的字符串
+     * @throws StringIndexOutOfBoundsException {@code begin} 小于 0、{@code begin} 大于 {@code end} 或 {@code end} 大于字符串长度时抛出
      */
     public static String replace(final String source, final int begin, final int end) {
-        return source.substring(0, begin) + repeat(ASTERISK, end - begin) + source.substring(end);
+        if (begin < 0 || begin > end || end > source.length()) {
+            throw new StringIndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + source.length());
+        }
+        char[] chars = source.toCharArray();
+        Arrays.fill(chars, begin, end, CharUtils.ASTERISK);
+        return new String(chars);
+    }
+
+    /**
+     * 对文本中的手机号、身份证号、银行卡号和邮箱脱敏，一次扫描完成，详见 {@link TextMasker#pii()}
+     *
+     * @param text 文本
+     * @return 脱敏后的文本，没有需要脱敏的内容时返回原文本
+     * @since 1.8.0
+     */
+    public static String mask(final String text) {
+        return TextMasker.pii().mask(text);
+    }
+
+    /**
+     * 使用指定的脱敏器对文本脱敏
+     *
+     * @param text   文本
+     * @param masker 脱敏器
+     * @return 脱敏后的文本，没有需要脱敏的内容时返回原文本
+     * @since 1.8.0
+     */
+    public static String mask(final String text, final TextMasker masker) {
+        return masker.mask(text);
     }
 
     /**
@@ -1015,6 +1116,24 @@ public class StringUtils {
         return source;
     }
 
+    /**
+     * 一次扫描替换源字符串中的所有关键词，关键词较多时比逐个调用 {@link #replaceAny(String, String, String...)} 更快
+     *
+     * @param source   源字符串
+     * @param keywords 关键词自动机
+     * @param replacer 替换器，参数为源字符串中匹配到的内容
+     * @return 返回替换后的字符串
+     * @see AhoCorasick
+     * @since 1.8.0
+     */
+    public static String replaceAny(String source, AhoCorasick keywords, Replacer<String> replacer) {
+        if (source == null || keywords == null) {
+            return source;
+        }
+
+        return keywords.replace(source, replacer);
+    }
+
     /**
      * 将字符串的首字母转为大写
      *
@@ -1022,7 +1141,14 @@ public class StringUtils {
      * @return 首字母转为大写后的字符串
      */
     public static String capitalize(final String s) {
-        return isEmpty(s) ? s : Character.toTitleCase(s.charAt(0)) + s.substring(1);
+        if (isEmpty(s)) {
+            return s;
+        }
+
+        char c = s.charAt(0);
+        // ASCII 字符的首字母大写形式与大写形式相同
+        char title = c < 0x80 ? CharUtils.toUpperCase(c) : Character.toTitleCase(c);
+        return title == c ? s : replaceFirstChar(s, title);
     }
 
     /**
@@ -1032,7 +1158,19 @@ public class StringUtils {
      * @return 首字母转为小写后的字符串
      */
     public static String uncapitalize(final String s) {
-        return isEmpty(s) ? s : Character.toLowerCase(s.charAt(0)) + s.substring(1);
+        if (isEmpty(s)) {
+            return s;
+        }
+
+        char c = s.charAt(0);
+        char lower = CharUtils.toLowerCase(c);
+        return lower == c ? s : replaceFirstChar(s, lower);
+    }
+
+    private static String replaceFirstChar(String s, char c) {
+        char[] chars = s.toCharArray();
+        chars[0] = c;
+        return new String(chars);
     }
 
     /**
@@ -1042,12 +1180,31 @@ public class StringUtils {
      * @return 转换后的 Unicode 码
      */
     public static String string2Unicode(final String s) {
-        StringBuilder unicode = new StringBuilder();
-        for (int i = 0; i < s.length(); i++) {
-            unicode.append("\\u").append(Integer.toHexString(s.charAt(i)));
+        final int length = s.length();
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            size += 2 + hexLength(s.charAt(i));
         }
 
-        return unicode.toString();
+        // 与 Integer.toHexString 一致，不补齐前导0
+        char[] chars = new char[size];
+        int p = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            chars[p++] = '\\';
+            chars[p++] = 'u';
+            for (int shift = (hexLength(c) - 1) << 2; shift >= 0; shift -= 4) {
+                chars[p++] = HEX_DIGITS[(c >> shift) & 0xF];
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 字符的十六进制位数
+     */
+    private static int hexLength(char c) {
+        return c == 0 ? 1 : (35 - Integer.numberOfLeadingZeros(c)) >> 2;
     }
 
     /**
@@ -1066,6 +1223,72 @@ public class StringUtils {
         return s.toString();
     }
 
+    /**
+     * 将字符串中的非 ASCII 字符转义为 {@code \}{@code uXXXX}，详见 {@link Escaper#UNICODE}
+     *
+     * @param s 字符串
+     * @return 转义后的字符串，没有需要转义的字符时返回原字符串
+     * @since 1.8.0
+     */
+    public static String escapeUnicode(final String s) {
+        return Escaper.UNICODE.escape(s);
+    }
+
+    /**
+     * 将字符串中的 {@code \}{@code uXXXX} 转义序列还原为字符，其余内容保持不变
+     *
+     * @param s 字符串
+     * @return 反转义后的字符串
+     * @since 1.8.0
+     */
+    public static String unescapeUnicode(final String s) {
+        return Escaper.UNICODE.unescape(s);
+    }
+
+    /**
+     * HTML 转义，转义 {@code & < > " '} 和不换行空格
+     *
+     * @param s 字符串
+     * @return 转义后的字符串，没有需要转义的字符时返回原字符串
+     * @since 1.8.0
+     */
+    public static String escapeHtml(final String s) {
+        return Escaper.HTML.escape(s);
+    }
+
+    /**
+     * HTML 反转义，支持 {@link #HTML_AMP} 等命名实体和数字实体
+     *
+     * @param s 字符串
+     * @return 反转义后的字符串
+     * @since 1.8.0
+     */
+    public static String unescapeHtml(final String s) {
+        return Escaper.HTML.unescape(s);
+    }
+
+    /**
+     * 按 JSON 字符串规范转义，结果不包含两端的引号
+     *
+     * @param s 字符串
+     * @return 转义后的字符串，没有需要转义的字符时返回原字符串
+     * @since 1.8.0
+     */
+    public static String escapeJson(final String s) {
+        return Escaper.JSON.escape(s);
+    }
+
+    /**
+     * JSON 字符串反转义
+     *
+     * @param s 字符串
+     * @return 反转义后的字符串
+     * @since 1.8.0
+     */
+    public static String unescapeJson(final String s) {
+        return Escaper.JSON.unescape(s);
+    }
+
     /**
      * 获取字符串 UTF-8 格式的字节码
      *
@@ -1073,7 +1296,36 @@ public class StringUtils {
      * @return 编码后的字节码
      */
     public static byte[] utf8Bytes(CharSequence str) {
-        return bytes(str, CharsetUtils.UTF_8);
+        if (str == null || str instanceof String) {
+            return bytes(str, StandardCharsets.UTF_8);
+        }
+        // 非 String 直接编码，避免 toString() 复制内容
+        return Utf8.encode(str);
+    }
+
+    /**
+     * 将字符串以 UTF-8 编码写入字节数组，所需空间可通过 {@link Utf8#encodedLength(CharSequence)} 计算
+     *
+     * @param str    字符串
+     * @param dest   目标数组
+     * @param offset 写入的起始位置
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int utf8Bytes(CharSequence str, byte[] dest, int offset) {
+        return Utf8.encode(str, dest, offset);
+    }
+
+    /**
+     * 将字符串以 UTF-8 编码写入缓冲区，写入后缓冲区的 position 后移
+     *
+     * @param str  字符串
+     * @param dest 目标缓冲区
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int utf8Bytes(CharSequence str, ByteBuffer dest) {
+        return Utf8.encode(str, dest);
     }
 
     /**
@@ -1120,7 +1372,20 @@ public class StringUtils {
      * @since 1.1.0
      */
     public static String toUtf8String(byte[] bytes) {
-        return toString(bytes, StandardCharsets.UTF_8);
+        return bytes == null ? null : Utf8.decode(bytes);
+    }
+
+    /**
+     * 将 byte 数组的片段转为 UTF-8 格式的字符串，不复制数组
+     *
+     * @param bytes  byte 数组
+     * @param offset 起始位置
+     * @param length 字节数
+     * @return 字符串
+     * @since 1.8.0
+     */
+    public static String toUtf8String(byte[] bytes, int offset, int length) {
+        return bytes == null ? null : Utf8.decode(bytes, offset, length);
     }
 
     /**
@@ -1229,7 +1494,7 @@ public class StringUtils {
      * @since 1.3.0
      */
     public static String toString(ByteBuffer data, Charset charset) {
-        return charset == null ? Charset.defaultCharset().decode(data).toString() : charset.decode(data).toString();
+        return CharsetUtils.decode(data, charset == null ? Charset.defaultCharset() : charset);
     }
 
     /**
@@ -1295,7 +1560,12 @@ public class StringUtils {
             return null;
         }
 
-        final StringBuilder sb = new StringBuilder();
+        long length = 0;
+        for (CharSequence str : strs) {
+            length += str != null ? str.length() : isNullToEmpty ? 0 : NULL.length();
+        }
+
+        final StringBuilder sb = new StringBuilder(checkedLength(length));
         for (CharSequence str : strs) {
             sb.append(isNullToEmpty ? defaultIfNull(str, EMPTY) : str);
         }
@@ -1423,7 +1693,7 @@ public class StringUtils {
             return null;
         }
 
-        StringBuilder sb = new StringBuilder();
+        final StringBuilder sb = StringBuilderPool.acquire(s.length() + (s.length() >> 2));
         for (int i = 0; i < s.length(); i++) {
             final char c = s.charAt(i);
             final Character preChar = i > 0 ? s.charAt(i - 1) : null;
@@ -1437,7 +1707,7 @@ public class StringUtils {
                 sb.append(c);
             }
         }
-        return sb.toString();
+        return StringBuilderPool.toStringAndRelease(sb);
     }
 
     /**
@@ -1452,25 +1722,31 @@ public class StringUtils {
             return null;
         }
 
-        if (contains(s, UNDERSCORE)) {
-            final StringBuilder sb = new StringBuilder(s.length());
-            boolean upperCase = false;
-            for (int i = 0; i < s.length(); i++) {
-                char c = s.charAt(i);
+        final int length = s.length();
+        int i = 0;
+        while (i < length && s.charAt(i) != CharUtils.UNDERSCORE) {
+            i++;
+        }
+        if (i == length) {
+            return s.toString();
+        }
+
+        final char[] chars = new char[length];
+        int count = 0;
+        boolean upperCase = false;
+        for (i = 0; i < length; i++) {
+            char c = s.charAt(i);
 
-                if (c == CharUtils.UNDERSCORE) {
-                    upperCase = true;
-                } else if (upperCase) {
-                    sb.append(Character.toUpperCase(c));
-                    upperCase = false;
-                } else {
-                    sb.append(Character.toLowerCase(c));
-                }
+            if (c == CharUtils.UNDERSCORE) {
+                upperCase = true;
+            } else if (upperCase) {
+                chars[count++] = CharUtils.toUpperCase(c);
+                upperCase = false;
+            } else {
+                chars[count++] = CharUtils.toLowerCase(c);
             }
-            return sb.toString();
-        } else {
-            return s.toString();
         }
+        return new String(chars, 0, count);
     }
 
     /**
@@ -1515,8 +1791,22 @@ public class StringUtils {
             return s;
         }
 
-        String filled = repeat(filledStr, minLength - length);
-        return isPre ? filled.concat(s) : s.concat(filled);
+        final int num = minLength - length;
+        if (num == 0) {
+            return s;
+        }
+
+        // 一次分配最终长度，填充部分按倍增方式复制
+        final int filledLength = checkedLength((long) filledStr.length() * num);
+        final char[] chars = new char[checkedLength((long) filledLength + length)];
+        if (isPre) {
+            repeatTo(filledStr, chars, 0, filledLength);
+            s.getChars(0, length, chars, filledLength);
+        } else {
+            s.getChars(0, length, chars, 0);
+            repeatTo(filledStr, chars, length, filledLength);
+        }
+        return new String(chars);
     }
 
     /**
@@ -2012,6 +2302,35 @@ public class StringUtils {
         return splitToArray(s, separator, -1, true, true, false);
     }
 
+    /**
+     * 惰性切分字符串，迭代时才定位下一个分片，适用于只需要前几个分片或逐个处理分片的场景
+     *
+     * @param s           被切分的字符序列
+     * @param separator   分隔符字符串，若为 {@code null} 或空串则使用空白符切分字符串
+     * @param limit       限制分片数，-1不限制
+     * @param isTrim      是否去除切分字符串后每个元素两边的空格
+     * @param ignoreEmpty 是否忽略空串
+     * @return 分片字符串的 {@link Iterable}
+     * @see StringSplitter
+     * @since 1.8.0
+     */
+    public static Iterable<String> splitIterable(CharSequence s, String separator, int limit, boolean isTrim, boolean ignoreEmpty) {
+        return StringSplitter.on(separator).limit(limit).trim(isTrim).ignoreEmpty(ignoreEmpty).split(s);
+    }
+
+    /**
+     * 惰性切分字符串，去除切分字符串后每个元素两边的空格，忽略空串
+     *
+     * @param s         被切分的字符序列
+     * @param separator 分隔符字符
+     * @return 分片字符串的 {@link Iterable}
+     * @see StringSplitter
+     * @since 1.8.0
+     */
+    public static Iterable<String> splitIterable(CharSequence s, char separator) {
+        return StringSplitter.on(separator).trim(true).ignoreEmpty(true).split(s);
+    }
+
     /**
      * 将字符串加入 List 列表中
      *
@@ -2045,6 +2364,7 @@ public class StringUtils {
      * @param params   参数值
      * @return 格式化后的文本，如果模板为 {@code null}，返回 "null"
      * @since 1.3.0
+     * @see StringTemplate
      */
     public static String format(String template, Object... params) {
         if (template == null) {
@@ -2055,56 +2375,7 @@ public class StringUtils {
             return template;
         }
 
-        final int length = template.length();
-
-        // 初始化定义好的长度以获得更好的性能
-        StringBuilder stringBuilder = new StringBuilder(length + 50);
-
-        // 记录已经处理到的位置
-        int handledPosition = 0;
-        // 占位符所在位置
-        int delimIndex;
-        for (int argIndex = 0; argIndex < params.length; argIndex++) {
-            delimIndex = template.indexOf(EMPTY_JSON, handledPosition);
-            if (delimIndex == -1) {
-                // 剩余部分无占位符
-                if (handledPosition == 0) {
-                    // 不带占位符的模板直接返回
-                    return template;
-                }
-                // 字符串模板剩余部分不再包含占位符，加入剩余部分后返回结果
-                stringBuilder.append(template, handledPosition, length);
-                return stringBuilder.toString();
-            }
-
-            // 转义符
-            if (delimIndex > 0 && template.charAt(delimIndex - 1) == CharUtils.BACKSLASH) {
-                // 转义符
-                if (delimIndex > 1 && template.charAt(delimIndex - 2) == CharUtils.BACKSLASH) {
-                    // 双转义符
-                    // 转义符之前还有一个转义符，占位符依旧有效
-                    stringBuilder.append(template, handledPosition, delimIndex - 1);
-                    stringBuilder.append(toUtf8String(params[argIndex]));
-                    handledPosition = delimIndex + 2;
-                } else {
-                    // 占位符被转义
-                    argIndex--;
-                    stringBuilder.append(template, handledPosition, delimIndex - 1);
-                    stringBuilder.append(CharUtils.OPEN_BRACE);
-                    handledPosition = delimIndex + 1;
-                }
-            } else {
-                // 正常占位符
-                stringBuilder.append(template, handledPosition, delimIndex);
-                stringBuilder.append(toUtf8String(params[argIndex]));
-                handledPosition = delimIndex + 2;
-            }
-        }
-
-        // 加入最后一个占位符后所有的字符
-        stringBuilder.append(template, handledPosition, template.length());
-
-        return stringBuilder.toString();
+        return StringTemplate.formatTemplate(template, params);
     }
 
     /**
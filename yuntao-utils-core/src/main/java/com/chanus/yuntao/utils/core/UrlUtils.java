@@ -15,6 +15,8 @@
  */
 package com.chanus.yuntao.utils.core;
 
+import com.chanus.yuntao.utils.core.lang.StringInterner;
+
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.HashMap;
@@ -83,6 +85,19 @@ public class UrlUtils {
      * @return 请求参数 {@code Map} 集合
      */
     public static Map<String, String> getParamsMap(String query, String duplicate) {
+        return getParamsMap(query, duplicate, null);
+    }
+
+    /**
+     * 解析 http 请求 URI 获取请求参数，转换为 Map 键值对，参数名通过驻留池合并为共享实例
+     *
+     * @param query     http 请求 URI
+     * @param duplicate 重复参数名的参数值之间的连接符，连接后的字符串作为该参数的参数值，若为 null，则不允许重复参数名出现，靠后的参数值会覆盖掉靠前的参数值
+     * @param interner  参数名的驻留池，如 {@link StringInterner#shared()}，为 {@code null} 时不驻留
+     * @return 请求参数 {@code Map} 集合
+     * @since 1.8.0
+     */
+    public static Map<String, String> getParamsMap(String query, String duplicate, StringInterner interner) {
         if (StringUtils.isBlank(query) || !query.contains(StringUtils.EQUAL)) {
             return null;
         }
@@ -100,6 +115,9 @@ public class UrlUtils {
                 if (kv.length != 2 || StringUtils.isBlank(kv[0]) || StringUtils.isBlank(kv[1])) {
                     continue;
                 }
+                if (interner != null) {
+                    kv[0] = interner.intern(kv[0]);
+                }
                 if (params.containsKey(kv[0])) {
                     params.put(kv[0], StringUtils.isBlank(duplicate) ? kv[1] : (params.get(kv[0]) + duplicate + kv[1]));
                 } else {
@@ -109,7 +127,7 @@ public class UrlUtils {
         } else {// 一个参数
             String[] kv = query.split(StringUtils.EQUAL);
             if (kv.length == 2 && StringUtils.isNotBlank(kv[0]) && StringUtils.isNotBlank(kv[1])) {
-                params.put(kv[0], kv[1]);
+                params.put(interner == null ? kv[0] : interner.intern(kv[0]), kv[1]);
             }
         }
 
@@ -19,6 +19,7 @@ import com.chanus.yuntao.utils.core.CharsetUtils;
 import com.chanus.yuntao.utils.core.StringUtils;
 
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 /**
  * Base32 编码工具类<br>
@@ -29,34 +30,49 @@ import java.nio.charset.Charset;
  * @since 1.0.0
  */
 public class Base32 {
-    private static final String BASE32_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
-    private static final int[] BASE32_LOOKUP = {
-            // '0', '1', '2', '3', '4', '5', '6', '7'
-            0xFF, 0xFF, 0x1A, 0x1B, 0x1C, 0x1D, 0x1E, 0x1F,
-            // '8', '9', ':', ';', '<', '=', '>', '?'
-            0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF,
-            // '@', 'A', 'B', 'C', 'D', 'E', 'F', 'G'
-            0xFF, 0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06,
-            // 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O'
-            0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0x0E,
-            // 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W'
-            0x0F, 0x10, 0x11, 0x12, 0x13, 0x14, 0x15, 0x16,
-            // 'X', 'Y', 'Z', '[', '\', ']', '^', '_'
-            0x17, 0x18, 0x19, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF,
-            // '`', 'a', 'b', 'c', 'd', 'e', 'f', 'g'
-            0xFF, 0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06,
-            // 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o'
-            0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0x0E,
-            // 'p', 'q', 'r', 's', 't', 'u', 'v', 'w'
-            0x0F, 0x10, 0x11, 0x12, 0x13, 0x14, 0x15, 0x16,
-            // 'x', 'y', 'z', '{', '|', '}', '~', 'DEL'
-            0x17, 0x18, 0x19, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF
-    };
+    /**
+     * 编码表
+     */
+    private static final char[] ENCODE_TABLE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+    /**
+     * 解码表，下标为字符 ASCII 码，-1表示非 Base32 字符，大小写字母均可解码
+     */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < ENCODE_TABLE.length; i++) {
+            DECODE_TABLE[ENCODE_TABLE[i]] = (byte) i;
+            DECODE_TABLE[Character.toLowerCase(ENCODE_TABLE[i])] = (byte) i;
+        }
+    }
 
     private Base32() {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * 计算编码后的字符数，编码结果不补“=”
+     *
+     * @param length 待编码的字节数
+     * @return 编码后的字符数
+     * @since 1.8.0
+     */
+    public static int encodedLength(int length) {
+        return (int) (((long) length * 8 + 4) / 5);
+    }
+
+    /**
+     * 计算解码后的最大字节数，跳过的非 Base32 字符越多，实际解码字节数越少
+     *
+     * @param length 待解码的字符数
+     * @return 解码后的最大字节数
+     * @since 1.8.0
+     */
+    public static int decodedLength(int length) {
+        return (int) ((long) length * 5 / 8);
+    }
+
     /**
      * Base32 编码
      *
@@ -64,41 +80,90 @@ public class Base32 {
      * @return 被加密后的字符串
      */
     public static String encode(final byte[] bytes) {
-        int i = 0;
-        int index = 0;
-        int digit;
-        int currByte;
-        int nextByte;
-        StringBuilder base32 = new StringBuilder((bytes.length + 7) * 8 / 5);
-
-        while (i < bytes.length) {
-            // unsigned
-            currByte = (bytes[i] >= 0) ? bytes[i] : (bytes[i] + 256);
-
-            /* Is the current digit going to span a byte boundary? */
-            if (index > 3) {
-                if ((i + 1) < bytes.length) {
-                    nextByte = (bytes[i + 1] >= 0) ? bytes[i + 1] : (bytes[i + 1] + 256);
-                } else {
-                    nextByte = 0;
-                }
-
-                digit = currByte & (0xFF >> index);
-                index = (index + 5) % 8;
-                digit <<= index;
-                digit |= nextByte >> (8 - index);
-                i++;
-            } else {
-                digit = (currByte >> (8 - (index + 5))) & 0x1F;
-                index = (index + 5) % 8;
-                if (index == 0) {
-                    i++;
-                }
+        char[] chars = new char[encodedLength(bytes.length)];
+        encode(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Base32 编码，将编码结果写入指定的字符数组
+     *
+     * @param src    数据
+     * @param srcOff 数据起始位置
+     * @param len    编码的字节数
+     * @param dst    存放编码结果的字符数组，剩余空间不小于 {@link #encodedLength(int)}
+     * @param dstOff 编码结果的写入起始位置
+     * @return 写入的字符数
+     * @since 1.8.0
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        int sp = srcOff;
+        int dp = dstOff;
+        int fullEnd = srcOff + len / 5 * 5;
+        long bits;
+        while (sp < fullEnd) {
+            bits = (src[sp++] & 0xFFL) << 32 | (src[sp++] & 0xFFL) << 24 | (src[sp++] & 0xFFL) << 16
+                    | (src[sp++] & 0xFFL) << 8 | (src[sp++] & 0xFFL);
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 35) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 30) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 25) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 20) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 15) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 10) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) (bits >>> 5) & 0x1F];
+            dst[dp++] = ENCODE_TABLE[(int) bits & 0x1F];
+        }
+
+        int remain = srcOff + len - sp;
+        if (remain > 0) {
+            bits = 0;
+            for (int i = 0; i < remain; i++) {
+                bits |= (src[sp++] & 0xFFL) << (32 - 8 * i);
+            }
+            int chars = encodedLength(remain);
+            for (int i = 0; i < chars; i++) {
+                dst[dp++] = ENCODE_TABLE[(int) (bits >>> (35 - 5 * i)) & 0x1F];
+            }
+        }
+        return dp - dstOff;
+    }
+
+    /**
+     * Base32 编码，将编码结果以 ASCII 字节写入指定的字节数组
+     *
+     * @param src    数据
+     * @param srcOff 数据起始位置
+     * @param len    编码的字节数
+     * @param dst    存放编码结果的字节数组，剩余空间不小于 {@link #encodedLength(int)}
+     * @param dstOff 编码结果的写入起始位置
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        int sp = srcOff;
+        int dp = dstOff;
+        int fullEnd = srcOff + len / 5 * 5;
+        long bits;
+        while (sp < fullEnd) {
+            bits = (src[sp++] & 0xFFL) << 32 | (src[sp++] & 0xFFL) << 24 | (src[sp++] & 0xFFL) << 16
+                    | (src[sp++] & 0xFFL) << 8 | (src[sp++] & 0xFFL);
+            for (int shift = 35; shift >= 0; shift -= 5) {
+                dst[dp++] = (byte) ENCODE_TABLE[(int) (bits >>> shift) & 0x1F];
             }
-            base32.append(BASE32_CHARS.charAt(digit));
         }
 
-        return base32.toString();
+        int remain = srcOff + len - sp;
+        if (remain > 0) {
+            bits = 0;
+            for (int i = 0; i < remain; i++) {
+                bits |= (src[sp++] & 0xFFL) << (32 - 8 * i);
+            }
+            int chars = encodedLength(remain);
+            for (int i = 0; i < chars; i++) {
+                dst[dp++] = (byte) ENCODE_TABLE[(int) (bits >>> (35 - 5 * i)) & 0x1F];
+            }
+        }
+        return dp - dstOff;
     }
 
     /**
@@ -134,57 +199,91 @@ public class Base32 {
     }
 
     /**
-     * Base32 解码
+     * Base32 解码，忽略非 Base32 字符（如补位的“=”和空白字符）
      *
      * @param base32 被编码的 Base32 字符串
      * @return 解码后的数据
      */
     public static byte[] decode2Bytes(final String base32) {
-        int i;
-        int index;
-        int lookup;
-        int offset;
-        int digit;
-        byte[] bytes = new byte[base32.length() * 5 / 8];
-
-        for (i = 0, index = 0, offset = 0; i < base32.length(); i++) {
-            lookup = base32.charAt(i) - '0';
+        byte[] bytes = new byte[decodedLength(base32.length())];
+        int len = decode(base32, 0, base32.length(), bytes, 0);
+        return len == bytes.length ? bytes : Arrays.copyOf(bytes, len);
+    }
 
-            /* Skip chars outside the lookup table */
-            if (lookup < 0 || lookup >= BASE32_LOOKUP.length) {
+    /**
+     * Base32 解码，忽略非 Base32 字符，将解码结果写入指定的字节数组
+     *
+     * @param src    被编码的 Base32 字符序列
+     * @param srcOff 字符序列起始位置
+     * @param len    解码的字符数
+     * @param dst    存放解码结果的字节数组，剩余空间不小于 {@link #decodedLength(int)}
+     * @param dstOff 解码结果的写入起始位置
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int decode(CharSequence src, int srcOff, int len, byte[] dst, int dstOff) {
+        int dp = dstOff;
+        int bits = 0;
+        int bitCount = 0;
+        int c;
+        int digit;
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            c = src.charAt(i);
+            if (c >= DECODE_TABLE.length || (digit = DECODE_TABLE[c]) < 0) {
                 continue;
             }
 
-            digit = BASE32_LOOKUP[lookup];
+            bits = (bits << 5) | digit;
+            bitCount += 5;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[dp++] = (byte) (bits >>> bitCount);
+            }
+        }
+        return dp - dstOff;
+    }
 
-            /* If this digit is not in the table, ignore it */
-            if (digit == 0xFF) {
+    /**
+     * Base32 解码，忽略非 Base32 字符，将 ASCII 字节形式的编码数据解码到指定的字节数组
+     *
+     * @param src    被编码的 Base32 ASCII 字节数组
+     * @param srcOff 字节数组起始位置
+     * @param len    解码的字节数
+     * @param dst    存放解码结果的字节数组，剩余空间不小于 {@link #decodedLength(int)}
+     * @param dstOff 解码结果的写入起始位置
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int decode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        int dp = dstOff;
+        int bits = 0;
+        int bitCount = 0;
+        int c;
+        int digit;
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            c = src[i] & 0xFF;
+            if (c >= DECODE_TABLE.length || (digit = DECODE_TABLE[c]) < 0) {
                 continue;
             }
 
-            if (index <= 3) {
-                index = (index + 5) % 8;
-                if (index == 0) {
-                    bytes[offset] |= digit;
-                    offset++;
-                    if (offset >= bytes.length) {
-                        break;
-                    }
-                } else {
-                    bytes[offset] |= digit << (8 - index);
-                }
-            } else {
-                index = (index + 5) % 8;
-                bytes[offset] |= (digit >>> index);
-                offset++;
-
-                if (offset >= bytes.length) {
-                    break;
-                }
-                bytes[offset] |= digit << (8 - index);
+            bits = (bits << 5) | digit;
+            bitCount += 5;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[dp++] = (byte) (bits >>> bitCount);
             }
         }
-        return bytes;
+        return dp - dstOff;
+    }
+
+    /**
+     * 获取字符对应的 Base32 值
+     *
+     * @param c 字符
+     * @return 字符对应的 Base32 值，非 Base32 字符返回-1
+     */
+    static int decodeDigit(int c) {
+        return c < 0 || c >= DECODE_TABLE.length ? -1 : DECODE_TABLE[c];
     }
 
     /**
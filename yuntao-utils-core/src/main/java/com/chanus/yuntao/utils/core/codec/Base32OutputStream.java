@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base32 编码输出流，写入的数据经 Base32 编码后以 ASCII 字节写入被包装的输出流<br>
+ * 每5个字节编码一次，不足5个字节的数据在 {@link #finish()} 或 {@link #close()} 时编码输出，编码结果不补“=”
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Base32OutputStream extends FilterOutputStream {
+    /**
+     * 每次批量编码的字节数，必须为5的倍数
+     */
+    private static final int CHUNK_SIZE = 5 * 256;
+
+    /**
+     * 未满5个字节的待编码数据
+     */
+    private final byte[] pending = new byte[5];
+    /**
+     * 编码结果缓冲区
+     */
+    private final byte[] encoded = new byte[Base32.encodedLength(CHUNK_SIZE)];
+    private int pendingCount;
+    private boolean finished;
+
+    /**
+     * 构造
+     *
+     * @param out 被包装的输出流
+     */
+    public Base32OutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is finished!");
+        }
+        pending[pendingCount++] = (byte) b;
+        if (pendingCount == pending.length) {
+            out.write(encoded, 0, Base32.encode(pending, 0, pending.length, encoded, 0));
+            pendingCount = 0;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (finished) {
+            throw new IOException("Stream is finished!");
+        }
+
+        // 先补齐上次剩余的数据
+        while (pendingCount > 0 && len > 0) {
+            write(b[off++]);
+            len--;
+        }
+
+        int chunk;
+        while (len >= pending.length) {
+            chunk = Math.min(CHUNK_SIZE, len / pending.length * pending.length);
+            out.write(encoded, 0, Base32.encode(b, off, chunk, encoded, 0));
+            off += chunk;
+            len -= chunk;
+        }
+
+        System.arraycopy(b, off, pending, 0, len);
+        pendingCount = len;
+    }
+
+    /**
+     * 编码剩余的数据并写出，但不关闭被包装的输出流，调用后不能再写入数据
+     *
+     * @throws IOException IO 异常
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        if (pendingCount > 0) {
+            out.write(encoded, 0, Base32.encode(pending, 0, pendingCount, encoded, 0));
+            pendingCount = 0;
+        }
+        out.flush();
+    }
+
+    /**
+     * 编码剩余的数据并关闭被包装的输出流
+     *
+     * @throws IOException IO 异常
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        super.close();
+    }
+}
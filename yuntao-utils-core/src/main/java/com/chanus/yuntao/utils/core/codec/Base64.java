@@ -18,6 +18,7 @@ package com.chanus.yuntao.utils.core.codec;
 import com.chanus.yuntao.utils.core.CharsetUtils;
 import com.chanus.yuntao.utils.core.StreamUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -161,6 +162,40 @@ public class Base64 {
         return Base64Encoder.encodeUrlSafe(StreamUtils.read2Byte(in));
     }
 
+    /**
+     * Base64 编码，边读边编码，内存占用固定，不关闭流
+     *
+     * @param in          输入流
+     * @param out         编码结果写出到的流
+     * @param isMultiLine 是否使用 MIME 格式，每76个字符一个 CRLF 换行符
+     * @param isUrlSafe   是否使用 URL 安全字符，一般为 <code>false</code>
+     * @return 读取的字节数
+     * @since 1.8.0
+     */
+    public static long encode(InputStream in, OutputStream out, boolean isMultiLine, boolean isUrlSafe) {
+        Base64OutputStream encoder = wrapEncoder(out, isMultiLine, isUrlSafe);
+        long size = StreamUtils.copy(in, encoder);
+        try {
+            encoder.finish();
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+        return size;
+    }
+
+    /**
+     * 包装输出流，写入的数据经 Base64 编码后写出到被包装的流，关闭返回的流时会关闭被包装的流
+     *
+     * @param out         被包装的输出流
+     * @param isMultiLine 是否使用 MIME 格式，每76个字符一个 CRLF 换行符
+     * @param isUrlSafe   是否使用 URL 安全字符，一般为 <code>false</code>
+     * @return {@link Base64OutputStream}
+     * @since 1.8.0
+     */
+    public static Base64OutputStream wrapEncoder(OutputStream out, boolean isMultiLine, boolean isUrlSafe) {
+        return new Base64OutputStream(out, isMultiLine, isUrlSafe);
+    }
+
     /**
      * Base64 编码<br>
      * 如果 {@code isMultiLine} 为 {@code true}，则每76个字符一个换行符，否则在一行显示
@@ -216,6 +251,29 @@ public class Base64 {
         StreamUtils.write(Base64Decoder.decode(base64), out);
     }
 
+    /**
+     * Base64 解码，边读边解码，内存占用固定，不关闭流
+     *
+     * @param in  Base64 编码的输入流
+     * @param out 解码结果写出到的流
+     * @return 解码后的字节数
+     * @since 1.8.0
+     */
+    public static long decode(InputStream in, OutputStream out) {
+        return StreamUtils.copy(wrapDecoder(in), out);
+    }
+
+    /**
+     * 包装输入流，从返回的流中读取到的是被包装流中 Base64 编码数据解码后的内容
+     *
+     * @param in Base64 编码的输入流
+     * @return {@link Base64InputStream}
+     * @since 1.8.0
+     */
+    public static Base64InputStream wrapDecoder(InputStream in) {
+        return new Base64InputStream(in);
+    }
+
     /**
      * Base64 解码
      *
@@ -17,23 +17,27 @@ package com.chanus.yuntao.utils.core.codec;
 
 import com.chanus.yuntao.utils.core.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
- * Base64 解码实现
+ * Base64 解码实现<br>
+ * 输入只包含单一字母表（标准或 URL 安全）的字符且补位合法时委托给 JDK 内置的 {@link java.util.Base64}，
+ * 混有换行符等非 Base64 字符或混用两种字母表时使用本类的宽松实现
  *
  * @author Chanus
  * @since 1.0.0
  */
 public class Base64Decoder {
 
-    private static final byte PADDING = -2;
+    static final byte PADDING = -2;
 
     /**
      * Base64 解码表，共128位，-1表示非 Base64 字符，-2表示 padding
      */
-    private static final byte[] DECODE_TABLE = {
+    static final byte[] DECODE_TABLE = {
             // 0 1 2 3 4 5 6 7 8 9 A B C D E F
             // 00-0f
             -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
@@ -53,6 +57,9 @@ public class Base64Decoder {
             41, 42, 43, 44, 45, 46, 47, 48, 49, 50, 51
     };
 
+    private static final java.util.Base64.Decoder JDK_DECODER = java.util.Base64.getDecoder();
+    private static final java.util.Base64.Decoder JDK_URL_SAFE_DECODER = java.util.Base64.getUrlDecoder();
+
     private Base64Decoder() {
         throw new IllegalStateException("Utility class");
     }
@@ -111,6 +118,15 @@ public class Base64Decoder {
             return null;
         }
 
+        java.util.Base64.Decoder jdkDecoder = Base64Encoder.USE_JDK ? selectJdkDecoder(bytes, pos, length) : null;
+        if (jdkDecoder != null) {
+            if (pos == 0 && length == bytes.length) {
+                return jdkDecoder.decode(bytes);
+            }
+            ByteBuffer decoded = jdkDecoder.decode(ByteBuffer.wrap(bytes, pos, length));
+            return decoded.remaining() == decoded.array().length ? decoded.array() : Arrays.copyOf(decoded.array(), decoded.remaining());
+        }
+
         final IntWrapper offset = new IntWrapper(pos);
 
         byte sestet0;
@@ -148,6 +164,49 @@ public class Base64Decoder {
         }
     }
 
+    /**
+     * 根据输入选择可以严格解码的 JDK 解码器<br>
+     * 只有输入全部为同一字母表的字符，且补位符只出现在末尾并与长度匹配时，JDK 解码结果才与宽松实现一致
+     *
+     * @param bytes  字节数组
+     * @param pos    开始位置
+     * @param length 长度
+     * @return JDK 解码器，无法使用时返回 {@code null}
+     */
+    private static java.util.Base64.Decoder selectJdkDecoder(byte[] bytes, int pos, int length) {
+        int end = pos + length;
+        int dataEnd = end;
+        while (dataEnd > pos && bytes[dataEnd - 1] == '=') {
+            dataEnd--;
+        }
+
+        int remain = (dataEnd - pos) % 4;
+        int padding = end - dataEnd;
+        // 最后一组不能只有1个字符，有补位时补位后必须凑满一组
+        if (remain == 1 || (padding > 0 && (remain == 0 || remain + padding != 4))) {
+            return null;
+        }
+
+        boolean standard = false;
+        boolean urlSafe = false;
+        byte b;
+        for (int i = pos; i < dataEnd; i++) {
+            b = bytes[i];
+            if (b == '+' || b == '/') {
+                standard = true;
+            } else if (b == '-' || b == '_') {
+                urlSafe = true;
+            } else if (b < 0 || DECODE_TABLE.length <= b || DECODE_TABLE[b] < 0) {
+                return null;
+            }
+        }
+
+        if (standard && urlSafe) {
+            return null;
+        }
+        return urlSafe ? JDK_URL_SAFE_DECODER : JDK_DECODER;
+    }
+
     /**
      * 获取下一个有效的 byte 字符
      *
@@ -17,11 +17,15 @@ package com.chanus.yuntao.utils.core.codec;
 
 import com.chanus.yuntao.utils.core.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Base64 编码实现
+ * Base64 编码实现<br>
+ * 单行编码委托给 JDK 内置的 {@link java.util.Base64}，其编码循环会被 JIT 内联优化，在 JDK 9 及以上版本的部分平台上还会使用向量化指令；
+ * 多行（MIME）编码和 URL 安全的多行编码使用本类的查表实现。
+ * 可通过系统属性 {@code yuntao.codec.base64.jdk=false} 关闭 JDK 实现
  *
  * @author Chanus
  * @since 1.0.0
@@ -30,7 +34,7 @@ public class Base64Encoder {
     /**
      * 标准编码表
      */
-    private static final byte[] STANDARD_ENCODE_TABLE = {
+    static final byte[] STANDARD_ENCODE_TABLE = {
             'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H',
             'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P',
             'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X',
@@ -43,7 +47,7 @@ public class Base64Encoder {
     /**
      * URL 安全的编码表，将 + 和 / 替换为 - 和 _
      */
-    private static final byte[] URL_SAFE_ENCODE_TABLE = {
+    static final byte[] URL_SAFE_ENCODE_TABLE = {
             'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H',
             'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P',
             'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X',
@@ -54,6 +58,13 @@ public class Base64Encoder {
             '4', '5', '6', '7', '8', '9', '-', '_'
     };
 
+    /**
+     * 是否使用 JDK 内置的 Base64 实现
+     */
+    static final boolean USE_JDK = !"false".equalsIgnoreCase(System.getProperty("yuntao.codec.base64.jdk"));
+    private static final java.util.Base64.Encoder JDK_ENCODER = java.util.Base64.getEncoder();
+    private static final java.util.Base64.Encoder JDK_URL_SAFE_ENCODER = java.util.Base64.getUrlEncoder().withoutPadding();
+
     private Base64Encoder() {
         throw new IllegalStateException("Utility class");
     }
@@ -129,6 +140,9 @@ public class Base64Encoder {
      * @return 编码后的字符串
      */
     public static String encode(byte[] source) {
+        if (USE_JDK && source != null) {
+            return JDK_ENCODER.encodeToString(source);
+        }
         return new String(encode(source, false), StandardCharsets.UTF_8);
     }
 
@@ -139,6 +153,9 @@ public class Base64Encoder {
      * @return 编码后的字符串
      */
     public static String encodeUrlSafe(byte[] source) {
+        if (USE_JDK && source != null) {
+            return JDK_URL_SAFE_ENCODER.encodeToString(source);
+        }
         return new String(encodeUrlSafe(source, false), StandardCharsets.UTF_8);
     }
 
@@ -161,6 +178,10 @@ public class Base64Encoder {
             return new byte[0];
         }
 
+        if (USE_JDK && !isMultiLine) {
+            return (isUrlSafe ? JDK_URL_SAFE_ENCODER : JDK_ENCODER).encode(bytes);
+        }
+
         int evenLen = (len / 3) * 3;
         int cnt = ((len - 1) / 3 + 1) << 2;
         int destLen = cnt + (isMultiLine ? (cnt - 1) / 76 << 1 : 0);
@@ -208,4 +229,85 @@ public class Base64Encoder {
         }
         return dest;
     }
+
+    /**
+     * 计算单行编码后的字节数
+     *
+     * @param length    待编码的字节数
+     * @param isUrlSafe 是否使用 URL 安全字符，URL 安全模式下不补“=”
+     * @return 编码后的字节数
+     * @since 1.8.0
+     */
+    public static int encodedLength(int length, boolean isUrlSafe) {
+        return (int) (isUrlSafe ? ((long) length * 4 + 2) / 3 : ((long) length + 2) / 3 * 4);
+    }
+
+    /**
+     * Base64 单行编码，将编码结果写入预先分配的缓冲区<br>
+     * 编码 {@code src} 的剩余字节，写入 {@code dst} 的当前位置，完成后两者的 position 均后移。
+     * 两者都是完整包装数组的堆缓冲区时使用 JDK 实现，否则（如直接缓冲区）使用查表实现，均不产生中间数组
+     *
+     * @param src       待编码的数据
+     * @param dst       存放编码结果的缓冲区，剩余空间不小于 {@link #encodedLength(int, boolean)}
+     * @param isUrlSafe 是否使用 URL 安全字符，一般为 <code>false</code>
+     * @return 写入的字节数
+     * @since 1.8.0
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst, boolean isUrlSafe) {
+        int len = src.remaining();
+        int destLen = encodedLength(len, isUrlSafe);
+        if (dst.remaining() < destLen) {
+            throw new IllegalArgumentException("Output buffer is too small for encoding all input bytes");
+        }
+
+        if (USE_JDK && isWholeArray(src) && isWholeArray(dst)) {
+            int written = (isUrlSafe ? JDK_URL_SAFE_ENCODER : JDK_ENCODER).encode(src.array(), dst.array());
+            src.position(src.limit());
+            dst.position(written);
+            return written;
+        }
+
+        byte[] encodeTable = isUrlSafe ? URL_SAFE_ENCODE_TABLE : STANDARD_ENCODE_TABLE;
+        int sp = src.position();
+        int dp = dst.position();
+        int evenEnd = sp + len / 3 * 3;
+        int i;
+        while (sp < evenEnd) {
+            i = (src.get(sp++) & 0xff) << 16 | (src.get(sp++) & 0xff) << 8 | (src.get(sp++) & 0xff);
+            dst.put(dp++, encodeTable[(i >>> 18) & 0x3f]);
+            dst.put(dp++, encodeTable[(i >>> 12) & 0x3f]);
+            dst.put(dp++, encodeTable[(i >>> 6) & 0x3f]);
+            dst.put(dp++, encodeTable[i & 0x3f]);
+        }
+
+        int left = src.limit() - sp;
+        if (left > 0) {
+            i = ((src.get(sp) & 0xff) << 10) | (left == 2 ? ((src.get(sp + 1) & 0xff) << 2) : 0);
+            dst.put(dp++, encodeTable[i >> 12]);
+            dst.put(dp++, encodeTable[(i >>> 6) & 0x3f]);
+            if (left == 2) {
+                dst.put(dp++, encodeTable[i & 0x3f]);
+            } else if (!isUrlSafe) {
+                dst.put(dp++, (byte) '=');
+            }
+            if (!isUrlSafe) {
+                dst.put(dp++, (byte) '=');
+            }
+        }
+
+        src.position(src.limit());
+        dst.position(dp);
+        return destLen;
+    }
+
+    /**
+     * 判断缓冲区是否为从头开始包装整个数组的堆缓冲区
+     *
+     * @param buffer 缓冲区
+     * @return {@code true} 是；{@code false} 否
+     */
+    private static boolean isWholeArray(ByteBuffer buffer) {
+        return buffer.hasArray() && !buffer.isReadOnly() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.limit() == buffer.array().length;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Base64 解码输入流，从被包装的输入流中读取 Base64 编码的 ASCII 字节并解码，内存占用固定<br>
+ * 与 {@link Base64Decoder} 一致，同时支持标准字符和 URL 安全字符，补位的“=”可有可无，换行符等非 Base64 字符会被忽略
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Base64InputStream extends FilterInputStream {
+    /**
+     * 读取编码数据的缓冲区
+     */
+    private final byte[] buffer = new byte[1024];
+    /**
+     * 单字节读取缓冲区
+     */
+    private final byte[] singleByte = new byte[1];
+    /**
+     * 尚未输出的解码位
+     */
+    private int bits;
+    /**
+     * 尚未输出的解码位数，始终小于8
+     */
+    private int bitCount;
+    private boolean eof;
+
+    /**
+     * 构造
+     *
+     * @param in 被包装的 Base64 编码输入流
+     */
+    public Base64InputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int dp = off;
+        while (dp == off && !eof) {
+            // 限制读取的字符数，保证解码结果不会超过剩余空间
+            int n = in.read(buffer, 0, Math.min(buffer.length, Math.max(1, len * 4 / 3)));
+            if (n < 0) {
+                eof = true;
+                break;
+            }
+
+            int c;
+            int sestet;
+            for (int i = 0; i < n; i++) {
+                c = buffer[i];
+                if (c < 0 || c >= Base64Decoder.DECODE_TABLE.length) {
+                    continue;
+                }
+
+                sestet = Base64Decoder.DECODE_TABLE[c];
+                if (sestet == Base64Decoder.PADDING) {
+                    // 补位符之后的剩余位无效
+                    bitCount = 0;
+                } else if (sestet >= 0) {
+                    bits = (bits << 6) | sestet;
+                    bitCount += 6;
+                    if (bitCount >= 8) {
+                        bitCount -= 8;
+                        b[dp++] = (byte) (bits >>> bitCount);
+                    }
+                }
+            }
+        }
+        return dp == off ? -1 : dp - off;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        byte[] b = new byte[(int) Math.min(512, n)];
+        long remaining = n;
+        int len;
+        while (remaining > 0 && (len = read(b, 0, (int) Math.min(b.length, remaining))) > 0) {
+            remaining -= len;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
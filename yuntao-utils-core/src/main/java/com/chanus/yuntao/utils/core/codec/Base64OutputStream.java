@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base64 编码输出流，写入的数据经 Base64 编码后以 ASCII 字节写入被包装的输出流，内存占用固定<br>
+ * 编码结果与 {@link Base64Encoder#encode(byte[], boolean, boolean)} 一致：
+ * MIME 模式下每76个字符一个 CRLF 换行符，URL 安全模式下不补“=”。
+ * 不足3个字节的数据在 {@link #finish()} 或 {@link #close()} 时编码输出
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Base64OutputStream extends FilterOutputStream {
+    /**
+     * MIME 模式下每行的编码组数，每组4个字符
+     */
+    private static final int GROUPS_PER_LINE = 19;
+
+    private final byte[] encodeTable;
+    private final boolean isMultiLine;
+    private final boolean isUrlSafe;
+    /**
+     * 未满3个字节的待编码数据
+     */
+    private final byte[] pending = new byte[3];
+    /**
+     * 编码结果缓冲区
+     */
+    private final byte[] buffer = new byte[1024];
+    private int pendingCount;
+    private int bufferCount;
+    /**
+     * 当前行已输出的编码组数
+     */
+    private int lineGroups;
+    private boolean finished;
+
+    /**
+     * 构造，非 URL 安全，不换行
+     *
+     * @param out 被包装的输出流
+     */
+    public Base64OutputStream(OutputStream out) {
+        this(out, false, false);
+    }
+
+    /**
+     * 构造
+     *
+     * @param out         被包装的输出流
+     * @param isMultiLine 是否使用 MIME 格式，每76个字符一个 CRLF 换行符
+     * @param isUrlSafe   是否使用 URL 安全字符，一般为 <code>false</code>
+     */
+    public Base64OutputStream(OutputStream out, boolean isMultiLine, boolean isUrlSafe) {
+        super(out);
+        this.encodeTable = isUrlSafe ? Base64Encoder.URL_SAFE_ENCODE_TABLE : Base64Encoder.STANDARD_ENCODE_TABLE;
+        this.isMultiLine = isMultiLine;
+        this.isUrlSafe = isUrlSafe;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is finished!");
+        }
+        pending[pendingCount++] = (byte) b;
+        if (pendingCount == pending.length) {
+            encodeGroup(pending, 0);
+            pendingCount = 0;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (finished) {
+            throw new IOException("Stream is finished!");
+        }
+
+        // 先补齐上次剩余的数据
+        while (pendingCount > 0 && len > 0) {
+            write(b[off++]);
+            len--;
+        }
+
+        for (; len >= 3; off += 3, len -= 3) {
+            encodeGroup(b, off);
+        }
+
+        System.arraycopy(b, off, pending, 0, len);
+        pendingCount = len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * 编码剩余的数据并写出，但不关闭被包装的输出流，调用后不能再写入数据
+     *
+     * @throws IOException IO 异常
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        if (pendingCount > 0) {
+            int i = ((pending[0] & 0xff) << 10) | (pendingCount == 2 ? ((pending[1] & 0xff) << 2) : 0);
+            ensureCapacity();
+            buffer[bufferCount++] = encodeTable[i >> 12];
+            buffer[bufferCount++] = encodeTable[(i >>> 6) & 0x3f];
+            if (pendingCount == 2) {
+                buffer[bufferCount++] = encodeTable[i & 0x3f];
+            } else if (!isUrlSafe) {
+                buffer[bufferCount++] = '=';
+            }
+            if (!isUrlSafe) {
+                buffer[bufferCount++] = '=';
+            }
+            pendingCount = 0;
+        }
+        flush();
+    }
+
+    /**
+     * 编码剩余的数据并关闭被包装的输出流
+     *
+     * @throws IOException IO 异常
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        super.close();
+    }
+
+    /**
+     * 编码3个字节
+     *
+     * @param b   数据
+     * @param off 起始位置
+     * @throws IOException IO 异常
+     */
+    private void encodeGroup(byte[] b, int off) throws IOException {
+        ensureCapacity();
+        int i = (b[off] & 0xff) << 16 | (b[off + 1] & 0xff) << 8 | (b[off + 2] & 0xff);
+        buffer[bufferCount++] = encodeTable[(i >>> 18) & 0x3f];
+        buffer[bufferCount++] = encodeTable[(i >>> 12) & 0x3f];
+        buffer[bufferCount++] = encodeTable[(i >>> 6) & 0x3f];
+        buffer[bufferCount++] = encodeTable[i & 0x3f];
+    }
+
+    /**
+     * 保证缓冲区可以再写入一组编码结果，MIME 模式下换行符延迟到下一组编码前写入，保证结尾不出现多余的换行符
+     *
+     * @throws IOException IO 异常
+     */
+    private void ensureCapacity() throws IOException {
+        if (bufferCount > buffer.length - 6) {
+            flushBuffer();
+        }
+        if (isMultiLine && lineGroups++ == GROUPS_PER_LINE) {
+            buffer[bufferCount++] = '\r';
+            buffer[bufferCount++] = '\n';
+            lineGroups = 1;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (bufferCount > 0) {
+            out.write(buffer, 0, bufferCount);
+            bufferCount = 0;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.StringBuilderPool;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * 字符串转义工具，支持 Unicode、HTML 和 JSON 三种格式<br>
+ * 转义和反转义均通过查表逐字符判断，不需要处理的连续字符整段复制；结果写入任意 {@link Appendable}，
+ * 也可以在 {@link Reader} 和 {@link Writer} 之间分块处理大文本，转义序列跨越分块边界时会等待后续内容。
+ * 字符串中没有需要处理的字符时直接返回原字符串。无法识别的转义序列原样保留
+ * <ul>
+ *     <li>{@link #UNICODE}：非 ASCII 字符转义为 {@code \}{@code uXXXX}</li>
+ *     <li>{@link #HTML}：{@code & < > " '} 和不换行空格转义为 {@link StringUtils#HTML_AMP} 等实体，
+ *     反转义还支持 {@code &#ddd;} 和 {@code &#xhhh;} 形式的数字实体</li>
+ *     <li>{@link #JSON}：{@code " \} 和控制字符按 JSON 字符串规范转义，U+2028 和 U+2029 转义为 {@code \}{@code uXXXX}</li>
+ * </ul>
+ * IO 异常统一包装为 {@link RuntimeException} 抛出
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class Escaper {
+    private static final int TYPE_UNICODE = 0;
+    private static final int TYPE_HTML = 1;
+    private static final int TYPE_JSON = 2;
+
+    /**
+     * Unicode 转义
+     */
+    public static final Escaper UNICODE = new Escaper(TYPE_UNICODE);
+    /**
+     * HTML 转义
+     */
+    public static final Escaper HTML = new Escaper(TYPE_HTML);
+    /**
+     * JSON 字符串转义
+     */
+    public static final Escaper JSON = new Escaper(TYPE_JSON);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    /**
+     * 流式处理的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * 最长的 HTML 实体，如 {@code &#x10FFFF;}
+     */
+    private static final int MAX_HTML_ENTITY_LENGTH = 10;
+
+    /**
+     * HTML 转义表，下标为字符
+     */
+    private static final String[] HTML_ESCAPES = new String[0xA1];
+    /**
+     * JSON 转义表，下标为 ASCII 字符
+     */
+    private static final String[] JSON_ESCAPES = new String[0x80];
+    /**
+     * 可识别的 HTML 命名实体及对应的字符
+     */
+    private static final String[] HTML_ENTITY_NAMES = {"amp", "lt", "gt", "quot", "apos", "nbsp"};
+    private static final char[] HTML_ENTITY_CHARS = {'&', '<', '>', '"', '\'', '\u00A0'};
+
+    static {
+        HTML_ESCAPES['&'] = StringUtils.HTML_AMP;
+        HTML_ESCAPES['<'] = StringUtils.HTML_LT;
+        HTML_ESCAPES['>'] = StringUtils.HTML_GT;
+        HTML_ESCAPES['"'] = StringUtils.HTML_QUOTE;
+        HTML_ESCAPES['\''] = StringUtils.HTML_APOS;
+        HTML_ESCAPES['\u00A0'] = StringUtils.HTML_NBSP;
+
+        for (int c = 0; c < 0x20; c++) {
+            JSON_ESCAPES[c] = "\\u00" + HEX[c >> 4] + HEX[c & 0xF];
+        }
+        JSON_ESCAPES['"'] = "\\\"";
+        JSON_ESCAPES['\\'] = "\\\\";
+        JSON_ESCAPES['\b'] = "\\b";
+        JSON_ESCAPES['\f'] = "\\f";
+        JSON_ESCAPES['\n'] = "\\n";
+        JSON_ESCAPES['\r'] = "\\r";
+        JSON_ESCAPES['\t'] = "\\t";
+    }
+
+    private final int type;
+    /**
+     * 反转义序列的起始字符
+     */
+    private final char unescapeTrigger;
+
+    private Escaper(int type) {
+        this.type = type;
+        this.unescapeTrigger = type == TYPE_HTML ? '&' : '\\';
+    }
+
+    /**
+     * 转义字符串
+     *
+     * @param s 字符串
+     * @return 转义后的字符串，没有需要转义的字符时返回原字符串
+     */
+    public String escape(String s) {
+        if (s == null) {
+            return null;
+        }
+
+        final int length = s.length();
+        int i = 0;
+        while (i < length && !needsEscape(s.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return s;
+        }
+
+        StringBuilder sb = StringBuilderPool.acquire(length + 16);
+        sb.append(s, 0, i);
+        escape(s, i, length, sb);
+        return StringBuilderPool.toStringAndRelease(sb);
+    }
+
+    /**
+     * 转义字符序列并写入 {@link Appendable}
+     *
+     * @param s   字符序列
+     * @param out 输出
+     * @param <A> 输出类型
+     * @return {@code out}
+     */
+    public <A extends Appendable> A escape(CharSequence s, A out) {
+        escape(s, 0, s.length(), out);
+        return out;
+    }
+
+    /**
+     * 分块读取并转义，写入 {@link Writer}，不关闭输入和输出
+     *
+     * @param in  输入
+     * @param out 输出
+     */
+    public void escape(Reader in, Writer out) {
+        translate(in, out, true);
+    }
+
+    /**
+     * 反转义字符串
+     *
+     * @param s 字符串
+     * @return 反转义后的字符串，没有转义序列时返回原字符串
+     */
+    public String unescape(String s) {
+        if (s == null) {
+            return null;
+        }
+
+        final int i = s.indexOf(unescapeTrigger);
+        if (i < 0) {
+            return s;
+        }
+
+        StringBuilder sb = StringBuilderPool.acquire(s.length());
+        sb.append(s, 0, i);
+        unescape(s, i, s.length(), sb, true);
+        return StringBuilderPool.toStringAndRelease(sb);
+    }
+
+    /**
+     * 反转义字符序列并写入 {@link Appendable}
+     *
+     * @param s   字符序列
+     * @param out 输出
+     * @param <A> 输出类型
+     * @return {@code out}
+     */
+    public <A extends Appendable> A unescape(CharSequence s, A out) {
+        unescape(s, 0, s.length(), out, true);
+        return out;
+    }
+
+    /**
+     * 分块读取并反转义，写入 {@link Writer}，不关闭输入和输出
+     *
+     * @param in  输入
+     * @param out 输出
+     */
+    public void unescape(Reader in, Writer out) {
+        translate(in, out, false);
+    }
+
+    private boolean needsEscape(char c) {
+        switch (type) {
+            case TYPE_UNICODE:
+                return c >= 0x80;
+            case TYPE_HTML:
+                return c < HTML_ESCAPES.length && HTML_ESCAPES[c] != null;
+            default:
+                return c < 0x80 ? JSON_ESCAPES[c] != null : c == '\u2028' || c == '\u2029';
+        }
+    }
+
+    private void escape(CharSequence s, int start, int end, Appendable out) {
+        try {
+            int run = start;
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                if (!needsEscape(c)) {
+                    continue;
+                }
+                appendRun(s, run, i, out);
+                run = i + 1;
+                if (type == TYPE_HTML) {
+                    out.append(HTML_ESCAPES[c]);
+                } else if (type == TYPE_JSON && c < 0x80) {
+                    out.append(JSON_ESCAPES[c]);
+                } else {
+                    out.append('\\').append('u')
+                            .append(HEX[c >> 12]).append(HEX[(c >> 8) & 0xF])
+                            .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+                }
+            }
+            appendRun(s, run, end, out);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 反转义 {@code [start, end)} 范围内的内容
+     *
+     * @param endOfInput 是否为输入的结尾，不是结尾时末尾不完整的转义序列留待下次处理
+     * @return 已处理到的位置
+     */
+    private int unescape(CharSequence s, int start, int end, Appendable out, boolean endOfInput) {
+        try {
+            int run = start;
+            for (int i = start; i < end; i++) {
+                if (s.charAt(i) != unescapeTrigger) {
+                    continue;
+                }
+                appendRun(s, run, i, out);
+                int n = type == TYPE_HTML ? unescapeHtml(s, i, end, out, endOfInput) : unescapeBackslash(s, i, end, out, endOfInput);
+                if (n < 0) {
+                    return i;
+                }
+                if (n == 0) {
+                    // 不是可识别的转义序列，原样保留
+                    out.append(unescapeTrigger);
+                    n = 1;
+                }
+                i += n - 1;
+                run = i + 1;
+            }
+            appendRun(s, run, end, out);
+            return end;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 反转义以 {@code \} 开头的序列
+     *
+     * @return 消耗的字符数，0 表示不是可识别的转义序列，-1 表示需要更多输入
+     */
+    private int unescapeBackslash(CharSequence s, int i, int end, Appendable out, boolean endOfInput) throws IOException {
+        if (i + 1 >= end) {
+            return endOfInput ? 0 : -1;
+        }
+
+        char c = s.charAt(i + 1);
+        if (c == 'u') {
+            if (i + 6 > end) {
+                return endOfInput ? 0 : -1;
+            }
+            int value = 0;
+            for (int j = i + 2; j < i + 6; j++) {
+                int digit = Character.digit(s.charAt(j), 16);
+                if (digit < 0) {
+                    return 0;
+                }
+                value = (value << 4) | digit;
+            }
+            out.append((char) value);
+            return 6;
+        }
+        if (type != TYPE_JSON) {
+            return 0;
+        }
+
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                out.append(c);
+                break;
+            case 'b':
+                out.append('\b');
+                break;
+            case 'f':
+                out.append('\f');
+                break;
+            case 'n':
+                out.append('\n');
+                break;
+            case 'r':
+                out.append('\r');
+                break;
+            case 't':
+                out.append('\t');
+                break;
+            default:
+                return 0;
+        }
+        return 2;
+    }
+
+    /**
+     * 反转义以 {@code &} 开头的 HTML 实体
+     *
+     * @return 消耗的字符数，0 表示不是可识别的实体，-1 表示需要更多输入
+     */
+    private int unescapeHtml(CharSequence s, int i, int end, Appendable out, boolean endOfInput) throws IOException {
+        final int limit = Math.min(end, i + MAX_HTML_ENTITY_LENGTH);
+        int semicolon = -1;
+        for (int j = i + 1; j < limit; j++) {
+            char c = s.charAt(j);
+            if (c == ';') {
+                semicolon = j;
+                break;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#' || c >= 0x80) {
+                return 0;
+            }
+        }
+        if (semicolon < 0) {
+            return !endOfInput && limit == end && end - i < MAX_HTML_ENTITY_LENGTH ? -1 : 0;
+        }
+
+        if (s.charAt(i + 1) == '#') {
+            int cp = parseCodePoint(s, i + 2, semicolon);
+            if (cp < 0) {
+                return 0;
+            }
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                out.append((char) cp);
+            } else {
+                out.append(Character.highSurrogate(cp)).append(Character.lowSurrogate(cp));
+            }
+            return semicolon - i + 1;
+        }
+
+        final int nameLength = semicolon - i - 1;
+        for (int k = 0; k < HTML_ENTITY_NAMES.length; k++) {
+            String name = HTML_ENTITY_NAMES[k];
+            if (name.length() != nameLength) {
+                continue;
+            }
+            int j = 0;
+            while (j < nameLength && name.charAt(j) == s.charAt(i + 1 + j)) {
+                j++;
+            }
+            if (j == nameLength) {
+                out.append(HTML_ENTITY_CHARS[k]);
+                return semicolon - i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 解析数字实体的码点，支持十进制和以 {@code x} 开头的十六进制
+     *
+     * @return 码点，不合法时返回 -1
+     */
+    private static int parseCodePoint(CharSequence s, int start, int end) {
+        int radix = 10;
+        if (start < end && (s.charAt(start) == 'x' || s.charAt(start) == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start == end) {
+            return -1;
+        }
+
+        int cp = 0;
+        for (int j = start; j < end; j++) {
+            int digit = Character.digit(s.charAt(j), radix);
+            if (digit < 0) {
+                return -1;
+            }
+            cp = cp * radix + digit;
+            if (cp > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+        }
+        return cp;
+    }
+
+    /**
+     * 整段复制不需要处理的内容，输出为 {@link Writer} 且输入为数组缓冲区时直接写入数组片段
+     */
+    private static void appendRun(CharSequence s, int start, int end, Appendable out) throws IOException {
+        if (start >= end) {
+            return;
+        }
+        if (out instanceof Writer && s instanceof CharBuffer && ((CharBuffer) s).hasArray()) {
+            CharBuffer buffer = (CharBuffer) s;
+            ((Writer) out).write(buffer.array(), buffer.arrayOffset() + buffer.position() + start, end - start);
+        } else {
+            out.append(s, start, end);
+        }
+    }
+
+    private void translate(Reader in, Writer out, boolean escape) {
+        char[] buffer = new char[BUFFER_SIZE];
+        int length = 0;
+        try {
+            int read;
+            do {
+                read = in.read(buffer, length, buffer.length - length);
+                if (read > 0) {
+                    length += read;
+                }
+                boolean endOfInput = read < 0;
+                CharBuffer chars = CharBuffer.wrap(buffer, 0, length);
+                int done;
+                if (escape) {
+                    escape(chars, 0, length, out);
+                    done = length;
+                } else {
+                    done = unescape(chars, 0, length, out, endOfInput);
+                }
+                // 未处理的不完整转义序列移到缓冲区开头
+                System.arraycopy(buffer, done, buffer, 0, length - done);
+                length -= done;
+            } while (read >= 0);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type == TYPE_UNICODE ? "UNICODE" : type == TYPE_HTML ? "HTML" : "JSON";
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.util.Arrays;
+
+/**
+ * 十六进制编码工具类<br>
+ * 每个字节编码为两个十六进制字符，编码和解码均通过查表完成，保留前导0
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Hex {
+    /**
+     * 小写编码表
+     */
+    private static final char[] DIGITS_LOWER = "0123456789abcdef".toCharArray();
+    /**
+     * 大写编码表
+     */
+    private static final char[] DIGITS_UPPER = "0123456789ABCDEF".toCharArray();
+    /**
+     * 解码表，下标为字符 ASCII 码，-1表示非十六进制字符
+     */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            DECODE_TABLE[DIGITS_LOWER[i]] = (byte) i;
+            DECODE_TABLE[DIGITS_UPPER[i]] = (byte) i;
+        }
+    }
+
+    private Hex() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 十六进制编码，小写
+     *
+     * @param bytes 数据
+     * @return 十六进制字符串
+     */
+    public static String encode(byte[] bytes) {
+        return encode(bytes, true);
+    }
+
+    /**
+     * 十六进制编码
+     *
+     * @param bytes       数据
+     * @param toLowerCase {@code true} 小写；{@code false} 大写
+     * @return 十六进制字符串
+     */
+    public static String encode(byte[] bytes, boolean toLowerCase) {
+        if (bytes == null) {
+            return null;
+        }
+
+        char[] chars = new char[bytes.length << 1];
+        encode(bytes, 0, bytes.length, chars, 0, toLowerCase);
+        return new String(chars);
+    }
+
+    /**
+     * 十六进制编码，将编码结果写入指定的字符数组
+     *
+     * @param src         数据
+     * @param srcOff      数据起始位置
+     * @param len         编码的字节数
+     * @param dst         存放编码结果的字符数组，剩余空间不小于 {@code len * 2}
+     * @param dstOff      编码结果的写入起始位置
+     * @param toLowerCase {@code true} 小写；{@code false} 大写
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff, boolean toLowerCase) {
+        char[] digits = toLowerCase ? DIGITS_LOWER : DIGITS_UPPER;
+        int dp = dstOff;
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            dst[dp++] = digits[(src[i] >>> 4) & 0x0F];
+            dst[dp++] = digits[src[i] & 0x0F];
+        }
+        return dp - dstOff;
+    }
+
+    /**
+     * 十六进制编码，将编码结果以 ASCII 字节写入指定的字节数组
+     *
+     * @param src         数据
+     * @param srcOff      数据起始位置
+     * @param len         编码的字节数
+     * @param dst         存放编码结果的字节数组，剩余空间不小于 {@code len * 2}
+     * @param dstOff      编码结果的写入起始位置
+     * @param toLowerCase {@code true} 小写；{@code false} 大写
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff, boolean toLowerCase) {
+        char[] digits = toLowerCase ? DIGITS_LOWER : DIGITS_UPPER;
+        int dp = dstOff;
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            dst[dp++] = (byte) digits[(src[i] >>> 4) & 0x0F];
+            dst[dp++] = (byte) digits[src[i] & 0x0F];
+        }
+        return dp - dstOff;
+    }
+
+    /**
+     * 十六进制编码，将编码结果追加到 {@link StringBuilder}
+     *
+     * @param src         数据
+     * @param srcOff      数据起始位置
+     * @param len         编码的字节数
+     * @param sb          {@link StringBuilder}
+     * @param toLowerCase {@code true} 小写；{@code false} 大写
+     * @return 传入的 {@link StringBuilder}
+     */
+    public static StringBuilder encode(byte[] src, int srcOff, int len, StringBuilder sb, boolean toLowerCase) {
+        char[] digits = toLowerCase ? DIGITS_LOWER : DIGITS_UPPER;
+        sb.ensureCapacity(sb.length() + (len << 1));
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            sb.append(digits[(src[i] >>> 4) & 0x0F]).append(digits[src[i] & 0x0F]);
+        }
+        return sb;
+    }
+
+    /**
+     * 十六进制解码，大小写均可
+     *
+     * @param hex 十六进制字符串
+     * @return 解码后的数据
+     * @throws IllegalArgumentException 字符串长度为奇数或包含非十六进制字符
+     */
+    public static byte[] decode(CharSequence hex) {
+        if (hex == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[hex.length() >> 1];
+        decode(hex, 0, hex.length(), bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * 十六进制解码，大小写均可，将解码结果写入指定的字节数组
+     *
+     * @param src    十六进制字符序列
+     * @param srcOff 字符序列起始位置
+     * @param len    解码的字符数，必须为偶数
+     * @param dst    存放解码结果的字节数组，剩余空间不小于 {@code len / 2}
+     * @param dstOff 解码结果的写入起始位置
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 解码的字符数为奇数或包含非十六进制字符
+     */
+    public static int decode(CharSequence src, int srcOff, int len, byte[] dst, int dstOff) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Hex string length must be even!");
+        }
+
+        int dp = dstOff;
+        for (int i = srcOff, end = srcOff + len; i < end; i += 2) {
+            dst[dp++] = (byte) (toDigit(src.charAt(i), i) << 4 | toDigit(src.charAt(i + 1), i + 1));
+        }
+        return dp - dstOff;
+    }
+
+    /**
+     * 十六进制解码，大小写均可，将 ASCII 字节形式的十六进制数据解码到指定的字节数组
+     *
+     * @param src    十六进制 ASCII 字节数组
+     * @param srcOff 字节数组起始位置
+     * @param len    解码的字节数，必须为偶数
+     * @param dst    存放解码结果的字节数组，剩余空间不小于 {@code len / 2}
+     * @param dstOff 解码结果的写入起始位置
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 解码的字节数为奇数或包含非十六进制字符
+     */
+    public static int decode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Hex string length must be even!");
+        }
+
+        int dp = dstOff;
+        for (int i = srcOff, end = srcOff + len; i < end; i += 2) {
+            dst[dp++] = (byte) (toDigit(src[i] & 0xFF, i) << 4 | toDigit(src[i + 1] & 0xFF, i + 1));
+        }
+        return dp - dstOff;
+    }
+
+    /**
+     * 获取十六进制字符对应的值
+     *
+     * @param c     字符
+     * @param index 字符位置，用于异常信息
+     * @return 字符对应的值
+     */
+    static int toDigit(int c, int index) {
+        int digit = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException(String.format("Illegal hexadecimal character [%s] at index %d", (char) c, index));
+        }
+        return digit;
+    }
+}
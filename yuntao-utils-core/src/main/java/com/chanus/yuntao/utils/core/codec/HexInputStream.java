@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 十六进制解码输入流，从被包装的输入流中读取十六进制 ASCII 字节并解码，内存占用固定<br>
+ * 遇到非十六进制字符或数据长度为奇数时抛出 {@link IOException}
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class HexInputStream extends FilterInputStream {
+    /**
+     * 读取编码数据的缓冲区
+     */
+    private final byte[] buffer = new byte[1024];
+    /**
+     * 单字节读取缓冲区
+     */
+    private final byte[] singleByte = new byte[1];
+    /**
+     * 上次读取剩余的高4位，-1表示没有
+     */
+    private int high = -1;
+    /**
+     * 已读取的字符数，用于异常信息
+     */
+    private long position;
+
+    /**
+     * 构造
+     *
+     * @param in 被包装的十六进制编码输入流
+     */
+    public HexInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int dp = off;
+        while (dp == off) {
+            // 限制读取的字符数，保证解码结果不会超过剩余空间
+            int n = in.read(buffer, 0, Math.min(buffer.length, (len << 1) - (high < 0 ? 0 : 1)));
+            if (n < 0) {
+                if (high >= 0) {
+                    throw new IOException("Hex data length must be even!");
+                }
+                return -1;
+            }
+
+            int digit;
+            for (int i = 0; i < n; i++, position++) {
+                try {
+                    digit = Hex.toDigit(buffer[i] & 0xFF, (int) Math.min(position, Integer.MAX_VALUE));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+
+                if (high < 0) {
+                    high = digit;
+                } else {
+                    b[dp++] = (byte) (high << 4 | digit);
+                    high = -1;
+                }
+            }
+        }
+        return dp - off;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        byte[] b = new byte[(int) Math.min(512, n)];
+        long remaining = n;
+        int len;
+        while (remaining > 0 && (len = read(b, 0, (int) Math.min(b.length, remaining))) > 0) {
+            remaining -= len;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 十六进制编码输出流，写入的数据经十六进制编码后以 ASCII 字节写入被包装的输出流，内存占用固定
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class HexOutputStream extends FilterOutputStream {
+    /**
+     * 编码结果缓冲区
+     */
+    private final byte[] buffer = new byte[1024];
+    /**
+     * 单字节写入缓冲区
+     */
+    private final byte[] singleByte = new byte[1];
+    private final boolean toLowerCase;
+
+    /**
+     * 构造，小写
+     *
+     * @param out 被包装的输出流
+     */
+    public HexOutputStream(OutputStream out) {
+        this(out, true);
+    }
+
+    /**
+     * 构造
+     *
+     * @param out         被包装的输出流
+     * @param toLowerCase {@code true} 小写；{@code false} 大写
+     */
+    public HexOutputStream(OutputStream out, boolean toLowerCase) {
+        super(out);
+        this.toLowerCase = toLowerCase;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        singleByte[0] = (byte) b;
+        out.write(buffer, 0, Hex.encode(singleByte, 0, 1, buffer, 0, toLowerCase));
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int chunk;
+        int maxChunk = buffer.length >> 1;
+        while (len > 0) {
+            chunk = Math.min(len, maxChunk);
+            out.write(buffer, 0, Hex.encode(b, off, chunk, buffer, 0, toLowerCase));
+            off += chunk;
+            len -= chunk;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.codec;
+
+import com.chanus.yuntao.utils.core.CharsetUtils;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 编解码工具类<br>
+ * 编码直接写入调用方提供的 {@code byte[]} 或 {@link ByteBuffer}，解码直接读取数组或缓冲区的片段，均不复制输入；
+ * 纯 ASCII 内容逐字节直接转换。无法配对的代理字符编码为 {@code '?'}，非法的字节序列解码为 {@code '�'}，
+ * 与 {@link String#getBytes(java.nio.charset.Charset)} 和 {@link String#String(byte[], java.nio.charset.Charset)} 一致
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Utf8 {
+    private Utf8() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 计算字符序列 UTF-8 编码后的字节数
+     *
+     * @param s 字符序列
+     * @return 编码后的字节数
+     */
+    public static int encodedLength(CharSequence s) {
+        final int length = s.length();
+        int i = 0;
+        while (i < length && s.charAt(i) < 0x80) {
+            i++;
+        }
+
+        long bytes = i;
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("UTF-8 length overflows int: " + bytes);
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * UTF-8 编码
+     *
+     * @param s 字符序列
+     * @return 编码后的字节数组，长度与编码结果完全一致
+     */
+    public static byte[] encode(CharSequence s) {
+        byte[] bytes = new byte[encodedLength(s)];
+        encode(s, bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * UTF-8 编码并写入字节数组，所需空间可通过 {@link #encodedLength(CharSequence)} 计算
+     *
+     * @param s      字符序列
+     * @param dest   目标数组
+     * @param offset 写入的起始位置
+     * @return 写入的字节数
+     * @throws ArrayIndexOutOfBoundsException 目标数组的剩余空间不足
+     */
+    public static int encode(CharSequence s, byte[] dest, int offset) {
+        final int length = s.length();
+        int p = offset;
+        int i = 0;
+        // ASCII 快速路径
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            dest[p++] = (byte) c;
+            i++;
+        }
+
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                dest[p++] = (byte) c;
+            } else if (c < 0x800) {
+                dest[p++] = (byte) (0xC0 | (c >> 6));
+                dest[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                dest[p++] = (byte) (0xF0 | (cp >> 18));
+                dest[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dest[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dest[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                dest[p++] = '?';
+            } else {
+                dest[p++] = (byte) (0xE0 | (c >> 12));
+                dest[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dest[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return p - offset;
+    }
+
+    /**
+     * UTF-8 编码并写入缓冲区，写入后缓冲区的 position 后移
+     *
+     * @param s    字符序列
+     * @param dest 目标缓冲区
+     * @return 写入的字节数
+     * @throws BufferOverflowException 缓冲区剩余空间不足，此时不写入任何内容
+     */
+    public static int encode(CharSequence s, ByteBuffer dest) {
+        final int n = encodedLength(s);
+        if (n > dest.remaining()) {
+            throw new BufferOverflowException();
+        }
+
+        if (dest.hasArray()) {
+            encode(s, dest.array(), dest.arrayOffset() + dest.position());
+            dest.position(dest.position() + n);
+            return n;
+        }
+
+        final int length = s.length();
+        int i = 0;
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            dest.put((byte) c);
+            i++;
+        }
+        if (i < length) {
+            // 非 ASCII 部分先编码到临时数组再整体写入
+            byte[] bytes = encode(s.subSequence(i, length));
+            dest.put(bytes);
+        }
+        return n;
+    }
+
+    /**
+     * UTF-8 解码
+     *
+     * @param bytes 字节数组
+     * @return 字符串
+     */
+    public static String decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * UTF-8 解码字节数组的片段
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 字节数
+     * @return 字符串
+     */
+    public static String decode(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", size: " + bytes.length);
+        }
+
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        // 纯 ASCII 内容按单字节解码
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * UTF-8 解码缓冲区的剩余内容，解码后缓冲区的 position 移至 limit
+     *
+     * @param buffer 缓冲区
+     * @return 字符串
+     */
+    public static String decode(ByteBuffer buffer) {
+        final int length = buffer.remaining();
+        final int start = buffer.position();
+        if (buffer.hasArray()) {
+            String s = decode(buffer.array(), buffer.arrayOffset() + start, length);
+            buffer.position(buffer.limit());
+            return s;
+        }
+
+        // UTF-8 解码后的字符数不会超过字节数
+        char[] chars = new char[length];
+        int i = 0;
+        while (i < length) {
+            byte b = buffer.get(start + i);
+            if (b < 0) {
+                break;
+            }
+            chars[i++] = (char) b;
+        }
+        buffer.position(start + i);
+        if (i == length) {
+            return new String(chars);
+        }
+
+        CharsetDecoder decoder = CharsetUtils.decoder(StandardCharsets.UTF_8);
+        CharBuffer out = CharBuffer.wrap(chars, i, length - i);
+        decoder.decode(buffer, out, true);
+        decoder.flush(out);
+        return new String(chars, 0, out.position());
+    }
+}
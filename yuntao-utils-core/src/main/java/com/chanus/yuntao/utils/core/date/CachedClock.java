@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 粗粒度缓存时钟
+ * <p>
+ * 粒度大于 0 时，后台守护线程按指定粒度读取系统时间，调用方获取当前时间时只需读取一个 volatile 字段；
+ * 返回的时间最多落后实际时间一个粒度（线程调度延迟时可能更多），适用于审计字段、日志等对精度要求不高的高频场景。
+ * 粒度为 0 时不启动后台线程，每次调用都读取系统时钟。
+ * </p>
+ * <p>
+ * 格式化在读取时按需进行，结果缓存在当前时间快照中，同一毫秒内重复读取不再格式化，同一秒内复用秒级和日期字符串。
+ * 未指定时区时跟随系统默认时区，{@link java.util.TimeZone#setDefault(java.util.TimeZone)} 修改默认时区后的读取按新时区格式化。
+ * </p>
+ * <p>
+ * 共享实例 {@link #getInstance()} 的粒度可通过系统属性 {@value #GRANULARITY_PROPERTY} 配置，单位毫秒，默认为 0，
+ * 即不启动后台线程、返回精确的当前时间。
+ * </p>
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class CachedClock {
+    /**
+     * 共享实例粒度的系统属性名
+     */
+    public static final String GRANULARITY_PROPERTY = "yuntao.clock.granularity";
+
+    /**
+     * 刷新粒度，单位毫秒
+     */
+    private final long granularity;
+    /**
+     * 指定的时区，为 {@code null} 时跟随系统默认时区
+     */
+    private final ZoneId zone;
+    /**
+     * 后台刷新线程，粒度为 0 时为 {@code null}
+     */
+    private final ScheduledExecutorService ticker;
+    /**
+     * 后台线程最近一次读取的系统时间
+     */
+    private volatile long now;
+    /**
+     * 当前时间快照
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 构造，跟随系统默认时区
+     *
+     * @param granularity 刷新粒度，单位毫秒，为 0 时不启动后台线程
+     */
+    public CachedClock(long granularity) {
+        this(granularity, null);
+    }
+
+    /**
+     * 构造
+     *
+     * @param granularity 刷新粒度，单位毫秒，为 0 时不启动后台线程
+     * @param zoneId      时区，若为 {@code null} 则跟随系统默认时区
+     */
+    public CachedClock(long granularity, ZoneId zoneId) {
+        if (granularity < 0) {
+            throw new IllegalArgumentException("Granularity must not be negative!");
+        }
+
+        this.granularity = granularity;
+        this.zone = zoneId;
+        this.now = System.currentTimeMillis();
+        this.snapshot = new Snapshot(now, new Formatters(getZone()), null);
+
+        if (granularity > 0) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "yuntao-cached-clock");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), granularity, granularity, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * 获取共享实例
+     *
+     * @return 共享的 {@link CachedClock}
+     */
+    public static CachedClock getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 获取刷新粒度
+     *
+     * @return 刷新粒度，单位毫秒
+     */
+    public long getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * 获取时区
+     *
+     * @return 指定的时区，未指定时为当前的系统默认时区
+     */
+    public ZoneId getZone() {
+        return zone == null ? ZoneId.systemDefault() : zone;
+    }
+
+    /**
+     * 获取当前时间戳
+     *
+     * @return 当前毫秒时间戳
+     */
+    public long currentTimeMillis() {
+        return ticker == null || ticker.isShutdown() ? System.currentTimeMillis() : now;
+    }
+
+    /**
+     * 获取当前时间戳字符串
+     *
+     * @return 当前毫秒时间戳字符串
+     */
+    public String currentTimeMillisString() {
+        return current().millisString();
+    }
+
+    /**
+     * 获取当前时间的 yyyy-MM-dd HH:mm:ss 格式字符串
+     *
+     * @return 当前时间的 yyyy-MM-dd HH:mm:ss 格式字符串
+     */
+    public String nowDateTime() {
+        return current().dateTime();
+    }
+
+    /**
+     * 获取当前时间的 yyyy-MM-dd HH:mm:ss.SSS 格式字符串
+     *
+     * @return 当前时间的 yyyy-MM-dd HH:mm:ss.SSS 格式字符串
+     */
+    public String nowDateTimeMillis() {
+        return current().dateTimeMillis();
+    }
+
+    /**
+     * 获取当前日期的 yyyy-MM-dd 格式字符串
+     *
+     * @return 当前日期的 yyyy-MM-dd 格式字符串
+     */
+    public String nowDate() {
+        return current().date();
+    }
+
+    /**
+     * 停止后台刷新线程，此后每次调用都读取系统时钟
+     */
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取当前时间快照，时间或时区变化时创建新快照
+     */
+    private Snapshot current() {
+        long millis = currentTimeMillis();
+        ZoneId zoneId = getZone();
+        Snapshot s = snapshot;
+        if (s.millis != millis || !s.formatters.zone.equals(zoneId)) {
+            Formatters formatters = s.formatters.zone.equals(zoneId) ? s.formatters : new Formatters(zoneId);
+            s = new Snapshot(millis, formatters, s);
+            snapshot = s;
+        }
+        return s;
+    }
+
+    /**
+     * 同一时区的格式化器
+     */
+    private static final class Formatters {
+        private final ZoneId zone;
+        private final FastDateFormatter dateTime;
+        private final FastDateFormatter dateTimeMillis;
+        private final FastDateFormatter date;
+
+        private Formatters(ZoneId zone) {
+            this.zone = zone;
+            this.dateTime = FastDateFormatter.getInstance(DatePattern.NORMAL_DATETIME_PATTERN, zone);
+            this.dateTimeMillis = FastDateFormatter.getInstance(DatePattern.NORMAL_DATETIME_MILLIS_PATTERN, zone);
+            this.date = FastDateFormatter.getInstance(DatePattern.NORMAL_DATE_PATTERN, zone);
+        }
+    }
+
+    /**
+     * 时间快照，字符串在首次读取时格式化
+     * <p>
+     * 字段未加锁，并发读取时可能重复格式化，但 {@link String} 不可变，得到的结果相同。
+     * </p>
+     */
+    private static final class Snapshot {
+        private final long millis;
+        private final Formatters formatters;
+        private String millisString;
+        private String dateTime;
+        private String dateTimeMillis;
+        private String date;
+
+        /**
+         * 构造，与上一快照在同一时区的同一秒内时复用已格式化的秒级和日期字符串
+         */
+        private Snapshot(long millis, Formatters formatters, Snapshot previous) {
+            this.millis = millis;
+            this.formatters = formatters;
+            if (previous != null && previous.formatters == formatters && Math.floorDiv(previous.millis, 1000) == Math.floorDiv(millis, 1000)) {
+                this.dateTime = previous.dateTime;
+                this.date = previous.date;
+            }
+        }
+
+        private String millisString() {
+            String s = millisString;
+            if (s == null) {
+                millisString = s = Long.toString(millis);
+            }
+            return s;
+        }
+
+        private String dateTime() {
+            String s = dateTime;
+            if (s == null) {
+                dateTime = s = formatters.dateTime.format(millis);
+            }
+            return s;
+        }
+
+        private String dateTimeMillis() {
+            String s = dateTimeMillis;
+            if (s == null) {
+                dateTimeMillis = s = formatters.dateTimeMillis.format(millis);
+            }
+            return s;
+        }
+
+        private String date() {
+            String s = date;
+            if (s == null) {
+                date = s = formatters.date.format(millis);
+            }
+            return s;
+        }
+    }
+
+    /**
+     * 共享实例的延迟加载持有类
+     */
+    private static final class Holder {
+        private static final CachedClock INSTANCE = new CachedClock(Math.max(0, Long.getLong(GRANULARITY_PROPERTY, 0L)));
+    }
+}
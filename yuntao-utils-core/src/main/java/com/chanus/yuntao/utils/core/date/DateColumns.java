@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 批量日期计算工具类
+ * <p>
+ * 以 {@code long[]} 形式的毫秒时间戳列或 epoch-day（距 1970-01-01 的天数）列为单位进行计算，
+ * 包括按日、周、月分桶，整列偏移，两列求差以及统计工作日天数等。
+ * 所有计算均使用基本类型循环和公历日期算法完成，不创建 {@link java.util.Calendar} 或 {@link java.time.LocalDate} 对象；
+ * 数组长度不小于 {@value #PARALLEL_THRESHOLD} 且指定并行时会按块拆分并行计算。
+ * </p>
+ * <p>
+ * 日期计算采用预期公历（proleptic Gregorian），与 {@link java.time.LocalDate} 一致，
+ * 对 1582-10-15 之前的日期与 {@link java.util.GregorianCalendar} 的儒略历结果不同。
+ * 若无特别说明，方法均返回新数组，不修改入参。
+ * </p>
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class DateColumns {
+    /**
+     * 一天的毫秒数
+     */
+    public static final long MILLIS_PER_DAY = 86400000L;
+    /**
+     * 并行计算的最小数组长度
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+    /**
+     * 1970-01-01 到 0000-03-01 的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719468L;
+    /**
+     * 每 400 年的天数
+     */
+    private static final long DAYS_PER_ERA = 146097L;
+
+    private DateColumns() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取时间戳在指定时区对应的 epoch-day
+     *
+     * @param millis 毫秒时间戳
+     * @param zoneId 时区，若为 {@code null} 则使用默认时区
+     * @return 距 1970-01-01 的天数
+     */
+    public static long toEpochDay(long millis, ZoneId zoneId) {
+        return Math.floorDiv(ZoneOffsetTable.getInstance(zoneId).toLocalMillis(millis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * 将 epoch-day 转换为 yyyyMMdd 格式的整数
+     *
+     * @param epochDay 距 1970-01-01 的天数
+     * @return yyyyMMdd 格式的整数，如 20201231
+     */
+    public static int toYearMonthDay(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long doe = z - era * DAYS_PER_ERA;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long day = doy - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 10000 + month * 100 + day);
+    }
+
+    /**
+     * 将年月日转换为 epoch-day
+     *
+     * @param year  年
+     * @param month 月，1-12
+     * @param day   日，1-31，不校验是否超出当月天数
+     * @return 距 1970-01-01 的天数
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1L : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * DAYS_PER_ERA + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 获取 epoch-day 对应的星期，0 表示星期一，6 表示星期日
+     *
+     * @param epochDay 距 1970-01-01 的天数
+     * @return 星期，0-6
+     */
+    public static int dayOfWeek(long epochDay) {
+        // 1970-01-01 是星期四
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    /**
+     * 将毫秒时间戳列转换为 epoch-day 列
+     *
+     * @param millis 毫秒时间戳列
+     * @param zoneId 时区，若为 {@code null} 则使用默认时区
+     * @return epoch-day 列
+     */
+    public static long[] toEpochDays(long[] millis, ZoneId zoneId) {
+        return toEpochDays(millis, zoneId, false);
+    }
+
+    /**
+     * 将毫秒时间戳列转换为 epoch-day 列
+     *
+     * @param millis   毫秒时间戳列
+     * @param zoneId   时区，若为 {@code null} 则使用默认时区
+     * @param parallel 是否并行计算
+     * @return epoch-day 列
+     */
+    public static long[] toEpochDays(long[] millis, ZoneId zoneId, boolean parallel) {
+        checkColumn(millis);
+        final ZoneOffsetTable table = ZoneOffsetTable.getInstance(zoneId);
+        final long[] result = new long[millis.length];
+        forEachRange(millis.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = Math.floorDiv(table.toLocalMillis(millis[i]), MILLIS_PER_DAY);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 将 epoch-day 列转换为指定时区当天零点的毫秒时间戳列
+     *
+     * @param epochDays epoch-day 列
+     * @param zoneId    时区，若为 {@code null} 则使用默认时区
+     * @param parallel  是否并行计算
+     * @return 毫秒时间戳列
+     */
+    public static long[] toStartOfDayMillis(long[] epochDays, ZoneId zoneId, boolean parallel) {
+        checkColumn(epochDays);
+        final ZoneOffsetTable table = ZoneOffsetTable.getInstance(zoneId);
+        final long[] result = new long[epochDays.length];
+        forEachRange(epochDays.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                // 零点因夏令时跳过时顺延到跳变后的第一个时刻，与 LocalDate#atStartOfDay(ZoneId) 一致
+                result[i] = table.toEpochMillis(epochDays[i] * MILLIS_PER_DAY);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 按天分桶，返回每个时间戳所在日期的 epoch-day
+     *
+     * @param millis   毫秒时间戳列
+     * @param zoneId   时区，若为 {@code null} 则使用默认时区
+     * @param parallel 是否并行计算
+     * @return 分桶 epoch-day 列
+     */
+    public static long[] bucketByDay(long[] millis, ZoneId zoneId, boolean parallel) {
+        return toEpochDays(millis, zoneId, parallel);
+    }
+
+    /**
+     * 按周分桶，返回每个时间戳所在周第一天的 epoch-day
+     *
+     * @param millis         毫秒时间戳列
+     * @param zoneId         时区，若为 {@code null} 则使用默认时区
+     * @param firstDayOfWeek 每周的第一天，若为 {@code null} 则为星期一
+     * @param parallel       是否并行计算
+     * @return 分桶 epoch-day 列
+     */
+    public static long[] bucketByWeek(long[] millis, ZoneId zoneId, DayOfWeek firstDayOfWeek, boolean parallel) {
+        long[] days = toEpochDays(millis, zoneId, parallel);
+        truncateToWeek(days, days, firstDayOfWeek, parallel);
+        return days;
+    }
+
+    /**
+     * 按月分桶，返回每个时间戳所在月第一天的 epoch-day
+     *
+     * @param millis   毫秒时间戳列
+     * @param zoneId   时区，若为 {@code null} 则使用默认时区
+     * @param parallel 是否并行计算
+     * @return 分桶 epoch-day 列
+     */
+    public static long[] bucketByMonth(long[] millis, ZoneId zoneId, boolean parallel) {
+        long[] days = toEpochDays(millis, zoneId, parallel);
+        truncateToMonth(days, days, parallel);
+        return days;
+    }
+
+    /**
+     * 将 epoch-day 列截断到所在周的第一天
+     *
+     * @param epochDays      epoch-day 列
+     * @param firstDayOfWeek 每周的第一天，若为 {@code null} 则为星期一
+     * @param parallel       是否并行计算
+     * @return 截断后的 epoch-day 列
+     */
+    public static long[] truncateToWeek(long[] epochDays, DayOfWeek firstDayOfWeek, boolean parallel) {
+        checkColumn(epochDays);
+        long[] result = new long[epochDays.length];
+        truncateToWeek(epochDays, result, firstDayOfWeek, parallel);
+        return result;
+    }
+
+    /**
+     * 将 epoch-day 列截断到所在月的第一天
+     *
+     * @param epochDays epoch-day 列
+     * @param parallel  是否并行计算
+     * @return 截断后的 epoch-day 列
+     */
+    public static long[] truncateToMonth(long[] epochDays, boolean parallel) {
+        checkColumn(epochDays);
+        long[] result = new long[epochDays.length];
+        truncateToMonth(epochDays, result, parallel);
+        return result;
+    }
+
+    /**
+     * epoch-day 列整体偏移指定天数
+     *
+     * @param epochDays epoch-day 列
+     * @param days      偏移天数，可为负数
+     * @param parallel  是否并行计算
+     * @return 偏移后的 epoch-day 列
+     */
+    public static long[] plusDays(long[] epochDays, long days, boolean parallel) {
+        return plus(epochDays, days, parallel);
+    }
+
+    /**
+     * 毫秒时间戳列整体偏移指定毫秒数
+     *
+     * @param millis   毫秒时间戳列
+     * @param delta    偏移毫秒数，可为负数
+     * @param parallel 是否并行计算
+     * @return 偏移后的毫秒时间戳列
+     */
+    public static long[] plusMillis(long[] millis, long delta, boolean parallel) {
+        return plus(millis, delta, parallel);
+    }
+
+    /**
+     * epoch-day 列整体偏移指定月数，目标月份天数不足时取当月最后一天，与 {@link java.util.Calendar#add(int, int)} 一致
+     *
+     * @param epochDays epoch-day 列
+     * @param months    偏移月数，可为负数
+     * @param parallel  是否并行计算
+     * @return 偏移后的 epoch-day 列
+     */
+    public static long[] plusMonths(long[] epochDays, int months, boolean parallel) {
+        checkColumn(epochDays);
+        final long[] result = new long[epochDays.length];
+        forEachRange(epochDays.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = plusMonths(epochDays[i], months);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 计算两列 epoch-day 逐行相差的天数，即 {@code targetDays[i] - sourceDays[i]}
+     *
+     * @param sourceDays 源 epoch-day 列
+     * @param targetDays 目标 epoch-day 列
+     * @param parallel   是否并行计算
+     * @return 相差天数列
+     */
+    public static long[] diffDays(long[] sourceDays, long[] targetDays, boolean parallel) {
+        checkColumns(sourceDays, targetDays);
+        final long[] result = new long[sourceDays.length];
+        forEachRange(sourceDays.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = targetDays[i] - sourceDays[i];
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 计算两列毫秒时间戳逐行相差的天数，忽略时分秒，与 {@link DateUtils#diffDays(java.util.Date, java.util.Date)} 一致
+     *
+     * @param sourceMillis 源毫秒时间戳列
+     * @param targetMillis 目标毫秒时间戳列
+     * @param zoneId       时区，若为 {@code null} 则使用默认时区
+     * @param parallel     是否并行计算
+     * @return 相差天数列
+     */
+    public static long[] diffDays(long[] sourceMillis, long[] targetMillis, ZoneId zoneId, boolean parallel) {
+        checkColumns(sourceMillis, targetMillis);
+        final ZoneOffsetTable table = ZoneOffsetTable.getInstance(zoneId);
+        final long[] result = new long[sourceMillis.length];
+        forEachRange(sourceMillis.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = Math.floorDiv(table.toLocalMillis(targetMillis[i]), MILLIS_PER_DAY)
+                        - Math.floorDiv(table.toLocalMillis(sourceMillis[i]), MILLIS_PER_DAY);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 计算 epoch-day 列中每个日期是指定周期内的第几天，与 {@link DateUtils#dayOfCycle(java.util.Date, int, java.util.Date)} 一致
+     *
+     * @param epochDays epoch-day 列
+     * @param cycle     时间周期的天数
+     * @param beginDay  时间周期开始日期的 epoch-day
+     * @param parallel  是否并行计算
+     * @return 周期内的第几天列，1 表示第一天，0 表示日期小于周期开始日期
+     */
+    public static int[] dayOfCycle(long[] epochDays, int cycle, long beginDay, boolean parallel) {
+        checkColumn(epochDays);
+        if (cycle <= 0) {
+            throw new IllegalArgumentException("Cycle must be greater than 0!");
+        }
+        final int[] result = new int[epochDays.length];
+        forEachRange(epochDays.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long diff = epochDays[i] - beginDay;
+                result[i] = diff < 0 ? 0 : (int) (diff % cycle) + 1;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 计算逐行区间 [startDays[i], endDays[i]) 内的工作日（星期一至星期五）天数
+     *
+     * @param startDays 区间开始 epoch-day 列，包含
+     * @param endDays   区间结束 epoch-day 列，不包含
+     * @param parallel  是否并行计算
+     * @return 工作日天数列，结束日期早于开始日期时为负数
+     */
+    public static long[] countBusinessDays(long[] startDays, long[] endDays, boolean parallel) {
+        return countBusinessDays(startDays, endDays, null, parallel);
+    }
+
+    /**
+     * 计算逐行区间 [startDays[i], endDays[i]) 内的工作日（星期一至星期五）天数，并排除指定节假日
+     *
+     * @param startDays 区间开始 epoch-day 列，包含
+     * @param endDays   区间结束 epoch-day 列，不包含
+     * @param holidays  节假日 epoch-day 列，无需排序，落在周末的节假日会被忽略，可为 {@code null}
+     * @param parallel  是否并行计算
+     * @return 工作日天数列，结束日期早于开始日期时为负数
+     */
+    public static long[] countBusinessDays(long[] startDays, long[] endDays, long[] holidays, boolean parallel) {
+        checkColumns(startDays, endDays);
+        final long[] weekdayHolidays = weekdayHolidays(holidays);
+        final long[] result = new long[startDays.length];
+        forEachRange(startDays.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long start = startDays[i];
+                long end = endDays[i];
+                result[i] = end >= start ? countBusinessDays(start, end, weekdayHolidays) : -countBusinessDays(end, start, weekdayHolidays);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 计算区间 [startDay, endDay) 内的工作日（星期一至星期五）天数
+     *
+     * @param startDay 区间开始 epoch-day，包含
+     * @param endDay   区间结束 epoch-day，不包含
+     * @return 工作日天数，结束日期早于开始日期时为负数
+     */
+    public static long countBusinessDays(long startDay, long endDay) {
+        return endDay >= startDay ? countBusinessDays(startDay, endDay, null) : -countBusinessDays(endDay, startDay, null);
+    }
+
+    /**
+     * 计算 {@code startDay <= endDay} 的区间内的工作日天数
+     *
+     * @param holidays 已排序、去重且均为工作日的节假日，可为 {@code null}
+     */
+    private static long countBusinessDays(long startDay, long endDay, long[] holidays) {
+        long days = endDay - startDay;
+        long count = days / 7 * 5;
+        int dow = dayOfWeek(startDay);
+        for (long rest = days % 7; rest > 0; rest--) {
+            if (dow < 5) {
+                count++;
+            }
+            dow = dow == 6 ? 0 : dow + 1;
+        }
+        if (holidays != null && holidays.length > 0) {
+            count -= lowerBound(holidays, endDay) - lowerBound(holidays, startDay);
+        }
+        return count;
+    }
+
+    /**
+     * 单个 epoch-day 偏移指定月数
+     */
+    private static long plusMonths(long epochDay, int months) {
+        int ymd = toYearMonthDay(epochDay);
+        // 公元前年份的 yyyyMMdd 为负数，使用向下取整拆分
+        int year = Math.floorDiv(ymd, 10000);
+        int month = Math.floorMod(ymd, 10000) / 100;
+        int day = Math.floorMod(ymd, 100);
+        long total = year * 12L + (month - 1) + months;
+        int newYear = (int) Math.floorDiv(total, 12L);
+        int newMonth = (int) Math.floorMod(total, 12L) + 1;
+        return toEpochDay(newYear, newMonth, Math.min(day, lengthOfMonth(newYear, newMonth)));
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static void truncateToWeek(long[] src, long[] dest, DayOfWeek firstDayOfWeek, boolean parallel) {
+        final int shift = 3 - (firstDayOfWeek == null ? 0 : firstDayOfWeek.getValue() - 1);
+        forEachRange(src.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long day = src[i];
+                dest[i] = day - Math.floorMod(day + shift, 7L);
+            }
+        });
+    }
+
+    private static void truncateToMonth(long[] src, long[] dest, boolean parallel) {
+        forEachRange(src.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long day = src[i];
+                int ymd = toYearMonthDay(day);
+                dest[i] = day - (Math.floorMod(ymd, 100) - 1);
+            }
+        });
+    }
+
+    private static long[] plus(long[] column, long delta, boolean parallel) {
+        checkColumn(column);
+        final long[] result = new long[column.length];
+        forEachRange(column.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = column[i] + delta;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 过滤掉周末的节假日，并排序去重
+     */
+    private static long[] weekdayHolidays(long[] holidays) {
+        if (holidays == null || holidays.length == 0) {
+            return null;
+        }
+        long[] result = new long[holidays.length];
+        int n = 0;
+        for (long holiday : holidays) {
+            if (dayOfWeek(holiday) < 5) {
+                result[n++] = holiday;
+            }
+        }
+        Arrays.sort(result, 0, n);
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (m == 0 || result[m - 1] != result[i]) {
+                result[m++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, m);
+    }
+
+    /**
+     * 第一个不小于 {@code key} 的元素下标
+     */
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void checkColumn(long[] column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column must not be null!");
+        }
+    }
+
+    private static void checkColumns(long[] first, long[] second) {
+        checkColumn(first);
+        checkColumn(second);
+        if (first.length != second.length) {
+            throw new IllegalArgumentException(String.format("Column length mismatch: %d != %d", first.length, second.length));
+        }
+    }
+
+    /**
+     * 按区间执行任务，数组足够长且指定并行时按块拆分并行执行
+     */
+    private static void forEachRange(int length, boolean parallel, RangeTask task) {
+        if (!parallel || length < PARALLEL_THRESHOLD) {
+            task.run(0, length);
+            return;
+        }
+        final int chunk = Math.max(PARALLEL_THRESHOLD >> 2, length / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+        final int chunks = (length + chunk - 1) / chunk;
+        IntStream.range(0, chunks).parallel().forEach(c -> task.run(c * chunk, Math.min(length, (c + 1) * chunk)));
+    }
+
+    /**
+     * 区间任务
+     */
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+}
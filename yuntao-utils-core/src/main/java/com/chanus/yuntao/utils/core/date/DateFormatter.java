@@ -17,9 +17,15 @@ package com.chanus.yuntao.utils.core.date;
 
 import com.chanus.yuntao.utils.core.ObjectUtils;
 
+import java.text.SimpleDateFormat;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 日期时间格式化对象，适用于 {@link java.time.LocalDate}、{@link java.time.LocalTime}、{@link java.time.LocalDateTime}
@@ -28,6 +34,23 @@ import java.util.Locale;
  * @since 1.8.0
  */
 public class DateFormatter {
+    /**
+     * {@link DateTimeFormatter} 缓存的最大容量
+     */
+    private static final int MAX_FORMATTER_CACHE_SIZE = 256;
+    /**
+     * 每个线程 {@link SimpleDateFormat} 缓存的最大容量
+     */
+    private static final int MAX_DATE_FORMAT_CACHE_SIZE = 64;
+    /**
+     * {@link DateTimeFormatter} 缓存，{@link DateTimeFormatter} 不可变且线程安全，所有线程共享
+     */
+    private static final Map<FormatterKey, DateTimeFormatter> FORMATTER_CACHE = new ConcurrentHashMap<>();
+    /**
+     * {@link SimpleDateFormat} 缓存，{@link SimpleDateFormat} 非线程安全，每个线程各持有一份
+     */
+    private static final ThreadLocal<Map<FormatterKey, SimpleDateFormat>> DATE_FORMAT_CACHE = ThreadLocal.withInitial(HashMap::new);
+
     private DateFormatter() {
         throw new IllegalStateException("Utility class");
     }
@@ -192,4 +215,154 @@ public class DateFormatter {
         return DateTimeFormatter.ofPattern(pattern, ObjectUtils.defaultIfNull(locale, Locale.getDefault()))
                 .withZone(ObjectUtils.defaultIfNull(zoneId, ZoneId.systemDefault()));
     }
+
+    /**
+     * 从缓存中获取 {@link DateTimeFormatter} 对象，使用系统默认时区和位置信息，缓存中不存在时创建并放入缓存
+     *
+     * @param pattern 日期格式
+     * @return {@link DateTimeFormatter}
+     * @since 1.8.0
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String pattern) {
+        return getDateTimeFormatter(pattern, null, null);
+    }
+
+    /**
+     * 从缓存中获取 {@link DateTimeFormatter} 对象，使用系统默认时区，缓存中不存在时创建并放入缓存
+     *
+     * @param pattern 日期格式
+     * @param locale  地区，若为 {@code null} 则使用默认地区
+     * @return {@link DateTimeFormatter}
+     * @since 1.8.0
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale) {
+        return getDateTimeFormatter(pattern, locale, null);
+    }
+
+    /**
+     * 从缓存中获取 {@link DateTimeFormatter} 对象，缓存中不存在时创建并放入缓存。
+     * 缓存以 (日期格式, 地区, 时区) 为键，超过容量时清空后重新缓存，避免动态拼接的日期格式导致缓存无限增长
+     *
+     * @param pattern 日期格式
+     * @param locale  地区，若为 {@code null} 则使用默认地区
+     * @param zoneId  时区，若为 {@code null} 则使用默认时区
+     * @return {@link DateTimeFormatter}
+     * @since 1.8.0
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale, ZoneId zoneId) {
+        Objects.requireNonNull(pattern, "pattern");
+        Locale l = ObjectUtils.defaultIfNull(locale, Locale.getDefault());
+        ZoneId z = ObjectUtils.defaultIfNull(zoneId, ZoneId.systemDefault());
+        FormatterKey key = new FormatterKey(pattern, l, z);
+        DateTimeFormatter formatter = FORMATTER_CACHE.get(key);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern, l).withZone(z);
+            if (FORMATTER_CACHE.size() >= MAX_FORMATTER_CACHE_SIZE) {
+                FORMATTER_CACHE.clear();
+            }
+            DateTimeFormatter existing = FORMATTER_CACHE.putIfAbsent(key, formatter);
+            if (existing != null) {
+                formatter = existing;
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link SimpleDateFormat} 对象，使用系统默认时区和位置信息
+     *
+     * @param pattern 日期格式
+     * @return {@link SimpleDateFormat}
+     * @see DateFormatter#getDateFormat(String, Locale, TimeZone)
+     * @since 1.8.0
+     */
+    public static SimpleDateFormat getDateFormat(String pattern) {
+        return getDateFormat(pattern, null, null);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link SimpleDateFormat} 对象，使用系统默认时区
+     *
+     * @param pattern 日期格式
+     * @param locale  地区，若为 {@code null} 则使用默认地区
+     * @return {@link SimpleDateFormat}
+     * @see DateFormatter#getDateFormat(String, Locale, TimeZone)
+     * @since 1.8.0
+     */
+    public static SimpleDateFormat getDateFormat(String pattern, Locale locale) {
+        return getDateFormat(pattern, locale, null);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link SimpleDateFormat} 对象，缓存中不存在时创建并放入缓存。
+     * 返回的对象仅供当前线程立即使用，不能传递给其他线程，也不能修改其时区、格式等属性，需要定制时请使用 {@link DateUtils#createDateFormat(String, Locale)}
+     *
+     * @param pattern  日期格式
+     * @param locale   地区，若为 {@code null} 则使用默认地区
+     * @param timeZone 时区，若为 {@code null} 则使用默认时区
+     * @return {@link SimpleDateFormat}
+     * @since 1.8.0
+     */
+    public static SimpleDateFormat getDateFormat(String pattern, Locale locale, TimeZone timeZone) {
+        Objects.requireNonNull(pattern, "pattern");
+        // 与 new SimpleDateFormat(pattern) 一致，默认使用 FORMAT 类别的地区
+        Locale l = ObjectUtils.defaultIfNull(locale, Locale.getDefault(Locale.Category.FORMAT));
+        TimeZone tz = ObjectUtils.defaultIfNull(timeZone, TimeZone.getDefault());
+        FormatterKey key = new FormatterKey(pattern, l, tz.getID());
+        Map<FormatterKey, SimpleDateFormat> cache = DATE_FORMAT_CACHE.get();
+        SimpleDateFormat format = cache.get(key);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern, l);
+            format.setTimeZone(tz);
+            if (cache.size() >= MAX_DATE_FORMAT_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(key, format);
+        }
+        return format;
+    }
+
+    /**
+     * 清空 {@link DateTimeFormatter} 缓存及当前线程的 {@link SimpleDateFormat} 缓存
+     *
+     * @since 1.8.0
+     */
+    public static void clearCache() {
+        FORMATTER_CACHE.clear();
+        DATE_FORMAT_CACHE.remove();
+    }
+
+    /**
+     * 格式化对象缓存的键
+     */
+    private static final class FormatterKey {
+        private final String pattern;
+        private final Locale locale;
+        private final Object zone;
+        private final int hash;
+
+        private FormatterKey(String pattern, Locale locale, Object zone) {
+            this.pattern = pattern;
+            this.locale = locale;
+            this.zone = zone;
+            this.hash = (pattern.hashCode() * 31 + locale.hashCode()) * 31 + zone.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FormatterKey)) {
+                return false;
+            }
+            FormatterKey that = (FormatterKey) o;
+            return hash == that.hash && pattern.equals(that.pattern) && locale.equals(that.locale) && zone.equals(that.zone);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 时间区间索引
+ * <p>
+ * 基于以区间开始时间为键、并记录子树最大结束时间的区间树（树堆实现），
+ * 用于在大量时间区间中查找包含某一时刻的区间（与 {@link DateUtils#between(Date, Date, Date)} 一致，两端均包含）
+ * 或与某一时间段重叠的区间。插入、删除的期望时间复杂度为 O(log n)，查询为 O(log n + k)，k 为命中的区间数量。
+ * </p>
+ * 该类非线程安全
+ *
+ * @param <V> 区间关联值的类型
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class DateIntervalIndex<V> {
+    /**
+     * 开始时间、结束时间、插入序号的排序规则
+     */
+    private static final Comparator<Node<?>> NODE_ORDER = (a, b) -> compare(a, b.interval.start, b.interval.end, b.seq);
+
+    /**
+     * 根节点
+     */
+    private Node<V> root;
+    /**
+     * 区间数量
+     */
+    private int size;
+    /**
+     * 插入序号，用于区分开始时间和结束时间都相同的区间
+     */
+    private long sequence;
+
+    /**
+     * 添加区间
+     *
+     * @param start 开始时间，毫秒时间戳，包含
+     * @param end   结束时间，毫秒时间戳，包含
+     * @param value 区间关联的值
+     * @return 添加的区间
+     */
+    public Interval<V> add(long start, long end, V value) {
+        Interval<V> interval = new Interval<>(start, end, value);
+        add(interval);
+        return interval;
+    }
+
+    /**
+     * 添加区间
+     *
+     * @param start 开始时间，包含
+     * @param end   结束时间，包含
+     * @param value 区间关联的值
+     * @return 添加的区间
+     */
+    public Interval<V> add(Date start, Date end, V value) {
+        return add(start.getTime(), end.getTime(), value);
+    }
+
+    /**
+     * 添加区间
+     *
+     * @param interval 区间
+     */
+    public void add(Interval<V> interval) {
+        Objects.requireNonNull(interval, "interval");
+        root = insert(root, new Node<>(interval, sequence++, ThreadLocalRandom.current().nextInt()));
+        size++;
+    }
+
+    /**
+     * 批量添加区间，排序后一次性重建索引，比逐个添加更快
+     *
+     * @param intervals 区间集合
+     */
+    public void addAll(Collection<? extends Interval<V>> intervals) {
+        if (intervals == null || intervals.isEmpty()) {
+            return;
+        }
+
+        List<Node<V>> nodes = new ArrayList<>(size + intervals.size());
+        collect(root, nodes);
+        for (Interval<V> interval : intervals) {
+            Objects.requireNonNull(interval, "interval");
+            nodes.add(new Node<>(interval, sequence++, 0));
+        }
+        nodes.sort(NODE_ORDER);
+        root = build(nodes);
+        size = nodes.size();
+    }
+
+    /**
+     * 删除一个开始时间、结束时间和关联值均相同的区间
+     *
+     * @param start 开始时间，毫秒时间戳
+     * @param end   结束时间，毫秒时间戳
+     * @param value 区间关联的值
+     * @return {@code true} 删除成功；{@code false} 不存在该区间
+     */
+    public boolean remove(long start, long end, V value) {
+        Node<V> node = find(root, start, end, value);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        size--;
+        return true;
+    }
+
+    /**
+     * 删除区间
+     *
+     * @param interval 区间
+     * @return {@code true} 删除成功；{@code false} 不存在该区间
+     */
+    public boolean remove(Interval<V> interval) {
+        return interval != null && remove(interval.start, interval.end, interval.value);
+    }
+
+    /**
+     * 判断是否存在包含指定时刻的区间
+     *
+     * @param point 时刻，毫秒时间戳
+     * @return {@code true} 存在；{@code false} 不存在
+     */
+    public boolean contains(long point) {
+        Node<V> node = root;
+        while (node != null) {
+            if (node.interval.contains(point)) {
+                return true;
+            }
+            // 左子树最大结束时间不早于该时刻时，若左子树不命中，右子树的开始时间更晚，同样不会命中
+            node = node.left != null && node.left.maxEnd >= point ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * 判断是否存在包含指定时刻的区间
+     *
+     * @param date 时刻
+     * @return {@code true} 存在；{@code false} 不存在
+     */
+    public boolean contains(Date date) {
+        return contains(date.getTime());
+    }
+
+    /**
+     * 查找包含指定时刻的所有区间，按开始时间升序
+     *
+     * @param point 时刻，毫秒时间戳
+     * @return 包含该时刻的区间
+     */
+    public List<Interval<V>> stab(long point) {
+        List<Interval<V>> result = new ArrayList<>();
+        overlap(root, point, point, result::add);
+        return result;
+    }
+
+    /**
+     * 查找包含指定时刻的所有区间，按开始时间升序
+     *
+     * @param date 时刻
+     * @return 包含该时刻的区间
+     */
+    public List<Interval<V>> stab(Date date) {
+        return stab(date.getTime());
+    }
+
+    /**
+     * 查找与指定时间段重叠的所有区间，按开始时间升序
+     *
+     * @param start 时间段开始时间，毫秒时间戳，包含
+     * @param end   时间段结束时间，毫秒时间戳，包含
+     * @return 与该时间段重叠的区间
+     */
+    public List<Interval<V>> overlapping(long start, long end) {
+        List<Interval<V>> result = new ArrayList<>();
+        overlap(root, start, end, result::add);
+        return result;
+    }
+
+    /**
+     * 查找与指定时间段重叠的所有区间，按开始时间升序
+     *
+     * @param start 时间段开始时间，包含
+     * @param end   时间段结束时间，包含
+     * @return 与该时间段重叠的区间
+     */
+    public List<Interval<V>> overlapping(Date start, Date end) {
+        return overlapping(start.getTime(), end.getTime());
+    }
+
+    /**
+     * 遍历与指定时间段重叠的所有区间，按开始时间升序，不创建结果集合
+     *
+     * @param start    时间段开始时间，毫秒时间戳，包含
+     * @param end      时间段结束时间，毫秒时间戳，包含
+     * @param consumer 区间处理函数
+     */
+    public void forEachOverlapping(long start, long end, Consumer<? super Interval<V>> consumer) {
+        overlap(root, start, end, consumer);
+    }
+
+    /**
+     * 按开始时间升序获取所有区间
+     *
+     * @return 所有区间
+     */
+    public List<Interval<V>> toList() {
+        List<Node<V>> nodes = new ArrayList<>(size);
+        collect(root, nodes);
+        List<Interval<V>> result = new ArrayList<>(size);
+        for (Node<V> node : nodes) {
+            result.add(node.interval);
+        }
+        return result;
+    }
+
+    /**
+     * 区间数量
+     *
+     * @return 区间数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return {@code true} 为空；{@code false} 不为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private static <V> void overlap(Node<V> node, long start, long end, Consumer<? super Interval<V>> consumer) {
+        while (node != null && node.maxEnd >= start) {
+            overlap(node.left, start, end, consumer);
+            if (node.interval.start > end) {
+                return;
+            }
+            if (node.interval.end >= start) {
+                consumer.accept(node.interval);
+            }
+            node = node.right;
+        }
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (NODE_ORDER.compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <V> Node<V> delete(Node<V> node, Node<V> target) {
+        if (node == null) {
+            return null;
+        }
+        if (node != target) {
+            if (NODE_ORDER.compare(target, node) < 0) {
+                node.left = delete(node.left, target);
+            } else {
+                node.right = delete(node.right, target);
+            }
+            node.update();
+            return node;
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, target);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, target);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * 在开始时间和结束时间相同的节点中查找关联值相同的节点
+     */
+    private static <V> Node<V> find(Node<V> node, long start, long end, V value) {
+        while (node != null) {
+            int c = compare(node, start, end, Long.MIN_VALUE);
+            if (c == 0 || node.interval.start == start && node.interval.end == end) {
+                // 相同区间可能分布在左右子树
+                if (Objects.equals(node.interval.value, value)) {
+                    return node;
+                }
+                Node<V> found = find(node.left, start, end, value);
+                return found != null ? found : find(node.right, start, end, value);
+            }
+            node = c > 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * 由已排序的节点构建笛卡尔树，优先级随机，期望高度为 O(log n)
+     */
+    private static <V> Node<V> build(List<Node<V>> nodes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Node<V>> stack = new ArrayList<>();
+        for (Node<V> node : nodes) {
+            node.priority = random.nextInt();
+            node.left = null;
+            node.right = null;
+            Node<V> last = null;
+            while (!stack.isEmpty() && stack.get(stack.size() - 1).priority < node.priority) {
+                last = stack.remove(stack.size() - 1);
+                last.update();
+            }
+            node.left = last;
+            if (!stack.isEmpty()) {
+                stack.get(stack.size() - 1).right = node;
+            }
+            stack.add(node);
+        }
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            stack.get(i).update();
+        }
+        return stack.isEmpty() ? null : stack.get(0);
+    }
+
+    private static <V> void collect(Node<V> node, List<Node<V>> nodes) {
+        while (node != null) {
+            collect(node.left, nodes);
+            nodes.add(node);
+            node = node.right;
+        }
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(Node<?> node, long start, long end, long seq) {
+        int c = Long.compare(node.interval.start, start);
+        if (c == 0) {
+            c = Long.compare(node.interval.end, end);
+        }
+        return c != 0 ? c : Long.compare(node.seq, seq);
+    }
+
+    /**
+     * 时间区间，两端均包含
+     *
+     * @param <V> 关联值的类型
+     */
+    public static final class Interval<V> {
+        private final long start;
+        private final long end;
+        private final V value;
+
+        /**
+         * 构造
+         *
+         * @param start 开始时间，毫秒时间戳，包含
+         * @param end   结束时间，毫秒时间戳，包含，不能早于开始时间
+         * @param value 关联的值
+         */
+        public Interval(long start, long end, V value) {
+            if (end < start) {
+                throw new IllegalArgumentException(String.format("End [%d] must not be before start [%d]!", end, start));
+            }
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * 判断区间是否包含指定时刻
+         *
+         * @param point 时刻，毫秒时间戳
+         * @return {@code true} 包含；{@code false} 不包含
+         */
+        public boolean contains(long point) {
+            return start <= point && point <= end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Interval)) {
+                return false;
+            }
+            Interval<?> that = (Interval<?>) o;
+            return start == that.start && end == that.end && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, value);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + "]=" + value;
+        }
+    }
+
+    /**
+     * 树节点
+     */
+    private static final class Node<V> {
+        private final Interval<V> interval;
+        private final long seq;
+        private int priority;
+        private long maxEnd;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(Interval<V> interval, long seq, int priority) {
+            this.interval = interval;
+            this.seq = seq;
+            this.priority = priority;
+            this.maxEnd = interval.end;
+        }
+
+        private void update() {
+            long max = interval.end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
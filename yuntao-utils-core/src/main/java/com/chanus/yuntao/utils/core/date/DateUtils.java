@@ -20,6 +20,7 @@ import com.chanus.yuntao.utils.core.StringUtils;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -40,6 +41,14 @@ public class DateUtils {
      * 每日结束时刻 23:59:59
      */
     private static final String END_TIME = " 23:59:59";
+    /**
+     * 公历（格里高利历）启用时刻 1582-10-15 00:00:00 UTC 的时间戳，{@link SimpleDateFormat} 对此前的时间使用儒略历
+     */
+    private static final long GREGORIAN_CUTOVER_MILLIS = -12219292800000L;
+    /**
+     * 最近一次使用的 yyyy-MM-dd HH:mm:ss 格式化器，系统默认时区变化后重新获取
+     */
+    private static volatile FastDateFormatter dateTimeFormatter;
 
     private DateUtils() {
         throw new IllegalStateException("Utility class");
@@ -86,7 +95,7 @@ public class DateUtils {
      * @return 格式化后的时间字符串，若 {@code date} 或 {@code pattern} 为空，则返回 null
      */
     public static String format(Date date, String pattern) {
-        return (date == null || StringUtils.isBlank(pattern)) ? null : createDateFormat(pattern).format(date);
+        return (date == null || StringUtils.isBlank(pattern)) ? null : DateFormatter.getDateFormat(pattern).format(date);
     }
 
     /**
@@ -99,7 +108,7 @@ public class DateUtils {
      * @since 1.8.0
      */
     public static String format(Date date, String pattern, Locale locale) {
-        return (date == null || StringUtils.isBlank(pattern)) ? null : createDateFormat(pattern, locale).format(date);
+        return (date == null || StringUtils.isBlank(pattern)) ? null : DateFormatter.getDateFormat(pattern, locale).format(date);
     }
 
     /**
@@ -107,10 +116,26 @@ public class DateUtils {
      *
      * @param date 时间对象
      * @return yyyy-MM-dd HH:mm:ss 格式的字符串，若 {@code date} 为空，则返回 null
-     * @see DateUtils#format(Date, String)
+     * @see FastDateFormatter
      */
     public static String formatDateTime(Date date) {
-        return format(date, DatePattern.NORMAL_DATETIME_PATTERN);
+        if (date == null || date.getTime() < GREGORIAN_CUTOVER_MILLIS) {
+            return format(date, DatePattern.NORMAL_DATETIME_PATTERN);
+        }
+        return dateTimeFormatter().format(date.getTime());
+    }
+
+    /**
+     * 获取当前默认时区的 yyyy-MM-dd HH:mm:ss 格式化器，默认时区未变化时直接复用上一次的格式化器
+     */
+    private static FastDateFormatter dateTimeFormatter() {
+        ZoneId zone = ZoneId.systemDefault();
+        FastDateFormatter formatter = dateTimeFormatter;
+        if (formatter == null || !formatter.getZone().equals(zone)) {
+            formatter = FastDateFormatter.getInstance(DatePattern.NORMAL_DATETIME_PATTERN, zone);
+            dateTimeFormatter = formatter;
+        }
+        return formatter;
     }
 
     /**
@@ -168,7 +193,7 @@ public class DateUtils {
         }
 
         try {
-            return createDateFormat(pattern).parse(dateStr);
+            return DateFormatter.getDateFormat(pattern).parse(dateStr);
         } catch (ParseException e) {
             throw new RuntimeException("Invalid date format", e);
         }
@@ -189,7 +214,7 @@ public class DateUtils {
         }
 
         try {
-            return createDateFormat(pattern, locale).parse(dateStr);
+            return DateFormatter.getDateFormat(pattern, locale).parse(dateStr);
         } catch (ParseException e) {
             throw new RuntimeException("Invalid date format", e);
         }
@@ -203,7 +228,16 @@ public class DateUtils {
      * @see DateUtils#parse(String, String)
      */
     public static Date parseDateTime(String dateStr) {
-        return parse(dateStr, DatePattern.NORMAL_DATETIME_PATTERN);
+        if (StringUtils.isBlank(dateStr)) {
+            return null;
+        }
+
+        long millis = FastDateParser.getInstance(DatePattern.NORMAL_DATETIME_PATTERN).tryParseMillis(dateStr, 0, dateStr.length());
+        // 非标准格式的文本及公历启用前的时间仍交由 SimpleDateFormat 宽松解析
+        if (millis == FastDateParser.INVALID || millis < GREGORIAN_CUTOVER_MILLIS) {
+            return parse(dateStr, DatePattern.NORMAL_DATETIME_PATTERN);
+        }
+        return new Date(millis);
     }
 
     /**
@@ -232,20 +266,20 @@ public class DateUtils {
      * 获取当前时间的 yyyy-MM-dd HH:mm:ss 格式字符串
      *
      * @return 当前时间的 yyyy-MM-dd HH:mm:ss 格式字符串
-     * @see DateUtils#formatDateTime(Date)
+     * @see CachedClock#nowDateTime()
      */
     public static String nowDateTime() {
-        return formatDateTime(new Date());
+        return CachedClock.getInstance().nowDateTime();
     }
 
     /**
      * 获取当前时间的 yyyy-MM-dd 格式字符串
      *
      * @return 当前时间的 yyyy-MM-dd 格式字符串
-     * @see DateUtils#formatDate(Date)
+     * @see CachedClock#nowDate()
      */
     public static String nowDate() {
-        return formatDate(new Date());
+        return CachedClock.getInstance().nowDate();
     }
 
     /**
@@ -556,6 +590,12 @@ public class DateUtils {
      * @return {@code sourceDate} 和 {@code targetDate} 相差的天数
      */
     public static int diffDays(Date sourceDate, Date targetDate) {
+        if (sourceDate.getTime() >= GREGORIAN_CUTOVER_MILLIS && targetDate.getTime() >= GREGORIAN_CUTOVER_MILLIS) {
+            ZoneId zoneId = TimeZone.getDefault().toZoneId();
+            return (int) (DateColumns.toEpochDay(targetDate.getTime(), zoneId) - DateColumns.toEpochDay(sourceDate.getTime(), zoneId));
+        }
+
+        // 儒略历日期逐天累加
         Calendar sourceCalendar = Calendar.getInstance();
         Calendar targetCalendar = Calendar.getInstance();
         sourceCalendar.setTime(sourceDate);
@@ -659,7 +699,7 @@ public class DateUtils {
      * @return 比较结果
      */
     public static int compare(String sourceDateStr, String targetDateStr, String pattern) {
-        SimpleDateFormat sdf = createDateFormat(pattern);
+        SimpleDateFormat sdf = DateFormatter.getDateFormat(pattern);
         try {
             return compare(sdf.parse(sourceDateStr), sdf.parse(targetDateStr));
         } catch (Exception e) {
@@ -695,7 +735,7 @@ public class DateUtils {
     }
 
     /**
-     * 将当前时区的时间转换成指定时区的时间
+     * 将当前时区的时间转换成指定时区的时间，按两个时区的标准偏移（{@link TimeZone#getRawOffset()}）之差平移时间，不包含夏令时偏移
      *
      * @param date           时间
      * @param sourceTimeZone 时间时区
@@ -0,0 +1,648 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 定长日期时间格式的快速格式化器，直接将毫秒时间戳格式化为字符写入调用方提供的 {@code char[]}、{@code byte[]}、
+ * {@link StringBuilder} 或 {@link ByteBuffer} 中
+ * <p>
+ * 仅支持由以下元素组成的格式，如 {@link DatePattern#NORMAL_DATETIME_PATTERN}、{@link DatePattern#PURE_DATETIME_PATTERN}、
+ * {@link DatePattern#NORMAL_DATETIME_MILLIS_PATTERN} 及 UTC 系列格式：<br>
+ * yyyy/uuuu（年）、MM（月）、dd（日）、HH（时）、mm（分）、ss（秒）、SSS（毫秒）、Z（+0800 形式的时区偏移量）、
+ * XXX（+08:00 形式的时区偏移量，零偏移输出 Z），以及 ASCII 字符和单引号括起的 ASCII 字面量。
+ * </p>
+ * <p>
+ * 格式化器会缓存当天除时分秒毫秒外的全部输出（日期前缀及时区偏移量），同一天内的格式化只需复制缓存并写入时间数字，
+ * 格式化过程不创建任何对象；跨天、跨越夏令时切换点或年份超出 1~9999 时才重新计算，超出范围的时间使用
+ * {@link DateTimeFormatter} 格式化。
+ * </p>
+ * 该类不可变（缓存除外）且线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FastDateFormatter {
+    /**
+     * 每天的毫秒数
+     */
+    private static final long MILLIS_PER_DAY = 86400000L;
+    /**
+     * 格式化器缓存的最大容量
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+    /**
+     * 格式化器缓存，键为格式与时区
+     */
+    private static final Map<String, FastDateFormatter> CACHE = new ConcurrentHashMap<>();
+    /**
+     * 格式化为字符串时使用的线程缓冲区
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+    /**
+     * 写入非堆 {@link ByteBuffer} 时使用的线程缓冲区
+     */
+    private static final ThreadLocal<byte[]> BYTE_BUFFER = ThreadLocal.withInitial(() -> new byte[64]);
+
+    /*
+     * 格式元素，非负值表示字面量字符
+     */
+    static final int YEAR = -1;
+    static final int MONTH = -2;
+    static final int DAY = -3;
+    static final int HOUR = -4;
+    static final int MINUTE = -5;
+    static final int SECOND = -6;
+    static final int MILLI = -7;
+    static final int OFFSET = -8;
+    static final int OFFSET_COLON = -9;
+
+    /**
+     * 日期时间格式
+     */
+    private final String pattern;
+    /**
+     * 时区
+     */
+    private final ZoneId zone;
+    /**
+     * 编译后的格式元素
+     */
+    private final int[] elements;
+    /**
+     * 时分秒毫秒元素，按出现顺序排列
+     */
+    private final int[] timeElements;
+    /**
+     * 格式化结果的最大长度
+     */
+    private final int maxLength;
+    /**
+     * 超出快速格式化范围时使用的格式化器
+     */
+    private final DateTimeFormatter fallback;
+    /**
+     * 当天的缓存
+     */
+    private volatile DayCache dayCache;
+
+    private FastDateFormatter(String pattern, ZoneId zone, int[] elements) {
+        this.pattern = pattern;
+        this.zone = zone;
+        this.elements = elements;
+        int length = 0;
+        int timeCount = 0;
+        for (int element : elements) {
+            length += width(element);
+            if (element <= HOUR && element >= MILLI) {
+                timeCount++;
+            }
+        }
+        this.maxLength = length;
+        this.timeElements = new int[timeCount];
+        for (int i = 0, j = 0; i < elements.length; i++) {
+            if (elements[i] <= HOUR && elements[i] >= MILLI) {
+                timeElements[j++] = elements[i];
+            }
+        }
+        this.fallback = DateTimeFormatter.ofPattern(pattern, Locale.ROOT).withZone(zone);
+        this.dayCache = new DayCache(0, 0, 0, new char[0], new byte[0], new int[0]);
+    }
+
+    /**
+     * 获取使用系统默认时区的格式化器
+     *
+     * @param pattern 日期时间格式
+     * @return {@link FastDateFormatter}
+     * @throws IllegalArgumentException 格式不支持快速格式化
+     * @see FastDateFormatter#isSupported(String)
+     */
+    public static FastDateFormatter getInstance(String pattern) {
+        return getInstance(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * 获取指定时区的格式化器，相同格式和时区的格式化器会被缓存复用
+     *
+     * @param pattern 日期时间格式
+     * @param zoneId  时区，若为 {@code null} 则使用默认时区
+     * @return {@link FastDateFormatter}
+     * @throws IllegalArgumentException 格式不支持快速格式化
+     * @see FastDateFormatter#isSupported(String)
+     */
+    public static FastDateFormatter getInstance(String pattern, ZoneId zoneId) {
+        Objects.requireNonNull(pattern, "pattern");
+        ZoneId zone = zoneId == null ? ZoneId.systemDefault() : zoneId;
+        String key = pattern + '|' + zone.getId();
+        FastDateFormatter formatter = CACHE.get(key);
+        if (formatter == null) {
+            int[] elements = compile(pattern, false);
+            if (elements == null) {
+                throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+            }
+            formatter = new FastDateFormatter(pattern, zone, elements);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            FastDateFormatter existing = CACHE.putIfAbsent(key, formatter);
+            if (existing != null) {
+                formatter = existing;
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * 判断格式是否支持快速格式化
+     *
+     * @param pattern 日期时间格式
+     * @return {@code true} 支持；{@code false} 不支持
+     */
+    public static boolean isSupported(String pattern) {
+        return pattern != null && compile(pattern, false) != null;
+    }
+
+    /**
+     * 获取日期时间格式
+     *
+     * @return 日期时间格式
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 获取时区
+     *
+     * @return 时区
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 获取年份在 1~9999 内时格式化结果的最大长度，可用于预先分配缓冲区
+     *
+     * @return 格式化结果的最大长度
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 格式化毫秒时间戳
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 格式化后的字符串
+     */
+    public String format(long epochMillis) {
+        DayCache cache = lookup(epochMillis);
+        if (cache == null) {
+            return fallback.format(Instant.ofEpochMilli(epochMillis));
+        }
+        char[] buffer = charBuffer(cache.template.length);
+        return new String(buffer, 0, write(epochMillis, cache, buffer, 0));
+    }
+
+    /**
+     * 格式化毫秒时间戳，追加到 {@link StringBuilder} 中
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param sb          {@link StringBuilder}
+     * @return {@code sb}
+     */
+    public StringBuilder format(long epochMillis, StringBuilder sb) {
+        DayCache cache = lookup(epochMillis);
+        if (cache == null) {
+            return sb.append(fallback.format(Instant.ofEpochMilli(epochMillis)));
+        }
+        char[] buffer = charBuffer(cache.template.length);
+        return sb.append(buffer, 0, write(epochMillis, cache, buffer, 0));
+    }
+
+    /**
+     * 格式化毫秒时间戳，写入字符数组
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dst         目标字符数组，剩余空间不小于 {@link #getMaxLength()}
+     * @param offset      写入的起始位置
+     * @return 写入的字符数
+     * @throws IndexOutOfBoundsException 目标数组空间不足
+     */
+    public int format(long epochMillis, char[] dst, int offset) {
+        DayCache cache = lookup(epochMillis);
+        if (cache == null) {
+            String s = fallback.format(Instant.ofEpochMilli(epochMillis));
+            s.getChars(0, s.length(), dst, offset);
+            return s.length();
+        }
+        return write(epochMillis, cache, dst, offset);
+    }
+
+    /**
+     * 格式化毫秒时间戳，以 ASCII 编码写入字节数组
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dst         目标字节数组，剩余空间不小于 {@link #getMaxLength()}
+     * @param offset      写入的起始位置
+     * @return 写入的字节数
+     * @throws IndexOutOfBoundsException 目标数组空间不足
+     */
+    public int format(long epochMillis, byte[] dst, int offset) {
+        DayCache cache = lookup(epochMillis);
+        if (cache == null) {
+            byte[] bytes = fallback.format(Instant.ofEpochMilli(epochMillis)).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(bytes, 0, dst, offset, bytes.length);
+            return bytes.length;
+        }
+        return write(epochMillis, cache, dst, offset);
+    }
+
+    /**
+     * 格式化毫秒时间戳，以 ASCII 编码写入 {@link ByteBuffer} 的当前位置，写入后 {@code dst} 的 position 后移
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dst         目标缓冲区
+     * @return {@code dst}
+     * @throws BufferOverflowException 目标缓冲区剩余空间不足
+     */
+    public ByteBuffer format(long epochMillis, ByteBuffer dst) {
+        DayCache cache = lookup(epochMillis);
+        if (cache == null) {
+            return dst.put(fallback.format(Instant.ofEpochMilli(epochMillis)).getBytes(StandardCharsets.US_ASCII));
+        }
+        int length = cache.bytes.length;
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (dst.hasArray()) {
+            write(epochMillis, cache, dst.array(), dst.arrayOffset() + dst.position());
+            dst.position(dst.position() + length);
+            return dst;
+        }
+        byte[] buffer = BYTE_BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[length];
+            BYTE_BUFFER.set(buffer);
+        }
+        return dst.put(buffer, 0, write(epochMillis, cache, buffer, 0));
+    }
+
+    /**
+     * 将时间写入字符数组
+     */
+    private int write(long epochMillis, DayCache cache, char[] dst, int offset) {
+        char[] template = cache.template;
+        System.arraycopy(template, 0, dst, offset, template.length);
+        int millisOfDay = (int) (epochMillis - cache.midnight);
+        for (int i = 0; i < timeElements.length; i++) {
+            int pos = offset + cache.timePositions[i];
+            switch (timeElements[i]) {
+                case HOUR:
+                    int hour = millisOfDay / 3600000;
+                    dst[pos] = (char) ('0' + hour / 10);
+                    dst[pos + 1] = (char) ('0' + hour % 10);
+                    break;
+                case MINUTE:
+                    int minute = millisOfDay / 60000 % 60;
+                    dst[pos] = (char) ('0' + minute / 10);
+                    dst[pos + 1] = (char) ('0' + minute % 10);
+                    break;
+                case SECOND:
+                    int second = millisOfDay / 1000 % 60;
+                    dst[pos] = (char) ('0' + second / 10);
+                    dst[pos + 1] = (char) ('0' + second % 10);
+                    break;
+                default:
+                    int milli = millisOfDay % 1000;
+                    dst[pos] = (char) ('0' + milli / 100);
+                    dst[pos + 1] = (char) ('0' + milli / 10 % 10);
+                    dst[pos + 2] = (char) ('0' + milli % 10);
+                    break;
+            }
+        }
+        return template.length;
+    }
+
+    /**
+     * 将时间以 ASCII 编码写入字节数组
+     */
+    private int write(long epochMillis, DayCache cache, byte[] dst, int offset) {
+        byte[] template = cache.bytes;
+        System.arraycopy(template, 0, dst, offset, template.length);
+        int millisOfDay = (int) (epochMillis - cache.midnight);
+        for (int i = 0; i < timeElements.length; i++) {
+            int pos = offset + cache.timePositions[i];
+            switch (timeElements[i]) {
+                case HOUR:
+                    int hour = millisOfDay / 3600000;
+                    dst[pos] = (byte) ('0' + hour / 10);
+                    dst[pos + 1] = (byte) ('0' + hour % 10);
+                    break;
+                case MINUTE:
+                    int minute = millisOfDay / 60000 % 60;
+                    dst[pos] = (byte) ('0' + minute / 10);
+                    dst[pos + 1] = (byte) ('0' + minute % 10);
+                    break;
+                case SECOND:
+                    int second = millisOfDay / 1000 % 60;
+                    dst[pos] = (byte) ('0' + second / 10);
+                    dst[pos + 1] = (byte) ('0' + second % 10);
+                    break;
+                default:
+                    int milli = millisOfDay % 1000;
+                    dst[pos] = (byte) ('0' + milli / 100);
+                    dst[pos + 1] = (byte) ('0' + milli / 10 % 10);
+                    dst[pos + 2] = (byte) ('0' + milli % 10);
+                    break;
+            }
+        }
+        return template.length;
+    }
+
+    private static char[] charBuffer(int length) {
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[length];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * 获取时间戳所在当天的缓存，缓存失效时重新计算
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 当天的缓存，时间超出快速格式化范围时返回 {@code null}
+     */
+    private DayCache lookup(long epochMillis) {
+        DayCache cache = dayCache;
+        if (epochMillis >= cache.start && epochMillis < cache.end) {
+            return cache;
+        }
+
+        ZoneRules rules = zone.getRules();
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        int offsetSeconds = rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        if (offsetSeconds % 60 != 0) {
+            return null;
+        }
+        long epochDay = Math.floorDiv(epochMillis + offsetSeconds * 1000L, MILLIS_PER_DAY);
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() < 1 || date.getYear() > 9999) {
+            return null;
+        }
+
+        // 缓存有效期为当天，且不能跨越时区偏移量的切换点
+        long midnight = epochDay * MILLIS_PER_DAY - offsetSeconds * 1000L;
+        long start = midnight;
+        long end = midnight + MILLIS_PER_DAY;
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+            if (previous != null) {
+                start = Math.max(start, previous.toEpochSecond() * 1000);
+            }
+            ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(epochSecond));
+            if (next != null) {
+                end = Math.min(end, next.toEpochSecond() * 1000);
+            }
+        }
+
+        char[] buffer = new char[maxLength];
+        int[] timePositions = new int[timeElements.length];
+        int length = 0;
+        int t = 0;
+        for (int element : elements) {
+            switch (element) {
+                case YEAR:
+                    length = writeDigits(buffer, length, date.getYear(), 4);
+                    break;
+                case MONTH:
+                    length = writeDigits(buffer, length, date.getMonthValue(), 2);
+                    break;
+                case DAY:
+                    length = writeDigits(buffer, length, date.getDayOfMonth(), 2);
+                    break;
+                case HOUR:
+                case MINUTE:
+                case SECOND:
+                case MILLI:
+                    timePositions[t++] = length;
+                    length = writeDigits(buffer, length, 0, width(element));
+                    break;
+                case OFFSET:
+                case OFFSET_COLON:
+                    length = writeOffset(buffer, length, offsetSeconds / 60, element == OFFSET_COLON);
+                    break;
+                default:
+                    buffer[length++] = (char) element;
+                    break;
+            }
+        }
+
+        char[] template = Arrays.copyOf(buffer, length);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) template[i];
+        }
+        cache = new DayCache(start, end, midnight, template, bytes, timePositions);
+        dayCache = cache;
+        return cache;
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    private static int writeOffset(char[] buffer, int pos, int offsetMinutes, boolean colon) {
+        if (offsetMinutes == 0 && colon) {
+            buffer[pos] = 'Z';
+            return pos + 1;
+        }
+        buffer[pos++] = offsetMinutes < 0 ? '-' : '+';
+        int abs = Math.abs(offsetMinutes);
+        pos = writeDigits(buffer, pos, abs / 60, 2);
+        if (colon) {
+            buffer[pos++] = ':';
+        }
+        return writeDigits(buffer, pos, abs % 60, 2);
+    }
+
+    /**
+     * 格式元素输出的最大宽度
+     */
+    static int width(int element) {
+        switch (element) {
+            case YEAR:
+                return 4;
+            case MILLI:
+                return 3;
+            case OFFSET:
+                return 5;
+            case OFFSET_COLON:
+                return 6;
+            default:
+                return element < 0 ? 2 : 1;
+        }
+    }
+
+    /**
+     * 将日期时间格式编译为格式元素
+     *
+     * @param pattern       日期时间格式
+     * @param allowNonAscii 是否允许非 ASCII 字面量
+     * @return 格式元素，格式不支持时返回 {@code null}
+     */
+    static int[] compile(String pattern, boolean allowNonAscii) {
+        int[] elements = new int[pattern.length()];
+        int count = 0;
+        int i = 0;
+        int length = pattern.length();
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // 单引号括起的字面量，两个连续的单引号表示单引号本身
+                int j = i + 1;
+                if (j < length && pattern.charAt(j) == '\'') {
+                    elements[count++] = '\'';
+                    i = j + 1;
+                    continue;
+                }
+                while (true) {
+                    if (j >= length) {
+                        return null;
+                    }
+                    char q = pattern.charAt(j);
+                    if (q == '\'') {
+                        if (j + 1 < length && pattern.charAt(j + 1) == '\'') {
+                            elements[count++] = '\'';
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (q > 127 && !allowNonAscii) {
+                        return null;
+                    }
+                    elements[count++] = q;
+                    j++;
+                }
+                i = j + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int j = i + 1;
+                while (j < length && pattern.charAt(j) == c) {
+                    j++;
+                }
+                int element = element(c, j - i);
+                if (element == 0) {
+                    return null;
+                }
+                elements[count++] = element;
+                i = j;
+            } else if ((c > 127 && !allowNonAscii) || c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                // 非 ASCII 字符或 DateTimeFormatter 的保留字符
+                return null;
+            } else {
+                elements[count++] = c;
+                i++;
+            }
+        }
+        return Arrays.copyOf(elements, count);
+    }
+
+    private static int element(char letter, int count) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return count == 4 ? YEAR : 0;
+            case 'M':
+                return count == 2 ? MONTH : 0;
+            case 'd':
+                return count == 2 ? DAY : 0;
+            case 'H':
+                return count == 2 ? HOUR : 0;
+            case 'm':
+                return count == 2 ? MINUTE : 0;
+            case 's':
+                return count == 2 ? SECOND : 0;
+            case 'S':
+                return count == 3 ? MILLI : 0;
+            case 'Z':
+                return count == 1 ? OFFSET : 0;
+            case 'X':
+                return count == 3 ? OFFSET_COLON : 0;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 一天内的格式化缓存
+     */
+    private static final class DayCache {
+        /**
+         * 缓存有效的起始时间戳（包含）
+         */
+        private final long start;
+        /**
+         * 缓存有效的结束时间戳（不包含）
+         */
+        private final long end;
+        /**
+         * 当天零点的时间戳
+         */
+        private final long midnight;
+        /**
+         * 时分秒毫秒为0的格式化结果
+         */
+        private final char[] template;
+        /**
+         * {@link #template} 的 ASCII 编码
+         */
+        private final byte[] bytes;
+        /**
+         * 时分秒毫秒元素在 {@link #template} 中的位置
+         */
+        private final int[] timePositions;
+
+        private DayCache(long start, long end, long midnight, char[] template, byte[] bytes, int[] timePositions) {
+            this.start = start;
+            this.end = end;
+            this.midnight = midnight;
+            this.template = template;
+            this.bytes = bytes;
+            this.timePositions = timePositions;
+        }
+    }
+}
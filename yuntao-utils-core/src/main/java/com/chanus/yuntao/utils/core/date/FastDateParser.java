@@ -0,0 +1,613 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 定长日期时间格式的快速解析器，直接从 {@link CharSequence} 或 {@code byte[]} 片段中读取数字，
+ * 解析为毫秒时间戳或 {@link LocalDateTime}，解析过程不创建中间对象
+ * <p>
+ * 支持的格式与 {@link FastDateFormatter} 相同，另外允许非 ASCII 字面量（如 {@link DatePattern#CHINESE_DATETIME_PATTERN}），
+ * 且必须包含年月日，缺少的时分秒毫秒按 0 处理；{@code byte[]} 按单字节字符处理，不能匹配非 ASCII 字面量。
+ * 文本与格式不完全匹配（包括日期越界）、年份为 0 或格式不支持快速解析时，使用 {@link DateTimeFormatter} 解析，
+ * 因此结果和异常与 {@link DateTimeFormatter} 一致。
+ * </p>
+ * <p>
+ * 格式不包含时区偏移量时，按解析器的时区将本地时间转换为时间戳，与 {@link java.text.SimpleDateFormat} 一致：
+ * 夏令时重叠时取较晚（标准时间）的偏移量，夏令时间隙时取切换前的偏移量。
+ * </p>
+ * 该类不可变（缓存除外）且线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FastDateParser {
+    /**
+     * {@link #tryParseMillis} 解析失败时的返回值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    /**
+     * 每天的毫秒数
+     */
+    private static final long MILLIS_PER_DAY = 86400000L;
+    /**
+     * 0000-01-01 到 1970-01-01 的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    /**
+     * 解析结果中低位存放时区偏移量的位数
+     */
+    private static final int OFFSET_BITS = 12;
+    /**
+     * 解析结果中时区偏移量（分钟）的基数，解析结果低位为 0 表示文本中不含时区偏移量
+     */
+    private static final int OFFSET_BIAS = 2048;
+    /**
+     * 解析器缓存的最大容量
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+    /**
+     * 解析器缓存，键为格式与时区
+     */
+    private static final Map<String, FastDateParser> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 日期时间格式
+     */
+    private final String pattern;
+    /**
+     * 时区
+     */
+    private final ZoneId zone;
+    /**
+     * 编译后的格式元素，格式不支持快速解析时为 {@code null}
+     */
+    private final int[] elements;
+    /**
+     * 快速解析时文本的长度下限
+     */
+    private final int minLength;
+    /**
+     * 快速解析失败或格式不支持时使用的解析器
+     */
+    private final DateTimeFormatter fallback;
+    /**
+     * 时区偏移量缓存
+     */
+    private volatile OffsetCache offsetCache;
+
+    private FastDateParser(String pattern, ZoneId zone) {
+        this.pattern = pattern;
+        this.zone = zone;
+        this.fallback = DateFormatter.getDateTimeFormatter(pattern, Locale.getDefault(), zone);
+
+        int[] compiled = FastDateFormatter.compile(pattern, true);
+        int length = 0;
+        boolean year = false;
+        boolean month = false;
+        boolean day = false;
+        if (compiled != null) {
+            for (int element : compiled) {
+                length += element == FastDateFormatter.OFFSET_COLON ? 1 : FastDateFormatter.width(element);
+                year |= element == FastDateFormatter.YEAR;
+                month |= element == FastDateFormatter.MONTH;
+                day |= element == FastDateFormatter.DAY;
+            }
+        }
+        this.elements = year && month && day ? compiled : null;
+        this.minLength = length;
+
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            this.offsetCache = new OffsetCache(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L);
+        } else {
+            this.offsetCache = new OffsetCache(0, 0, 0);
+        }
+    }
+
+    /**
+     * 获取使用系统默认时区的解析器
+     *
+     * @param pattern 日期时间格式
+     * @return {@link FastDateParser}
+     */
+    public static FastDateParser getInstance(String pattern) {
+        return getInstance(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * 获取指定时区的解析器，相同格式和时区的解析器会被缓存复用
+     *
+     * @param pattern 日期时间格式，不支持快速解析的格式使用 {@link DateTimeFormatter} 解析
+     * @param zoneId  时区，若为 {@code null} 则使用默认时区
+     * @return {@link FastDateParser}
+     */
+    public static FastDateParser getInstance(String pattern, ZoneId zoneId) {
+        Objects.requireNonNull(pattern, "pattern");
+        ZoneId zone = zoneId == null ? ZoneId.systemDefault() : zoneId;
+        String key = pattern + '|' + zone.getId();
+        FastDateParser parser = CACHE.get(key);
+        if (parser == null) {
+            parser = new FastDateParser(pattern, zone);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            FastDateParser existing = CACHE.putIfAbsent(key, parser);
+            if (existing != null) {
+                parser = existing;
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * 获取日期时间格式
+     *
+     * @return 日期时间格式
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 获取时区
+     *
+     * @return 时区
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 判断格式是否支持快速解析
+     *
+     * @return {@code true} 支持；{@code false} 不支持，始终使用 {@link DateTimeFormatter} 解析
+     */
+    public boolean isFast() {
+        return elements != null;
+    }
+
+    /**
+     * 获取编译后的格式元素
+     *
+     * @return 格式元素，格式不支持快速解析时为 {@code null}
+     */
+    int[] getElements() {
+        return elements;
+    }
+
+    /**
+     * 解析日期时间字符串为毫秒时间戳
+     *
+     * @param text 日期时间字符串
+     * @return 毫秒时间戳
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public long parseMillis(CharSequence text) {
+        return parseMillis(text, 0, text.length());
+    }
+
+    /**
+     * 解析字符序列的 [{@code start}, {@code end}) 片段为毫秒时间戳
+     *
+     * @param text  字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 毫秒时间戳
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public long parseMillis(CharSequence text, int start, int end) {
+        long parsed = parseFast(text, null, start, end);
+        return parsed == INVALID ? toEpochMillis(fallback.parse(text.subSequence(start, end))) : toEpochMillis(parsed);
+    }
+
+    /**
+     * 解析字节数组中 ASCII 编码的日期时间片段为毫秒时间戳
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 毫秒时间戳
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public long parseMillis(byte[] bytes, int offset, int length) {
+        long parsed = parseFast(null, bytes, offset, offset + length);
+        return parsed == INVALID ? toEpochMillis(fallback.parse(new String(bytes, offset, length, StandardCharsets.ISO_8859_1))) : toEpochMillis(parsed);
+    }
+
+    /**
+     * 解析字符序列的 [{@code start}, {@code end}) 片段为毫秒时间戳，解析失败时返回 {@link #INVALID}，不抛出异常。
+     * 支持快速解析的格式只接受与格式严格匹配且日期有效的文本，不再使用 {@link DateTimeFormatter} 兜底
+     *
+     * @param text  字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 毫秒时间戳，解析失败时返回 {@link #INVALID}
+     */
+    public long tryParseMillis(CharSequence text, int start, int end) {
+        long parsed = parseFast(text, null, start, end);
+        if (parsed != INVALID) {
+            return toEpochMillis(parsed);
+        }
+        if (elements != null || start < 0 || end > text.length() || start > end) {
+            return INVALID;
+        }
+        return tryFallbackMillis(text.subSequence(start, end));
+    }
+
+    /**
+     * 解析字节数组中 ASCII 编码的日期时间片段为毫秒时间戳，解析失败时返回 {@link #INVALID}，不抛出异常。
+     * 支持快速解析的格式只接受与格式严格匹配且日期有效的文本，不再使用 {@link DateTimeFormatter} 兜底
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 毫秒时间戳，解析失败时返回 {@link #INVALID}
+     */
+    public long tryParseMillis(byte[] bytes, int offset, int length) {
+        long parsed = parseFast(null, bytes, offset, offset + length);
+        if (parsed != INVALID) {
+            return toEpochMillis(parsed);
+        }
+        if (elements != null || offset < 0 || length < 0 || offset + length > bytes.length) {
+            return INVALID;
+        }
+        return tryFallbackMillis(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * 解析字符序列的 [{@code start}, {@code end}) 片段为 {@link LocalDateTime}，文本中的时区偏移量会被忽略，
+     * 解析失败时返回 {@code null}，不抛出异常。支持快速解析的格式只接受与格式严格匹配且日期有效的文本
+     *
+     * @param text  字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return {@link LocalDateTime}，解析失败时返回 {@code null}
+     */
+    public LocalDateTime tryParseLocalDateTime(CharSequence text, int start, int end) {
+        long parsed = parseFast(text, null, start, end);
+        if (parsed != INVALID) {
+            return toLocalDateTime(parsed);
+        }
+        if (elements != null || start < 0 || end > text.length() || start > end) {
+            return null;
+        }
+        TemporalAccessor temporal = tryFallback(text.subSequence(start, end));
+        try {
+            return temporal == null ? null : toLocalDateTime(temporal);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析日期时间字符串为 {@link LocalDateTime}，文本中的时区偏移量会被忽略
+     *
+     * @param text 日期时间字符串
+     * @return {@link LocalDateTime}
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        return parseLocalDateTime(text, 0, text.length());
+    }
+
+    /**
+     * 解析字符序列的 [{@code start}, {@code end}) 片段为 {@link LocalDateTime}，文本中的时区偏移量会被忽略
+     *
+     * @param text  字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return {@link LocalDateTime}
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text, int start, int end) {
+        long parsed = parseFast(text, null, start, end);
+        return parsed == INVALID ? toLocalDateTime(fallback.parse(text.subSequence(start, end))) : toLocalDateTime(parsed);
+    }
+
+    /**
+     * 解析字节数组中 ASCII 编码的日期时间片段为 {@link LocalDateTime}，文本中的时区偏移量会被忽略
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return {@link LocalDateTime}
+     * @throws DateTimeParseException 文本无法解析
+     */
+    public LocalDateTime parseLocalDateTime(byte[] bytes, int offset, int length) {
+        long parsed = parseFast(null, bytes, offset, offset + length);
+        return parsed == INVALID ? toLocalDateTime(fallback.parse(new String(bytes, offset, length, StandardCharsets.ISO_8859_1)))
+                : toLocalDateTime(parsed);
+    }
+
+    /**
+     * 按格式元素快速解析，{@code text} 与 {@code bytes} 二选一
+     *
+     * @return 本地时间毫秒数左移 {@link #OFFSET_BITS} 位，低位为时区偏移量分钟数加 {@link #OFFSET_BIAS}（无偏移量时为 0）；
+     * 解析失败时返回 {@link #INVALID}
+     */
+    private long parseFast(CharSequence text, byte[] bytes, int start, int end) {
+        int[] elements = this.elements;
+        if (elements == null || start < 0 || end - start < minLength || end > (bytes == null ? text.length() : bytes.length)) {
+            return INVALID;
+        }
+
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int milli = 0;
+        int offset = 0;
+        int pos = start;
+        for (int element : elements) {
+            int width = element == FastDateFormatter.OFFSET_COLON ? 1 : FastDateFormatter.width(element);
+            if (end - pos < width) {
+                return INVALID;
+            }
+            switch (element) {
+                case FastDateFormatter.YEAR:
+                case FastDateFormatter.MONTH:
+                case FastDateFormatter.DAY:
+                case FastDateFormatter.HOUR:
+                case FastDateFormatter.MINUTE:
+                case FastDateFormatter.SECOND:
+                case FastDateFormatter.MILLI:
+                    int value = 0;
+                    for (int i = pos; i < pos + width; i++) {
+                        int digit = charAt(text, bytes, i) - '0';
+                        if (digit < 0 || digit > 9) {
+                            return INVALID;
+                        }
+                        value = value * 10 + digit;
+                    }
+                    if (element == FastDateFormatter.YEAR) {
+                        year = value;
+                    } else if (element == FastDateFormatter.MONTH) {
+                        month = value;
+                    } else if (element == FastDateFormatter.DAY) {
+                        day = value;
+                    } else if (element == FastDateFormatter.HOUR) {
+                        hour = value;
+                    } else if (element == FastDateFormatter.MINUTE) {
+                        minute = value;
+                    } else if (element == FastDateFormatter.SECOND) {
+                        second = value;
+                    } else {
+                        milli = value;
+                    }
+                    pos += width;
+                    break;
+                case FastDateFormatter.OFFSET:
+                case FastDateFormatter.OFFSET_COLON:
+                    char sign = charAt(text, bytes, pos);
+                    if (sign == 'Z' && element == FastDateFormatter.OFFSET_COLON) {
+                        offset = OFFSET_BIAS;
+                        pos++;
+                        break;
+                    }
+                    boolean colon = element == FastDateFormatter.OFFSET_COLON;
+                    if ((sign != '+' && sign != '-') || end - pos < (colon ? 6 : 5) || (colon && charAt(text, bytes, pos + 3) != ':')) {
+                        return INVALID;
+                    }
+                    int h1 = charAt(text, bytes, pos + 1) - '0';
+                    int h2 = charAt(text, bytes, pos + 2) - '0';
+                    int m1 = charAt(text, bytes, pos + (colon ? 4 : 3)) - '0';
+                    int m2 = charAt(text, bytes, pos + (colon ? 5 : 4)) - '0';
+                    if (h1 < 0 || h1 > 1 || h2 < 0 || h2 > 9 || m1 < 0 || m1 > 5 || m2 < 0 || m2 > 9) {
+                        return INVALID;
+                    }
+                    int minutes = (h1 * 10 + h2) * 60 + m1 * 10 + m2;
+                    if (minutes > 18 * 60) {
+                        return INVALID;
+                    }
+                    offset = (sign == '-' ? -minutes : minutes) + OFFSET_BIAS;
+                    pos += colon ? 6 : 5;
+                    break;
+                default:
+                    if (charAt(text, bytes, pos) != element) {
+                        return INVALID;
+                    }
+                    pos++;
+                    break;
+            }
+        }
+
+        if (pos != end || year == 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return INVALID;
+        }
+
+        long localMillis = epochDay(year, month, day) * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + milli;
+        return (localMillis << OFFSET_BITS) | offset;
+    }
+
+    /**
+     * 使用 {@link DateTimeFormatter} 解析，先以 {@link DateTimeFormatter#parseUnresolved} 检查文本是否匹配格式，
+     * 不匹配时直接返回 {@code null}，只有字段值无效时才会产生异常
+     */
+    private TemporalAccessor tryFallback(CharSequence text) {
+        ParsePosition position = new ParsePosition(0);
+        if (fallback.parseUnresolved(text, position) == null || position.getIndex() != text.length()) {
+            return null;
+        }
+        try {
+            return fallback.parse(text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private long tryFallbackMillis(CharSequence text) {
+        TemporalAccessor temporal = tryFallback(text);
+        try {
+            return temporal == null ? INVALID : toEpochMillis(temporal);
+        } catch (DateTimeException e) {
+            return INVALID;
+        }
+    }
+
+    private static char charAt(CharSequence text, byte[] bytes, int index) {
+        return bytes == null ? text.charAt(index) : (char) (bytes[index] & 0xFF);
+    }
+
+    /**
+     * 将快速解析结果转换为毫秒时间戳
+     */
+    private long toEpochMillis(long parsed) {
+        long localMillis = parsed >> OFFSET_BITS;
+        int offset = (int) (parsed & ((1 << OFFSET_BITS) - 1));
+        if (offset != 0) {
+            return localMillis - (offset - OFFSET_BIAS) * 60000L;
+        }
+
+        OffsetCache cache = offsetCache;
+        if (localMillis < cache.localStart || localMillis >= cache.localEnd) {
+            cache = refreshOffset(localMillis);
+        }
+        return localMillis - cache.offsetMillis;
+    }
+
+    /**
+     * 计算本地时间对应的时区偏移量，并缓存该偏移量唯一有效的本地时间范围
+     */
+    private OffsetCache refreshOffset(long localMillis) {
+        ZoneRules rules = zone.getRules();
+        LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000), 0, ZoneOffset.UTC);
+        if (rules.getValidOffsets(local).size() != 1) {
+            // 夏令时切换造成的间隙或重叠，不缓存
+            return new OffsetCache(localMillis, localMillis, offsetSeconds(rules, local) * 1000L);
+        }
+
+        int offsetSeconds = rules.getOffset(local).getTotalSeconds();
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(localMillis, 1000) - offsetSeconds);
+        long localStart = Long.MIN_VALUE;
+        long localEnd = Long.MAX_VALUE;
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        if (previous != null) {
+            localStart = Math.max(previous.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC),
+                    previous.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC)) * 1000;
+        }
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        if (next != null) {
+            localEnd = Math.min(next.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC),
+                    next.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC)) * 1000;
+        }
+        OffsetCache cache = new OffsetCache(localStart, localEnd, offsetSeconds * 1000L);
+        offsetCache = cache;
+        return cache;
+    }
+
+    private static LocalDateTime toLocalDateTime(long parsed) {
+        long localMillis = parsed >> OFFSET_BITS;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000), (int) Math.floorMod(localMillis, 1000) * 1000000, ZoneOffset.UTC);
+    }
+
+    private long toEpochMillis(TemporalAccessor temporal) {
+        if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Instant.from(temporal).toEpochMilli();
+        }
+        LocalDateTime local = toLocalDateTime(temporal);
+        return local.toInstant(ZoneOffset.ofTotalSeconds(offsetSeconds(zone.getRules(), local))).toEpochMilli();
+    }
+
+    /**
+     * 计算本地时间的时区偏移量，与 {@link java.text.SimpleDateFormat} 一致：
+     * 夏令时结束造成的重叠时间使用切换后（标准时间）的偏移量，夏令时开始造成的间隙时间使用切换前的偏移量
+     */
+    private static int offsetSeconds(ZoneRules rules, LocalDateTime local) {
+        ZoneOffsetTransition transition = rules.getTransition(local);
+        if (transition != null && transition.isOverlap()) {
+            return transition.getOffsetAfter().getTotalSeconds();
+        }
+        return rules.getOffset(local).getTotalSeconds();
+    }
+
+    private static LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+        LocalDate date = LocalDate.from(temporal);
+        return temporal.isSupported(ChronoField.NANO_OF_DAY)
+                ? LocalDateTime.of(date, LocalTime.from(temporal)) : date.atStartOfDay();
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 计算公历日期距 1970-01-01 的天数，与 {@link LocalDate#toEpochDay()} 一致
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 时区偏移量缓存，在 [{@link #localStart}, {@link #localEnd}) 范围内的本地时间只有唯一的偏移量
+     */
+    private static final class OffsetCache {
+        private final long localStart;
+        private final long localEnd;
+        private final long offsetMillis;
+
+        private OffsetCache(long localStart, long localEnd, long offsetMillis) {
+            this.localStart = localStart;
+            this.localEnd = localEnd;
+            this.offsetMillis = offsetMillis;
+        }
+    }
+}
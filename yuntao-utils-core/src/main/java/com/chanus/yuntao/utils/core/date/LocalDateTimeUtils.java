@@ -79,7 +79,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(ZonedDateTime zonedDateTime, String pattern) {
-        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.createDateTimeFormatter(pattern));
+        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -103,7 +103,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(ZonedDateTime zonedDateTime, String pattern, Locale locale) {
-        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.createDateTimeFormatter(pattern, locale));
+        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -128,7 +128,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(ZonedDateTime zonedDateTime, String pattern, Locale locale, ZoneId zoneId) {
-        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return zonedDateTime == null ? null : zonedDateTime.format(DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -165,7 +165,7 @@ public class LocalDateTimeUtils {
      * @return {@code pattern} 格式字符串
      */
     public static String format(LocalDateTime localDateTime, String pattern) {
-        return localDateTime == null ? null : localDateTime.format(DateFormatter.createDateTimeFormatter(pattern));
+        return localDateTime == null ? null : localDateTime.format(DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -185,7 +185,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalDateTime localDateTime, String pattern, Locale locale) {
-        return localDateTime == null ? null : localDateTime.format(DateFormatter.createDateTimeFormatter(pattern, locale));
+        return localDateTime == null ? null : localDateTime.format(DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -206,7 +206,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalDateTime localDateTime, String pattern, Locale locale, ZoneId zoneId) {
-        return localDateTime == null ? null : localDateTime.format(DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return localDateTime == null ? null : localDateTime.format(DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -237,7 +237,7 @@ public class LocalDateTimeUtils {
      * @return {@code pattern} 格式字符串
      */
     public static String format(LocalDate localDate, String pattern) {
-        return localDate == null ? null : localDate.format(DateFormatter.createDateTimeFormatter(pattern));
+        return localDate == null ? null : localDate.format(DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -254,7 +254,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalDate localDate, String pattern, Locale locale) {
-        return localDate == null ? null : localDate.format(DateFormatter.createDateTimeFormatter(pattern, locale));
+        return localDate == null ? null : localDate.format(DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -272,7 +272,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalDate localDate, String pattern, Locale locale, ZoneId zoneId) {
-        return localDate == null ? null : localDate.format(DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return localDate == null ? null : localDate.format(DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -303,7 +303,7 @@ public class LocalDateTimeUtils {
      * @return {@code pattern} 格式字符串
      */
     public static String format(LocalTime localTime, String pattern) {
-        return localTime == null ? null : localTime.format(DateFormatter.createDateTimeFormatter(pattern));
+        return localTime == null ? null : localTime.format(DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -320,7 +320,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalTime localTime, String pattern, Locale locale) {
-        return localTime == null ? null : localTime.format(DateFormatter.createDateTimeFormatter(pattern, locale));
+        return localTime == null ? null : localTime.format(DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -338,7 +338,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static String format(LocalTime localTime, String pattern, Locale locale, ZoneId zoneId) {
-        return localTime == null ? null : localTime.format(DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return localTime == null ? null : localTime.format(DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -466,7 +466,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static ZonedDateTime parseZonedDateTime(String zonedDateTime, String pattern) {
-        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.createDateTimeFormatter(pattern));
+        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -491,7 +491,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static ZonedDateTime parseZonedDateTime(String zonedDateTime, String pattern, Locale locale) {
-        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.createDateTimeFormatter(pattern, locale));
+        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -517,7 +517,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static ZonedDateTime parseZonedDateTime(String zonedDateTime, String pattern, Locale locale, ZoneId zoneId) {
-        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return StringUtils.isBlank(zonedDateTime) ? null : ZonedDateTime.parse(zonedDateTime, DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -556,7 +556,7 @@ public class LocalDateTimeUtils {
      * @return {@code LocalDateTime} 日期时间对象
      */
     public static LocalDateTime parseDateTime(String localDateTime, String pattern) {
-        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.createDateTimeFormatter(pattern));
+        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -577,7 +577,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalDateTime parseDateTime(String localDateTime, String pattern, Locale locale) {
-        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.createDateTimeFormatter(pattern, locale));
+        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -599,7 +599,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalDateTime parseDateTime(String localDateTime, String pattern, Locale locale, ZoneId zoneId) {
-        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -609,7 +609,7 @@ public class LocalDateTimeUtils {
      * @return {@code LocalDateTime} 日期时间对象
      */
     public static LocalDateTime parseDateTime(String localDateTime) {
-        return StringUtils.isBlank(localDateTime) ? null : LocalDateTime.parse(localDateTime, DateFormatter.NORMAL_DATETIME_FORMATTER);
+        return StringUtils.isBlank(localDateTime) ? null : FastDateParser.getInstance(DatePattern.NORMAL_DATETIME_PATTERN).parseLocalDateTime(localDateTime);
     }
 
     /**
@@ -619,7 +619,7 @@ public class LocalDateTimeUtils {
      * @return {@code LocalDateTime} 日期时间对象
      */
     public static LocalDateTime parseDateTimeMillis(String localDateTimeMillis) {
-        return StringUtils.isBlank(localDateTimeMillis) ? null : LocalDateTime.parse(localDateTimeMillis, DateFormatter.NORMAL_DATETIME_MILLIS_FORMATTER);
+        return StringUtils.isBlank(localDateTimeMillis) ? null : FastDateParser.getInstance(DatePattern.NORMAL_DATETIME_MILLIS_PATTERN).parseLocalDateTime(localDateTimeMillis);
     }
 
     /**
@@ -654,7 +654,7 @@ public class LocalDateTimeUtils {
      * @return {@code LocalDate} 日期对象
      */
     public static LocalDate parseDate(String localDate, String pattern) {
-        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.createDateTimeFormatter(pattern));
+        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -673,7 +673,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalDate parseDate(String localDate, String pattern, Locale locale) {
-        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.createDateTimeFormatter(pattern, locale));
+        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -693,7 +693,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalDate parseDate(String localDate, String pattern, Locale locale, ZoneId zoneId) {
-        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return StringUtils.isBlank(localDate) ? null : LocalDate.parse(localDate, DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -740,7 +740,7 @@ public class LocalDateTimeUtils {
      * @return {@code LocalTime} 时间对象
      */
     public static LocalTime parseTime(String localTime, String pattern) {
-        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.createDateTimeFormatter(pattern));
+        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
@@ -760,7 +760,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalTime parseTime(String localTime, String pattern, Locale locale) {
-        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.createDateTimeFormatter(pattern, locale));
+        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.getDateTimeFormatter(pattern, locale));
     }
 
     /**
@@ -781,7 +781,7 @@ public class LocalDateTimeUtils {
      * @since 1.8.0
      */
     public static LocalTime parseTime(String localTime, String pattern, Locale locale, ZoneId zoneId) {
-        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.createDateTimeFormatter(pattern, locale, zoneId));
+        return StringUtils.isBlank(localTime) ? null : LocalTime.parse(localTime, DateFormatter.getDateTimeFormatter(pattern, locale, zoneId));
     }
 
     /**
@@ -822,34 +822,37 @@ public class LocalDateTimeUtils {
      * @return {@code pattern} 格式字符串
      */
     public static String now(String pattern) {
-        return LocalDateTime.now().format(DateFormatter.createDateTimeFormatter(pattern));
+        return LocalDateTime.now().format(DateFormatter.getDateTimeFormatter(pattern));
     }
 
     /**
      * 获取当前日期时间的 yyyy-MM-dd HH:mm:ss 格式字符串
      *
      * @return yyyy-MM-dd HH:mm:ss 格式字符串
+     * @see CachedClock#nowDateTime()
      */
     public static String nowDateTime() {
-        return LocalDateTime.now().format(DateFormatter.NORMAL_DATETIME_FORMATTER);
+        return CachedClock.getInstance().nowDateTime();
     }
 
     /**
      * 获取当前日期时间的 yyyy-MM-dd HH:mm:ss.SSS 格式字符串
      *
      * @return yyyy-MM-dd HH:mm:ss.SSS 格式字符串
+     * @see CachedClock#nowDateTimeMillis()
      */
     public static String nowDateTimeMillis() {
-        return LocalDateTime.now().format(DateFormatter.NORMAL_DATETIME_MILLIS_FORMATTER);
+        return CachedClock.getInstance().nowDateTimeMillis();
     }
 
     /**
      * 获取当前日期的 yyyy-MM-dd 格式字符串
      *
      * @return yyyy-MM-dd 格式字符串
+     * @see CachedClock#nowDate()
      */
     public static String nowDate() {
-        return LocalDate.now().format(DateFormatter.NORMAL_DATE_FORMATTER);
+        return CachedClock.getInstance().nowDate();
     }
 
     /**
@@ -1128,8 +1131,7 @@ public class LocalDateTimeUtils {
      * @since 1.6.0
      */
     public static LocalDateTime convertTimeZone(LocalDateTime localDateTime, ZoneId zoneId) {
-        return localDateTime == null ? null : localDateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zoneId)
-                .toLocalDateTime();
+        return convertTimeZone(localDateTime, ZoneId.systemDefault(), zoneId);
     }
 
     /**
@@ -1154,8 +1156,15 @@ public class LocalDateTimeUtils {
      * @since 1.6.0
      */
     public static LocalDateTime convertTimeZone(LocalDateTime localDateTime, ZoneId sourceZoneId, ZoneId targetZoneId) {
-        return localDateTime == null ? null : localDateTime.atZone(sourceZoneId).withZoneSameInstant(targetZoneId)
-                .toLocalDateTime();
+        if (localDateTime == null) {
+            return null;
+        }
+        Objects.requireNonNull(sourceZoneId, "zone");
+        Objects.requireNonNull(targetZoneId, "zone");
+
+        long localMillis = toLocalMillis(localDateTime);
+        long converted = ZoneOffsetTable.getInstance(sourceZoneId).convertLocal(localMillis, ZoneOffsetTable.getInstance(targetZoneId));
+        return localDateTime.plus(converted - localMillis, ChronoUnit.MILLIS);
     }
 
     /**
@@ -1178,7 +1187,7 @@ public class LocalDateTimeUtils {
      * @return 指定时间 {@code localDateTime} 在系统时区的秒数
      */
     public static long getSeconds(LocalDateTime localDateTime) {
-        return localDateTime.atZone(ZoneId.systemDefault()).toInstant().getEpochSecond();
+        return getSeconds(localDateTime, ZoneId.systemDefault());
     }
 
     /**
@@ -1190,7 +1199,8 @@ public class LocalDateTimeUtils {
      * @since 1.6.0
      */
     public static long getSeconds(LocalDateTime localDateTime, ZoneId zoneId) {
-        return localDateTime.atZone(zoneId).toInstant().getEpochSecond();
+        Objects.requireNonNull(zoneId, "zone");
+        return Math.floorDiv(ZoneOffsetTable.getInstance(zoneId).toEpochMillis(toLocalMillis(localDateTime)), 1000L);
     }
 
     /**
@@ -1212,7 +1222,7 @@ public class LocalDateTimeUtils {
      * @return 指定时间{@code localDateTime} 在系统时区的毫秒数
      */
     public static long getMillis(LocalDateTime localDateTime) {
-        return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return getMillis(localDateTime, ZoneId.systemDefault());
     }
 
     /**
@@ -1224,7 +1234,8 @@ public class LocalDateTimeUtils {
      * @since 1.6.0
      */
     public static long getMillis(LocalDateTime localDateTime, ZoneId zoneId) {
-        return localDateTime.atZone(zoneId).toInstant().toEpochMilli();
+        Objects.requireNonNull(zoneId, "zone");
+        return ZoneOffsetTable.getInstance(zoneId).toEpochMillis(toLocalMillis(localDateTime));
     }
 
     /**
@@ -1743,4 +1754,11 @@ public class LocalDateTimeUtils {
     public static int dayOfCycle(int cycle, String beginDateStr) {
         return dayOfCycle(LocalDate.now(), cycle, parseDate(beginDateStr));
     }
+
+    /**
+     * 将日期时间按 UTC 换算为毫秒数，作为 {@link ZoneOffsetTable} 的本地时间
+     */
+    private static long toLocalMillis(LocalDateTime localDateTime) {
+        return localDateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + localDateTime.getNano() / 1000000;
+    }
 }
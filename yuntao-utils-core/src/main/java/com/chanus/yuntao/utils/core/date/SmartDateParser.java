@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自动识别格式的多格式日期时间解析器
+ * <p>
+ * 构造时按每个格式的文本长度以及第一个非数字字符的位置和字符对格式分类，解析时先按输入文本的同样特征直接定位候选格式，
+ * 再依次尝试候选格式；无法按长度分类的格式（不支持快速解析的格式）在分类候选均不匹配后再依次尝试。
+ * 每个格式记录命中次数，按采样比较命中次数，超过前一个候选格式时交换两者的顺序，使最常见的格式逐渐排在最前面。
+ * </p>
+ * <p>
+ * 解析失败时返回 {@link FastDateParser#INVALID} 或 {@code null}，解析过程不以异常作为流程控制。
+ * 解析前会忽略文本首尾的空白字符。
+ * </p>
+ * 该类线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class SmartDateParser {
+    /**
+     * 默认支持的日期时间格式
+     */
+    private static final String[] DEFAULT_PATTERNS = {
+            DatePattern.NORMAL_DATETIME_PATTERN,
+            DatePattern.NORMAL_DATETIME_MILLIS_PATTERN,
+            DatePattern.NORMAL_DATETIME_MINUTE_PATTERN,
+            DatePattern.NORMAL_DATE_PATTERN,
+            DatePattern.PURE_DATETIME_PATTERN,
+            DatePattern.PURE_DATETIME_MILLIS_PATTERN,
+            DatePattern.PURE_DATETIME_MINUTE_PATTERN,
+            DatePattern.PURE_DATE_PATTERN,
+            DatePattern.CHINESE_DATETIME_PATTERN,
+            DatePattern.CHINESE_DATETIME_MINUTE_PATTERN,
+            DatePattern.CHINESE_DATE_PATTERN,
+            DatePattern.UTC_PATTERN,
+            DatePattern.UTC_SIMPLE_PATTERN,
+            DatePattern.UTC_WITH_XXX_OFFSET_PATTERN,
+            DatePattern.UTC_WITH_ZONE_OFFSET_PATTERN,
+            DatePattern.UTC_MILLIS_PATTERN,
+            DatePattern.UTC_SIMPLE_MILLIS_PATTERN,
+            DatePattern.UTC_MILLIS_WITH_XXX_OFFSET_PATTERN,
+            DatePattern.UTC_MILLIS_WITH_ZONE_OFFSET_PATTERN
+    };
+    /**
+     * 参与分类的最大文本长度
+     */
+    private static final int MAX_LENGTH = 64;
+    /**
+     * 文本中没有非数字字符时的分类位置
+     */
+    private static final int NO_SEPARATOR = -1;
+    /**
+     * 比较命中次数的采样掩码，平均每 64 次命中比较一次，避免每次命中都汇总 {@link LongAdder}
+     */
+    private static final int REORDER_SAMPLE_MASK = 63;
+
+    /**
+     * 全部候选格式，按构造时的顺序排列
+     */
+    private final Candidate[] candidates;
+    /**
+     * 按文本长度索引的分类
+     */
+    private final Bucket[][] buckets = new Bucket[MAX_LENGTH][];
+    /**
+     * 无法按长度分类的候选格式
+     */
+    private final Bucket generic = new Bucket(NO_SEPARATOR, (char) 0);
+
+    /**
+     * 构造，使用系统默认时区和默认格式：{@link DatePattern} 中包含年月日的标准、纯数字、中文及 UTC 格式
+     */
+    public SmartDateParser() {
+        this(null);
+    }
+
+    /**
+     * 构造
+     *
+     * @param zoneId   时区，不含时区偏移量的文本按该时区转换为时间戳，若为 {@code null} 则使用默认时区
+     * @param patterns 候选的日期时间格式，初始按该顺序尝试，为空时使用默认格式
+     */
+    public SmartDateParser(ZoneId zoneId, String... patterns) {
+        if (patterns == null || patterns.length == 0) {
+            patterns = DEFAULT_PATTERNS;
+        }
+
+        this.candidates = new Candidate[patterns.length];
+        List<Candidate> genericCandidates = new ArrayList<>();
+        for (int i = 0; i < patterns.length; i++) {
+            Candidate candidate = new Candidate(FastDateParser.getInstance(patterns[i], zoneId));
+            candidates[i] = candidate;
+            int[] elements = candidate.parser.getElements();
+            if (elements == null || !classify(candidate, elements)) {
+                genericCandidates.add(candidate);
+            }
+        }
+        generic.candidates = genericCandidates.toArray(new Candidate[0]);
+    }
+
+    /**
+     * 解析日期时间字符串为毫秒时间戳
+     *
+     * @param text 日期时间字符串
+     * @return 毫秒时间戳，无法解析时返回 {@link FastDateParser#INVALID}
+     */
+    public long parseMillis(CharSequence text) {
+        return text == null ? FastDateParser.INVALID : parseMillis(text, 0, text.length());
+    }
+
+    /**
+     * 解析字符序列的 [{@code start}, {@code end}) 片段为毫秒时间戳
+     *
+     * @param text  字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 毫秒时间戳，无法解析时返回 {@link FastDateParser#INVALID}
+     */
+    public long parseMillis(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        Bucket bucket = lookup(text, null, start, end);
+        if (bucket != null) {
+            Candidate[] cs = bucket.candidates;
+            for (int i = 0; i < cs.length; i++) {
+                long millis = cs[i].parser.tryParseMillis(text, start, end);
+                if (millis != FastDateParser.INVALID) {
+                    hit(bucket, cs, i);
+                    return millis;
+                }
+            }
+        }
+
+        Candidate[] cs = generic.candidates;
+        for (int i = 0; i < cs.length; i++) {
+            long millis = cs[i].parser.tryParseMillis(text, start, end);
+            if (millis != FastDateParser.INVALID) {
+                hit(generic, cs, i);
+                return millis;
+            }
+        }
+        return FastDateParser.INVALID;
+    }
+
+    /**
+     * 解析字节数组中 ASCII 编码的日期时间片段为毫秒时间戳
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 毫秒时间戳，无法解析时返回 {@link FastDateParser#INVALID}
+     */
+    public long parseMillis(byte[] bytes, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (bytes[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        Bucket bucket = lookup(null, bytes, start, end);
+        if (bucket != null) {
+            Candidate[] cs = bucket.candidates;
+            for (int i = 0; i < cs.length; i++) {
+                long millis = cs[i].parser.tryParseMillis(bytes, start, end - start);
+                if (millis != FastDateParser.INVALID) {
+                    hit(bucket, cs, i);
+                    return millis;
+                }
+            }
+        }
+
+        Candidate[] cs = generic.candidates;
+        for (int i = 0; i < cs.length; i++) {
+            long millis = cs[i].parser.tryParseMillis(bytes, start, end - start);
+            if (millis != FastDateParser.INVALID) {
+                hit(generic, cs, i);
+                return millis;
+            }
+        }
+        return FastDateParser.INVALID;
+    }
+
+    /**
+     * 解析日期时间字符串为 {@link LocalDateTime}，文本中的时区偏移量会被忽略
+     *
+     * @param text 日期时间字符串
+     * @return {@link LocalDateTime}，无法解析时返回 {@code null}
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        Bucket bucket = lookup(text, null, start, end);
+        if (bucket != null) {
+            Candidate[] cs = bucket.candidates;
+            for (int i = 0; i < cs.length; i++) {
+                LocalDateTime result = cs[i].parser.tryParseLocalDateTime(text, start, end);
+                if (result != null) {
+                    hit(bucket, cs, i);
+                    return result;
+                }
+            }
+        }
+
+        Candidate[] cs = generic.candidates;
+        for (int i = 0; i < cs.length; i++) {
+            LocalDateTime result = cs[i].parser.tryParseLocalDateTime(text, start, end);
+            if (result != null) {
+                hit(generic, cs, i);
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 识别日期时间字符串的格式
+     *
+     * @param text 日期时间字符串
+     * @return 匹配的格式，无法识别时返回 {@code null}
+     */
+    public String detectPattern(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        Bucket bucket = lookup(text, null, start, end);
+        if (bucket != null) {
+            for (Candidate candidate : bucket.candidates) {
+                if (candidate.parser.tryParseMillis(text, start, end) != FastDateParser.INVALID) {
+                    return candidate.parser.getPattern();
+                }
+            }
+        }
+        for (Candidate candidate : generic.candidates) {
+            if (candidate.parser.tryParseMillis(text, start, end) != FastDateParser.INVALID) {
+                return candidate.parser.getPattern();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取各格式的命中次数，按构造时的格式顺序排列
+     *
+     * @return 格式与命中次数的映射
+     */
+    public Map<String, Long> getHitCounts() {
+        Map<String, Long> hitCounts = new LinkedHashMap<>(candidates.length * 4 / 3 + 1);
+        for (Candidate candidate : candidates) {
+            hitCounts.put(candidate.parser.getPattern(), candidate.hits.sum());
+        }
+        return hitCounts;
+    }
+
+    /**
+     * 按文本长度和第一个非数字字符定位分类，{@code text} 与 {@code bytes} 二选一
+     */
+    private Bucket lookup(CharSequence text, byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length >= MAX_LENGTH) {
+            return null;
+        }
+        Bucket[] sameLength = buckets[length];
+        if (sameLength == null) {
+            return null;
+        }
+
+        int index = NO_SEPARATOR;
+        char separator = 0;
+        for (int i = start; i < end; i++) {
+            char c = bytes == null ? text.charAt(i) : (char) (bytes[i] & 0xFF);
+            if (c < '0' || c > '9') {
+                index = i - start;
+                separator = c;
+                break;
+            }
+        }
+        for (Bucket bucket : sameLength) {
+            if (bucket.index == index && bucket.separator == separator) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 记录命中，按采样比较命中次数，超过前一个候选格式时交换两者的顺序
+     */
+    private static void hit(Bucket bucket, Candidate[] cs, int i) {
+        Candidate candidate = cs[i];
+        candidate.hits.increment();
+        if (i > 0 && (ThreadLocalRandom.current().nextInt() & REORDER_SAMPLE_MASK) == 0
+                && candidate.hits.sum() > cs[i - 1].hits.sum()) {
+            synchronized (bucket) {
+                if (bucket.candidates == cs) {
+                    Candidate[] reordered = Arrays.copyOf(cs, cs.length);
+                    reordered[i] = cs[i - 1];
+                    reordered[i - 1] = candidate;
+                    bucket.candidates = reordered;
+                }
+            }
+        }
+    }
+
+    /**
+     * 按格式元素计算文本长度以及第一个非数字字符的位置和字符，将候选格式加入对应的分类
+     *
+     * @return 是否成功分类
+     */
+    private boolean classify(Candidate candidate, int[] elements) {
+        // 使用 XXX 时区偏移量的格式有 Z 和 +08:00 两种长度
+        boolean hasColonOffset = false;
+        int length = 0;
+        int index = NO_SEPARATOR;
+        int separator = 0;
+        for (int element : elements) {
+            if (element >= 0) {
+                if (index == NO_SEPARATOR) {
+                    index = length;
+                    separator = element;
+                }
+                length++;
+            } else if (element == FastDateFormatter.OFFSET || element == FastDateFormatter.OFFSET_COLON) {
+                if (index == NO_SEPARATOR) {
+                    // 时区偏移量作为第一个非数字字符时无法确定分类字符
+                    return false;
+                }
+                hasColonOffset |= element == FastDateFormatter.OFFSET_COLON;
+                length += element == FastDateFormatter.OFFSET ? 5 : 6;
+            } else {
+                length += FastDateFormatter.width(element);
+            }
+        }
+
+        if (length >= MAX_LENGTH) {
+            return false;
+        }
+        addToBucket(length, index, (char) separator, candidate);
+        if (hasColonOffset) {
+            addToBucket(length - 5, index, (char) separator, candidate);
+        }
+        return true;
+    }
+
+    private void addToBucket(int length, int index, char separator, Candidate candidate) {
+        Bucket[] sameLength = buckets[length];
+        if (sameLength == null) {
+            sameLength = new Bucket[0];
+        }
+        for (Bucket bucket : sameLength) {
+            if (bucket.index == index && bucket.separator == separator) {
+                bucket.candidates = Arrays.copyOf(bucket.candidates, bucket.candidates.length + 1);
+                bucket.candidates[bucket.candidates.length - 1] = candidate;
+                return;
+            }
+        }
+
+        Bucket bucket = new Bucket(index, separator);
+        bucket.candidates = new Candidate[]{candidate};
+        sameLength = Arrays.copyOf(sameLength, sameLength.length + 1);
+        sameLength[sameLength.length - 1] = bucket;
+        buckets[length] = sameLength;
+    }
+
+    /**
+     * 候选格式
+     */
+    private static final class Candidate {
+        private final FastDateParser parser;
+        private final LongAdder hits = new LongAdder();
+
+        private Candidate(FastDateParser parser) {
+            this.parser = parser;
+        }
+    }
+
+    /**
+     * 同一长度、同一分隔符的候选格式分类
+     */
+    private static final class Bucket {
+        /**
+         * 第一个非数字字符的位置
+         */
+        private final int index;
+        /**
+         * 第一个非数字字符
+         */
+        private final char separator;
+        /**
+         * 候选格式，按尝试顺序排列，调整顺序时整体替换
+         */
+        private volatile Candidate[] candidates;
+
+        private Bucket(int index, char separator) {
+            this.index = index;
+            this.separator = separator;
+        }
+    }
+}
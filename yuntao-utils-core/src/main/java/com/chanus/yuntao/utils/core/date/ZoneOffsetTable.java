@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.date;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时区偏移表
+ * <p>
+ * 将时区规则在 {@value #TABLE_END_YEAR} 年之前的所有时区转换预先展开为基本类型数组，
+ * 根据时间戳查询时区偏移时只需一次二分查找，不创建任何对象；超出预计算范围的时间仍按 {@link ZoneRules} 计算。
+ * 本地时间（将某时区的日期时间按 UTC 换算得到的毫秒数）换算为时间戳时，
+ * 夏令时重叠取较早的偏移，夏令时跳过的时间向后顺延，与 {@link LocalDateTime#atZone(ZoneId)} 一致。
+ * </p>
+ * <p>
+ * 实例不可变，可通过 {@link #getInstance(ZoneId)} 获取按时区缓存的共享实例。
+ * </p>
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class ZoneOffsetTable {
+    /**
+     * 预计算的截止年份，不包含
+     */
+    public static final int TABLE_END_YEAR = 2100;
+    /**
+     * 预计算的截止时间戳，即 {@value #TABLE_END_YEAR}-01-01T00:00:00Z
+     */
+    private static final long TABLE_END_MILLIS = 4102444800000L;
+    /**
+     * 时区偏移的最大绝对值，18 小时
+     */
+    private static final long MAX_OFFSET_MILLIS = 18 * 3600 * 1000L;
+    /**
+     * 缓存的最大数量
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+    /**
+     * 时区与偏移表的缓存
+     */
+    private static final Map<ZoneId, ZoneOffsetTable> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 时区
+     */
+    private final ZoneId zone;
+    /**
+     * 时区规则
+     */
+    private final ZoneRules rules;
+    /**
+     * 时区转换的时间戳，升序
+     */
+    private final long[] transitions;
+    /**
+     * 各区间的偏移毫秒数，{@code offsets[i]} 为第 i 个转换之前（第 i - 1 个转换之后）的偏移，长度比 {@link #transitions} 多 1
+     */
+    private final int[] offsets;
+    /**
+     * 各区间结束时的本地时间，即 {@code transitions[i] + offsets[i]}
+     */
+    private final long[] localEnds;
+    /**
+     * 预计算范围的截止时间戳，不小于该值时按时区规则计算
+     */
+    private final long limit;
+
+    private ZoneOffsetTable(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+
+        if (rules.isFixedOffset()) {
+            this.transitions = new long[0];
+            this.offsets = new int[]{offsetMillis(rules.getOffset(Instant.EPOCH))};
+            this.localEnds = new long[0];
+            this.limit = Long.MAX_VALUE;
+            return;
+        }
+
+        List<ZoneOffsetTransition> history = rules.getTransitions();
+        int capacity = history.size() + 2 * (TABLE_END_YEAR - 1970) + 2;
+        long[] transitions = new long[capacity];
+        int[] offsets = new int[capacity + 1];
+        int n = 0;
+        ZoneOffsetTransition transition = history.isEmpty() ? rules.nextTransition(Instant.ofEpochMilli(Long.MIN_VALUE)) : history.get(0);
+        if (transition == null) {
+            offsets[0] = offsetMillis(rules.getOffset(Instant.EPOCH));
+        } else {
+            offsets[0] = offsetMillis(transition.getOffsetBefore());
+        }
+        while (transition != null && transition.toEpochSecond() * 1000L < TABLE_END_MILLIS) {
+            if (n == transitions.length) {
+                transitions = Arrays.copyOf(transitions, n * 2);
+                offsets = Arrays.copyOf(offsets, n * 2 + 1);
+            }
+            transitions[n] = transition.toEpochSecond() * 1000L;
+            offsets[n + 1] = offsetMillis(transition.getOffsetAfter());
+            n++;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+
+        this.transitions = Arrays.copyOf(transitions, n);
+        this.offsets = Arrays.copyOf(offsets, n + 1);
+        this.localEnds = new long[n];
+        for (int i = 0; i < n; i++) {
+            this.localEnds[i] = this.transitions[i] + this.offsets[i];
+        }
+        // 没有后续转换时最后一个区间一直有效
+        this.limit = transition == null ? Long.MAX_VALUE : TABLE_END_MILLIS;
+    }
+
+    /**
+     * 获取时区偏移表
+     *
+     * @param zoneId 时区，若为 {@code null} 则使用默认时区
+     * @return 时区偏移表
+     */
+    public static ZoneOffsetTable getInstance(ZoneId zoneId) {
+        ZoneId zone = zoneId == null ? ZoneId.systemDefault() : zoneId;
+        ZoneOffsetTable table = CACHE.get(zone);
+        if (table == null) {
+            table = new ZoneOffsetTable(zone);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            ZoneOffsetTable existing = CACHE.putIfAbsent(zone, table);
+            if (existing != null) {
+                table = existing;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 获取时区偏移表
+     *
+     * @param timeZone 时区，若为 {@code null} 则使用默认时区
+     * @return 时区偏移表
+     */
+    public static ZoneOffsetTable getInstance(TimeZone timeZone) {
+        return getInstance(timeZone == null ? null : timeZone.toZoneId());
+    }
+
+    /**
+     * 获取时区
+     *
+     * @return 时区
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 是否为固定偏移的时区
+     *
+     * @return {@code true} 固定偏移；{@code false} 存在时区转换
+     */
+    public boolean isFixedOffset() {
+        return transitions.length == 0 && limit == Long.MAX_VALUE;
+    }
+
+    /**
+     * 获取预计算的时区转换数量
+     *
+     * @return 时区转换数量
+     */
+    public int getTransitionCount() {
+        return transitions.length;
+    }
+
+    /**
+     * 获取时间戳在该时区的偏移
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 偏移毫秒数
+     */
+    public int getOffsetMillis(long epochMillis) {
+        if (epochMillis >= limit) {
+            return offsetMillis(rules.getOffset(Instant.ofEpochMilli(epochMillis)));
+        }
+        return offsets[upperBound(transitions, 0, transitions.length, epochMillis)];
+    }
+
+    /**
+     * 获取本地时间在该时区的偏移，夏令时重叠或跳过时均取转换前的偏移
+     *
+     * @param localMillis 本地时间，即该时区的日期时间按 UTC 换算得到的毫秒数
+     * @return 偏移毫秒数
+     */
+    public int getOffsetMillisFromLocal(long localMillis) {
+        if (limit != Long.MAX_VALUE && localMillis >= limit - MAX_OFFSET_MILLIS) {
+            long seconds = Math.floorDiv(localMillis, 1000L);
+            int nanos = (int) Math.floorMod(localMillis, 1000L) * 1000000;
+            return offsetMillis(rules.getOffset(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)));
+        }
+        return offsetFromLocal(localMillis, upperBound(localEnds, 0, localEnds.length, localMillis));
+    }
+
+    /**
+     * 时间戳转换为该时区的本地时间
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 本地时间毫秒数
+     */
+    public long toLocalMillis(long epochMillis) {
+        return epochMillis + getOffsetMillis(epochMillis);
+    }
+
+    /**
+     * 该时区的本地时间转换为时间戳
+     *
+     * @param localMillis 本地时间毫秒数
+     * @return 毫秒时间戳
+     */
+    public long toEpochMillis(long localMillis) {
+        return localMillis - getOffsetMillisFromLocal(localMillis);
+    }
+
+    /**
+     * 将该时区的本地时间转换为目标时区的本地时间
+     *
+     * @param localMillis 本地时间毫秒数
+     * @param target      目标时区偏移表
+     * @return 目标时区的本地时间毫秒数
+     */
+    public long convertLocal(long localMillis, ZoneOffsetTable target) {
+        return target.toLocalMillis(toEpochMillis(localMillis));
+    }
+
+    /**
+     * 批量获取时间戳在该时区的偏移，输入按时间排序时相邻元素可复用上一次查找的区间
+     *
+     * @param epochMillis 毫秒时间戳数组
+     * @param dest        偏移毫秒数数组，长度不小于 {@code epochMillis}
+     */
+    public void getOffsetsMillis(long[] epochMillis, int[] dest) {
+        checkLength(epochMillis.length, dest.length);
+        int index = -1;
+        for (int i = 0; i < epochMillis.length; i++) {
+            long millis = epochMillis[i];
+            if (millis >= limit) {
+                dest[i] = getOffsetMillis(millis);
+                continue;
+            }
+            index = locate(millis, index);
+            dest[i] = offsets[index];
+        }
+    }
+
+    /**
+     * 批量将时间戳转换为该时区的本地时间
+     *
+     * @param epochMillis 毫秒时间戳数组
+     * @param dest        本地时间数组，长度不小于 {@code epochMillis}，可与 {@code epochMillis} 为同一数组
+     */
+    public void toLocalMillis(long[] epochMillis, long[] dest) {
+        checkLength(epochMillis.length, dest.length);
+        int index = -1;
+        for (int i = 0; i < epochMillis.length; i++) {
+            long millis = epochMillis[i];
+            if (millis >= limit) {
+                dest[i] = toLocalMillis(millis);
+                continue;
+            }
+            index = locate(millis, index);
+            dest[i] = millis + offsets[index];
+        }
+    }
+
+    /**
+     * 批量将该时区的本地时间转换为时间戳
+     *
+     * @param localMillis 本地时间数组
+     * @param dest        毫秒时间戳数组，长度不小于 {@code localMillis}，可与 {@code localMillis} 为同一数组
+     */
+    public void toEpochMillis(long[] localMillis, long[] dest) {
+        checkLength(localMillis.length, dest.length);
+        for (int i = 0; i < localMillis.length; i++) {
+            dest[i] = toEpochMillis(localMillis[i]);
+        }
+    }
+
+    /**
+     * 批量将时间戳按源时区和目标时区在该时刻的偏移差平移，包含夏令时偏移；
+     * 与 {@link DateUtils#convertByTimeZone(java.util.Date, TimeZone, TimeZone)} 只使用标准偏移不同
+     *
+     * @param epochMillis 毫秒时间戳数组
+     * @param target      目标时区偏移表
+     * @param dest        结果数组，长度不小于 {@code epochMillis}，可与 {@code epochMillis} 为同一数组
+     */
+    public void shift(long[] epochMillis, ZoneOffsetTable target, long[] dest) {
+        checkLength(epochMillis.length, dest.length);
+        int sourceIndex = -1;
+        int targetIndex = -1;
+        for (int i = 0; i < epochMillis.length; i++) {
+            long millis = epochMillis[i];
+            if (millis >= limit || millis >= target.limit) {
+                dest[i] = millis - getOffsetMillis(millis) + target.getOffsetMillis(millis);
+                continue;
+            }
+            sourceIndex = locate(millis, sourceIndex);
+            targetIndex = target.locate(millis, targetIndex);
+            dest[i] = millis - offsets[sourceIndex] + target.offsets[targetIndex];
+        }
+    }
+
+    /**
+     * 查找时间戳所在区间，先检查上一次的区间
+     *
+     * @param millis 小于 {@link #limit} 的毫秒时间戳
+     * @param hint   上一次的区间下标，-1 表示没有
+     * @return 区间下标
+     */
+    private int locate(long millis, int hint) {
+        if (hint >= 0 && (hint == 0 || transitions[hint - 1] <= millis) && (hint == transitions.length || millis < transitions[hint])) {
+            return hint;
+        }
+        return upperBound(transitions, 0, transitions.length, millis);
+    }
+
+    /**
+     * 根据本地时间所在的候选区间计算偏移
+     *
+     * @param localMillis 本地时间
+     * @param index       第一个结束本地时间大于 {@code localMillis} 的区间
+     */
+    private int offsetFromLocal(long localMillis, int index) {
+        if (index == 0 || localMillis >= transitions[index - 1] + offsets[index]) {
+            return offsets[index];
+        }
+        // 夏令时跳过的时间，取转换前的偏移
+        return offsets[index - 1];
+    }
+
+    /**
+     * 第一个大于 {@code key} 的元素下标
+     */
+    private static int upperBound(long[] sorted, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int offsetMillis(ZoneOffset offset) {
+        return offset.getTotalSeconds() * 1000;
+    }
+
+    private static void checkLength(int length, int destLength) {
+        if (destLength < length) {
+            throw new IllegalArgumentException(String.format("Destination length %d is less than %d", destLength, length));
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneOffsetTable[" + zone + ", transitions=" + transitions.length + "]";
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.chanus.yuntao.utils.core.encrypt;
 
+import com.chanus.yuntao.utils.core.codec.Hex;
+
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
@@ -74,12 +76,7 @@ public class HMACUtils {
             Mac hmac = Mac.getInstance(hmacType.getHmacType());
             SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), hmacType.getHmacType());
             hmac.init(secretKeySpec);
-            byte[] array = hmac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte item : array) {
-                sb.append(Integer.toHexString((item & 0xFF) | 0x100), 1, 3);
-            }
-            return sb.toString();
+            return Hex.encode(hmac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
         } catch (NoSuchAlgorithmException | InvalidKeyException e) {
             throw new RuntimeException("HMAC encrypt error.", e);
         }
@@ -15,6 +15,8 @@
  */
 package com.chanus.yuntao.utils.core.encrypt;
 
+import com.chanus.yuntao.utils.core.codec.Hex;
+
 import java.security.MessageDigest;
 import java.util.Objects;
 
@@ -29,34 +31,11 @@ public class MD5Utils {
      * MD5 加密
      */
     private static final String KEY_ALGORITHM = "MD5";
-    /**
-     * 用于加密的字符
-     */
-    private static final String[] HEX_DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "a", "b", "c", "d", "e", "f"};
 
     private MD5Utils() {
         throw new IllegalStateException("Utility class");
     }
 
-    private static String byteArrayToHexString(byte[] b) {
-        StringBuilder hex = new StringBuilder();
-        for (byte value : b) {
-            hex.append(byteToHexString(value));
-        }
-
-        return hex.toString();
-    }
-
-    private static String byteToHexString(byte b) {
-        int n = b;
-        if (n < 0) {
-            n += 256;
-        }
-        int d1 = n / 16;
-        int d2 = n % 16;
-        return HEX_DIGITS[d1] + HEX_DIGITS[d2];
-    }
-
     /**
      * MD5 加密字符串
      *
@@ -65,7 +44,7 @@ public class MD5Utils {
      */
     public static String md5(String data) {
         try {
-            return byteArrayToHexString(MessageDigest.getInstance(KEY_ALGORITHM).digest(data.getBytes()));
+            return Hex.encode(MessageDigest.getInstance(KEY_ALGORITHM).digest(data.getBytes()));
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -16,6 +16,7 @@
 package com.chanus.yuntao.utils.core.encrypt;
 
 import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.codec.Hex;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -27,11 +28,6 @@ import java.security.NoSuchAlgorithmException;
  * @since 1.0.0
  */
 public class SHAUtils {
-    /**
-     * 用于加密的字符
-     */
-    private static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
-
     private static final String SHA1 = "SHA-1";
 
     private static final String SHA224 = "SHA-224";
@@ -63,18 +59,8 @@ public class SHAUtils {
             MessageDigest messageDigest = MessageDigest.getInstance(digestType);
             // 使用指定的字节更新摘要
             messageDigest.update(text.getBytes());
-            // 获得密文
-            byte[] digest = messageDigest.digest();
-            // 把密文转换成十六进制的字符串形式
-            int len = digest.length;
-            char[] buf = new char[len * 2];
-            int k = 0;
-            for (byte b : digest) {
-                buf[k++] = HEX_DIGITS[b >>> 4 & 0xf];
-                buf[k++] = HEX_DIGITS[b & 0xf];
-            }
-
-            return new String(buf);
+            // 获得密文，并转换成十六进制的字符串形式
+            return Hex.encode(messageDigest.digest());
         } catch (NoSuchAlgorithmException e) {
             e.printStackTrace();
             return null;
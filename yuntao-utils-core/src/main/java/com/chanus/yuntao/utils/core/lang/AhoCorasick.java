@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.function.Replacer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Aho-Corasick 多关键词匹配自动机
+ * <p>
+ * 一次扫描即可找出文本中所有关键词的出现位置，耗时与文本长度和命中次数相关，与关键词数量无关，
+ * 适用于敏感词过滤、批量关键词替换等场景。通过 {@link #builder()} 构建，构建后不可变，可在多个线程间共享。
+ * </p>
+ * <p>
+ * 支持以下匹配模式：<br>
+ * 1. 忽略大小写：关键词和文本按字符统一转换为小写后匹配；<br>
+ * 2. 全角转半角：全角 ASCII 字符和全角空格视为对应的半角字符，如“ＡＢＣ”可匹配关键词“abc”；<br>
+ * 3. 整词匹配：关键词两端与文本相邻的字符不能同时为字母或数字，中日韩文字之间没有词边界，不受此限制。
+ * </p>
+ * 所有模式都按字符一一转换，匹配位置与原文本一致。
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class AhoCorasick {
+    /**
+     * 关键词，下标即关键词编号
+     */
+    private final String[] keywords;
+    /**
+     * 是否忽略大小写
+     */
+    private final boolean ignoreCase;
+    /**
+     * 是否全角转半角
+     */
+    private final boolean normalizeWidth;
+    /**
+     * 是否整词匹配
+     */
+    private final boolean wholeWord;
+    /**
+     * 根状态的转移表，下标为字符
+     */
+    private final int[] rootNext;
+    /**
+     * 各状态转移边在 {@link #edgeChars} 中的起始位置，长度为状态数 + 1
+     */
+    private final int[] edgeStart;
+    /**
+     * 转移边的字符，每个状态内升序
+     */
+    private final char[] edgeChars;
+    /**
+     * 转移边的目标状态
+     */
+    private final int[] edgeTargets;
+    /**
+     * 失败转移
+     */
+    private final int[] fail;
+    /**
+     * 状态对应的关键词编号，不是关键词结尾时为 -1
+     */
+    private final int[] output;
+    /**
+     * 沿失败转移找到的下一个有输出的状态，不存在时为 -1
+     */
+    private final int[] dictLink;
+    /**
+     * 状态的深度，即关键词长度
+     */
+    private final int[] depth;
+
+    private AhoCorasick(Builder builder) {
+        this.ignoreCase = builder.ignoreCase;
+        this.normalizeWidth = builder.normalizeWidth;
+        this.wholeWord = builder.wholeWord;
+
+        // 1. 构建字典树
+        List<String> keywordList = new ArrayList<>();
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        List<Integer> depthList = new ArrayList<>();
+        children.add(new HashMap<>());
+        outputList.add(-1);
+        depthList.add(0);
+        for (String keyword : builder.keywords) {
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = normalize(keyword.charAt(i));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(c, next);
+                    children.add(new HashMap<>());
+                    outputList.add(-1);
+                    depthList.add(i + 1);
+                }
+                state = next;
+            }
+            if (outputList.get(state) < 0) {
+                outputList.set(state, keywordList.size());
+                keywordList.add(keyword);
+            }
+        }
+
+        // 2. 展开为数组
+        int stateCount = children.size();
+        this.keywords = keywordList.toArray(new String[0]);
+        this.edgeStart = new int[stateCount + 1];
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s + 1] = edgeStart[s] + children.get(s).size();
+        }
+        this.edgeChars = new char[edgeStart[stateCount]];
+        this.edgeTargets = new int[edgeStart[stateCount]];
+        for (int s = 0; s < stateCount; s++) {
+            Character[] chars = children.get(s).keySet().toArray(new Character[0]);
+            Arrays.sort(chars);
+            for (int i = 0; i < chars.length; i++) {
+                edgeChars[edgeStart[s] + i] = chars[i];
+                edgeTargets[edgeStart[s] + i] = children.get(s).get(chars[i]);
+            }
+        }
+        this.rootNext = new int[Character.MAX_VALUE + 1];
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            rootNext[edgeChars[i]] = edgeTargets[i];
+        }
+        this.output = new int[stateCount];
+        this.depth = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            output[s] = outputList.get(s);
+            depth[s] = depthList.get(s);
+        }
+
+        // 3. 按广度优先顺序计算失败转移
+        this.fail = new int[stateCount];
+        this.dictLink = new int[stateCount];
+        dictLink[0] = -1;
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            int child = edgeTargets[i];
+            fail[child] = 0;
+            dictLink[child] = -1;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = edgeStart[state]; i < edgeStart[state + 1]; i++) {
+                int child = edgeTargets[i];
+                int f = next(fail[state], edgeChars[i]);
+                fail[child] = f;
+                dictLink[child] = output[f] >= 0 ? f : dictLink[f];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取关键词数量，重复的关键词只计一次
+     *
+     * @return 关键词数量
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * 获取所有关键词
+     *
+     * @return 关键词列表，下标即关键词编号
+     */
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(Arrays.asList(keywords));
+    }
+
+    /**
+     * 判断文本是否包含任意关键词，找到第一个即返回
+     *
+     * @param text 文本
+     * @return {@code true} 包含；{@code false} 不包含
+     */
+    public boolean containsAny(CharSequence text) {
+        return findFirst(text) != null;
+    }
+
+    /**
+     * 查找结束位置最靠前的一个关键词
+     *
+     * @param text 文本
+     * @return 匹配结果，未找到时返回 {@code null}
+     */
+    public Match findFirst(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = next(state, normalize(text.charAt(i)));
+            for (int s = output[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int start = i + 1 - depth[s];
+                if (isWordBoundary(text, start, i + 1)) {
+                    return new Match(start, i + 1, output[s], keywords[output[s]]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找所有关键词的出现位置，包括相互重叠的匹配，按结束位置升序，结束位置相同时较长的在前
+     *
+     * @param text 文本
+     * @return 匹配结果列表
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        forEachMatch(text, (start, end, keywordIndex) -> matches.add(new Match(start, end, keywordIndex, keywords[keywordIndex])));
+        return matches;
+    }
+
+    /**
+     * 遍历所有关键词的出现位置，不创建匹配结果对象
+     *
+     * @param text     文本
+     * @param consumer 匹配处理函数
+     */
+    public void forEachMatch(CharSequence text, MatchConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = next(state, normalize(text.charAt(i)));
+            for (int s = output[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int start = i + 1 - depth[s];
+                if (isWordBoundary(text, start, i + 1)) {
+                    consumer.accept(start, i + 1, output[s]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 替换文本中的关键词，重叠时优先替换开始位置靠前、长度更长的关键词
+     *
+     * @param text     文本
+     * @param replacer 替换器，参数为文本中匹配到的原始内容
+     * @return 替换后的文本，文本为 {@code null} 时返回 {@code null}
+     */
+    public String replace(CharSequence text, Replacer<String> replacer) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        int[] longest = selectLongest(text, true);
+        if (longest == null) {
+            return text.toString();
+        }
+
+        StringBuilder sb = new StringBuilder(length + 16);
+        int i = 0;
+        while (i < length) {
+            int end = longest[i];
+            if (end > i) {
+                sb.append(replacer.replace(text.subSequence(i, end).toString()));
+                i = end;
+            } else {
+                sb.append(text.charAt(i++));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 使用指定字符替换关键词的每一个字符，相互重叠的关键词全部替换
+     *
+     * @param text 文本
+     * @param mask 替换字符
+     * @return 替换后的文本，文本为 {@code null} 时返回 {@code null}
+     */
+    public String replace(CharSequence text, char mask) {
+        if (text == null) {
+            return null;
+        }
+        int[] longest = selectLongest(text, false);
+        if (longest == null) {
+            return text.toString();
+        }
+
+        char[] chars = new char[text.length()];
+        int maskEnd = 0;
+        for (int i = 0; i < chars.length; i++) {
+            if (longest[i] > maskEnd) {
+                maskEnd = longest[i];
+            }
+            chars[i] = i < maskEnd ? mask : text.charAt(i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 使用指定字符串替换关键词
+     *
+     * @param text        文本
+     * @param replacement 替换字符串
+     * @return 替换后的文本，文本为 {@code null} 时返回 {@code null}
+     */
+    public String replace(CharSequence text, String replacement) {
+        return replace(text, s -> replacement);
+    }
+
+    /**
+     * 计算每个位置开始的最长匹配
+     *
+     * @param removeOverlaps 是否去除与前面已选匹配重叠的位置
+     * @return 下标为开始位置、值为结束位置的数组，没有匹配时返回 {@code null}
+     */
+    private int[] selectLongest(CharSequence text, boolean removeOverlaps) {
+        int length = text.length();
+        int[][] holder = new int[1][];
+        forEachMatch(text, (start, end, keywordIndex) -> {
+            if (holder[0] == null) {
+                holder[0] = new int[length];
+            }
+            if (end > holder[0][start]) {
+                holder[0][start] = end;
+            }
+        });
+        int[] longest = holder[0];
+        if (longest == null || !removeOverlaps) {
+            return longest;
+        }
+        int covered = 0;
+        for (int i = 0; i < length; i++) {
+            if (i < covered) {
+                longest[i] = 0;
+            } else if (longest[i] > i) {
+                covered = longest[i];
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * 状态转移，当前状态没有对应的转移边时沿失败转移回退
+     */
+    private int next(int state, char c) {
+        while (state != 0) {
+            int low = edgeStart[state];
+            int high = edgeStart[state + 1] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = edgeChars[mid];
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return edgeTargets[mid];
+                }
+            }
+            state = fail[state];
+        }
+        return rootNext[c];
+    }
+
+    private char normalize(char c) {
+        if (normalizeWidth) {
+            if (c >= '\uff01' && c <= '\uff5e') {
+                c = (char) (c - 0xfee0);
+            } else if (c == '\u3000') {
+                c = ' ';
+            }
+        }
+        return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+    }
+
+    private boolean isWordBoundary(CharSequence text, int start, int end) {
+        if (!wholeWord) {
+            return true;
+        }
+        return (start == 0 || !isWordChar(normalize(text.charAt(start - 1))) || !isWordChar(normalize(text.charAt(start))))
+                && (end == text.length() || !isWordChar(normalize(text.charAt(end))) || !isWordChar(normalize(text.charAt(end - 1))));
+    }
+
+    /**
+     * 是否为构成单词的字符，中日韩文字不视为单词字符
+     */
+    private static boolean isWordChar(char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+        }
+        if (!Character.isLetterOrDigit(c)) {
+            return false;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script != Character.UnicodeScript.HAN && script != Character.UnicodeScript.HIRAGANA
+                && script != Character.UnicodeScript.KATAKANA && script != Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 匹配处理函数
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * 处理匹配
+         *
+         * @param start        匹配开始位置，包含
+         * @param end          匹配结束位置，不包含
+         * @param keywordIndex 关键词编号
+         */
+        void accept(int start, int end, int keywordIndex);
+    }
+
+    /**
+     * 匹配结果
+     */
+    public static final class Match {
+        private final int start;
+        private final int end;
+        private final int keywordIndex;
+        private final String keyword;
+
+        private Match(int start, int end, int keywordIndex, String keyword) {
+            this.start = start;
+            this.end = end;
+            this.keywordIndex = keywordIndex;
+            this.keyword = keyword;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public int getKeywordIndex() {
+            return keywordIndex;
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Match)) {
+                return false;
+            }
+            Match match = (Match) o;
+            return start == match.start && end == match.end && keywordIndex == match.keywordIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, keywordIndex);
+        }
+
+        @Override
+        public String toString() {
+            return keyword + "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * 构建器，非线程安全
+     */
+    public static final class Builder {
+        private final List<String> keywords = new ArrayList<>();
+        private boolean ignoreCase;
+        private boolean normalizeWidth;
+        private boolean wholeWord;
+
+        private Builder() {
+        }
+
+        /**
+         * 添加关键词，{@code null} 和空串会被忽略
+         *
+         * @param keyword 关键词
+         * @return this
+         */
+        public Builder add(String keyword) {
+            if (keyword != null && !keyword.isEmpty()) {
+                keywords.add(keyword);
+            }
+            return this;
+        }
+
+        /**
+         * 添加关键词，{@code null} 和空串会被忽略
+         *
+         * @param keywords 关键词
+         * @return this
+         */
+        public Builder addAll(Collection<String> keywords) {
+            if (keywords != null) {
+                for (String keyword : keywords) {
+                    add(keyword);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否忽略大小写
+         *
+         * @param ignoreCase 是否忽略大小写
+         * @return this
+         */
+        public Builder ignoreCase(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            return this;
+        }
+
+        /**
+         * 设置是否将全角 ASCII 字符和全角空格视为半角字符
+         *
+         * @param normalizeWidth 是否全角转半角
+         * @return this
+         */
+        public Builder normalizeWidth(boolean normalizeWidth) {
+            this.normalizeWidth = normalizeWidth;
+            return this;
+        }
+
+        /**
+         * 设置是否整词匹配，中日韩文字之间没有词边界
+         *
+         * @param wholeWord 是否整词匹配
+         * @return this
+         */
+        public Builder wholeWord(boolean wholeWord) {
+            this.wholeWord = wholeWord;
+            return this;
+        }
+
+        /**
+         * 构建自动机
+         *
+         * @return 自动机
+         */
+        public AhoCorasick build() {
+            return new AhoCorasick(this);
+        }
+    }
+}
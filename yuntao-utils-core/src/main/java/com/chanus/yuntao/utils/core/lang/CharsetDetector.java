@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.CharsetUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 字符集探测器，用于区分 UTF-8 和 GBK 编码的文本
+ * <p>
+ * 内容通过 {@link #update(byte[], int, int)} 分批输入，只检查前 {@code sampleSize} 个字节，内存占用固定，
+ * 可用于任意大小的输入。探测规则：
+ * </p>
+ * <ol>
+ *     <li>以 BOM 开头时直接确定为 UTF-8、UTF-16BE 或 UTF-16LE</li>
+ *     <li>逐字节校验 UTF-8 序列（排除超长编码和代理区），合法且包含多字节字符时为 UTF-8，多字节字符越多置信度越高</li>
+ *     <li>否则按 GBK 双字节范围计分，落在 GB2312 常用汉字区的比例越高置信度越高</li>
+ *     <li>两种编码都不合法时选择错误率较低的一种，置信度较低</li>
+ *     <li>只有 ASCII 字符时为 UTF-8，置信度为 1</li>
+ * </ol>
+ * 该类非线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class CharsetDetector {
+    /**
+     * 默认的采样字节数
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 64 * 1024;
+
+    private final int sampleSize;
+    /**
+     * 已检查的字节数
+     */
+    private int count;
+    /**
+     * 由 BOM 确定的结果
+     */
+    private Result bomResult;
+    /**
+     * 开头用于识别 BOM 的字节
+     */
+    private final byte[] head = new byte[3];
+    private int headLength;
+
+    private int asciiCount;
+
+    /**
+     * 当前 UTF-8 序列还需要的后续字节数
+     */
+    private int utf8Remaining;
+    /**
+     * 当前 UTF-8 序列第二个字节的下限和上限
+     */
+    private int utf8Lower = 0x80;
+    private int utf8Upper = 0xBF;
+    private int utf8Sequences;
+    private int utf8Errors;
+
+    /**
+     * GBK 双字节的首字节，0 表示没有等待中的首字节
+     */
+    private int gbkLead;
+    private int gbkPairs;
+    private int gbkCommonPairs;
+    private int gbkErrors;
+
+    /**
+     * 使用默认采样字节数构造探测器
+     */
+    public CharsetDetector() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * 构造探测器
+     *
+     * @param sampleSize 采样字节数
+     */
+    public CharsetDetector(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("sampleSize must be positive: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 探测字节数组的字符集
+     *
+     * @param bytes 字节数组
+     * @return 探测结果
+     */
+    public static Result detect(byte[] bytes) {
+        CharsetDetector detector = new CharsetDetector();
+        detector.update(bytes, 0, bytes.length);
+        return detector.result();
+    }
+
+    /**
+     * 探测输入流的字符集，最多读取 {@value #DEFAULT_SAMPLE_SIZE} 个字节；
+     * 输入流支持 {@link InputStream#mark(int)} 时读取后重置到原位置，否则读取的内容会被消费，不关闭输入流
+     *
+     * @param in 输入流
+     * @return 探测结果
+     * @throws IOException IO 异常
+     */
+    public static Result detect(InputStream in) throws IOException {
+        CharsetDetector detector = new CharsetDetector();
+        boolean mark = in.markSupported();
+        if (mark) {
+            in.mark(DEFAULT_SAMPLE_SIZE);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        while (!detector.isDone() && (read = in.read(buffer, 0, Math.min(buffer.length, detector.remaining()))) != -1) {
+            detector.update(buffer, 0, read);
+        }
+        if (mark) {
+            in.reset();
+        }
+        return detector.result();
+    }
+
+    /**
+     * 输入内容，超过采样字节数的部分被忽略
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 字节数
+     * @return 当前探测器
+     */
+    public CharsetDetector update(byte[] bytes, int offset, int length) {
+        final int end = offset + Math.min(length, remaining());
+        for (int i = offset; i < end; i++) {
+            int b = bytes[i] & 0xFF;
+            if (headLength < head.length && count == headLength) {
+                head[headLength++] = (byte) b;
+                if (checkBom()) {
+                    count = sampleSize;
+                    return this;
+                }
+            }
+            count++;
+            if (b < 0x80) {
+                asciiCount++;
+            }
+            updateUtf8(b);
+            updateGbk(b);
+        }
+        return this;
+    }
+
+    /**
+     * 是否已达到采样字节数或已通过 BOM 确定结果
+     *
+     * @return {@code true} 不再需要更多输入
+     */
+    public boolean isDone() {
+        return count >= sampleSize;
+    }
+
+    /**
+     * 获取探测结果
+     *
+     * @return 探测结果
+     */
+    public Result result() {
+        if (bomResult != null) {
+            return bomResult;
+        }
+        int nonAscii = count - asciiCount;
+        if (nonAscii == 0) {
+            return new Result(StandardCharsets.UTF_8, 1.0, 0);
+        }
+
+        Charset gbk = CharsetUtils.CHARSET_GBK;
+        if (utf8Errors == 0 || gbk == null) {
+            // 合法的多字节 UTF-8 序列很少出现在 GBK 文本中，序列越多越可信
+            double confidence = utf8Errors == 0 ? 1 - 0.5 * Math.pow(0.75, Math.max(0, utf8Sequences - 1)) : 0.1;
+            return new Result(StandardCharsets.UTF_8, confidence, 0);
+        }
+        if (gbkErrors == 0) {
+            // 只有末尾未配对的首字节时没有可统计的双字节对，按最低置信度返回
+            return new Result(gbk, gbkPairs == 0 ? 0.6 : 0.6 + 0.4 * gbkCommonPairs / gbkPairs, 0);
+        }
+
+        // 两者均不合法时按错误率选择
+        double utf8Rate = (double) utf8Errors / nonAscii;
+        double gbkRate = (double) gbkErrors / nonAscii;
+        return utf8Rate <= gbkRate
+                ? new Result(StandardCharsets.UTF_8, Math.max(0.0, 0.4 * (1 - utf8Rate)), 0)
+                : new Result(gbk, Math.max(0.0, 0.4 * (1 - gbkRate)), 0);
+    }
+
+    /**
+     * 剩余的采样字节数
+     */
+    private int remaining() {
+        return Math.max(0, sampleSize - count);
+    }
+
+    private boolean checkBom() {
+        if (headLength == 2) {
+            if (head[0] == (byte) 0xFE && head[1] == (byte) 0xFF) {
+                bomResult = new Result(StandardCharsets.UTF_16BE, 1.0, 2);
+            } else if (head[0] == (byte) 0xFF && head[1] == (byte) 0xFE) {
+                bomResult = new Result(StandardCharsets.UTF_16LE, 1.0, 2);
+            }
+        } else if (headLength == 3 && head[0] == (byte) 0xEF && head[1] == (byte) 0xBB && head[2] == (byte) 0xBF) {
+            bomResult = new Result(StandardCharsets.UTF_8, 1.0, 3);
+        }
+        return bomResult != null;
+    }
+
+    private void updateUtf8(int b) {
+        if (utf8Remaining > 0) {
+            if (b >= utf8Lower && b <= utf8Upper) {
+                utf8Lower = 0x80;
+                utf8Upper = 0xBF;
+                if (--utf8Remaining == 0) {
+                    utf8Sequences++;
+                }
+                return;
+            }
+            // 序列中断，当前字节重新作为序列开头处理
+            utf8Errors++;
+            utf8Remaining = 0;
+            utf8Lower = 0x80;
+            utf8Upper = 0xBF;
+        }
+
+        if (b < 0x80) {
+            return;
+        }
+        if (b >= 0xC2 && b <= 0xDF) {
+            utf8Remaining = 1;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            utf8Remaining = 2;
+            if (b == 0xE0) {
+                utf8Lower = 0xA0;
+            } else if (b == 0xED) {
+                utf8Upper = 0x9F;
+            }
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            utf8Remaining = 3;
+            if (b == 0xF0) {
+                utf8Lower = 0x90;
+            } else if (b == 0xF4) {
+                utf8Upper = 0x8F;
+            }
+        } else {
+            utf8Errors++;
+        }
+    }
+
+    private void updateGbk(int b) {
+        if (gbkLead != 0) {
+            if (b >= 0x40 && b <= 0xFE && b != 0x7F) {
+                gbkPairs++;
+                // GB2312 一、二级汉字区
+                if (gbkLead >= 0xB0 && gbkLead <= 0xF7 && b >= 0xA1) {
+                    gbkCommonPairs++;
+                }
+            } else {
+                gbkErrors++;
+            }
+            gbkLead = 0;
+            return;
+        }
+
+        if (b >= 0x81 && b <= 0xFE) {
+            gbkLead = b;
+        } else if (b >= 0x80) {
+            gbkErrors++;
+        }
+    }
+
+    /**
+     * 探测结果
+     */
+    public static final class Result {
+        private final Charset charset;
+        private final double confidence;
+        private final int bomLength;
+
+        private Result(Charset charset, double confidence, int bomLength) {
+            this.charset = charset;
+            this.confidence = confidence;
+            this.bomLength = bomLength;
+        }
+
+        /**
+         * 获取探测到的字符集
+         *
+         * @return 字符集
+         */
+        public Charset getCharset() {
+            return charset;
+        }
+
+        /**
+         * 获取置信度
+         *
+         * @return 置信度，范围为 0 到 1
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * 获取 BOM 的字节数，解码时应跳过
+         *
+         * @return BOM 的字节数，没有 BOM 时为 0
+         */
+        public int getBomLength() {
+            return bomLength;
+        }
+
+        @Override
+        public String toString() {
+            return charset.name() + "(" + String.format("%.2f", confidence) + ")";
+        }
+    }
+}
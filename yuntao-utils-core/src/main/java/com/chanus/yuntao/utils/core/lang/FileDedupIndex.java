@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.FileUtils;
+import com.chanus.yuntao.utils.core.IOUtils;
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.codec.Hex;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * 基于文件内容摘要的重复文件索引
+ * <p>
+ * 查找重复文件时按以下顺序逐步缩小候选范围，尽量避免读取整个文件：<br>
+ * 1. 使用 {@link FileUtils#walkFiles(Path, int, java.nio.file.FileVisitor)} 遍历目录，按文件大小分组，大小唯一的文件直接排除；<br>
+ * 2. 对大小相同的文件计算头部若干字节的摘要（部分摘要），部分摘要唯一的文件直接排除；<br>
+ * 3. 仅对部分摘要仍然相同的文件计算完整摘要，完整摘要相同的文件即为重复文件。
+ * </p>
+ * <p>
+ * 指定索引文件时，已计算的摘要会以文件路径为键、文件大小和最后修改时间为校验条件持久化到磁盘，
+ * 再次扫描时大小和修改时间均未变化的文件直接复用已有摘要，无需重新读取文件内容。
+ * </p>
+ * 该类非线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FileDedupIndex {
+    /**
+     * 默认摘要算法
+     */
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+    /**
+     * 默认部分摘要读取的字节数
+     */
+    public static final int DEFAULT_PARTIAL_SIZE = 4096;
+    /**
+     * 索引文件字段分隔符
+     */
+    private static final char FIELD_SEPARATOR = '\t';
+    /**
+     * 索引文件中未计算摘要的占位符
+     */
+    private static final String NONE = "-";
+
+    /**
+     * 索引文件，为 {@code null} 时不持久化
+     */
+    private final File indexFile;
+    /**
+     * 摘要算法
+     */
+    private final String algorithm;
+    /**
+     * 部分摘要读取的字节数
+     */
+    private final int partialSize;
+    /**
+     * 文件绝对路径与索引条目的映射
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * 构造，不持久化索引，使用默认摘要算法和部分摘要长度
+     */
+    public FileDedupIndex() {
+        this(null);
+    }
+
+    /**
+     * 构造，使用默认摘要算法和部分摘要长度
+     *
+     * @param indexFile 索引文件，为 {@code null} 时不持久化；文件存在时自动加载
+     */
+    public FileDedupIndex(File indexFile) {
+        this(indexFile, DEFAULT_ALGORITHM, DEFAULT_PARTIAL_SIZE);
+    }
+
+    /**
+     * 构造
+     *
+     * @param indexFile   索引文件，为 {@code null} 时不持久化；文件存在时自动加载
+     * @param algorithm   摘要算法，如 MD5、SHA-1、SHA-256
+     * @param partialSize 部分摘要读取的字节数，必须大于0
+     */
+    public FileDedupIndex(File indexFile, String algorithm, int partialSize) {
+        if (partialSize <= 0) {
+            throw new IllegalArgumentException("Partial size must be greater than 0!");
+        }
+        // 提前校验算法是否可用
+        newDigest(algorithm);
+
+        this.indexFile = indexFile;
+        this.algorithm = algorithm;
+        this.partialSize = partialSize;
+        if (indexFile != null && indexFile.isFile()) {
+            load();
+        }
+    }
+
+    /**
+     * 查找目录及子目录中的重复文件
+     *
+     * @param dir 目录
+     * @return 重复文件分组，每组内的文件内容完全相同
+     */
+    public List<List<File>> findDuplicates(File dir) {
+        return findDuplicates(dir, -1, null);
+    }
+
+    /**
+     * 查找目录及子目录中的重复文件，空文件不参与比较
+     *
+     * @param dir        目录
+     * @param maxDepth   遍历最大深度，-1表示遍历到没有目录为止
+     * @param fileFilter 文件过滤规则对象，选择要参与比较的文件，null 表示接收全部文件
+     * @return 重复文件分组，每组内的文件内容完全相同
+     */
+    public List<List<File>> findDuplicates(File dir, int maxDepth, final FileFilter fileFilter) {
+        if (dir == null || !dir.isDirectory()) {
+            throw new IllegalArgumentException(String.format("Path [%s] is not directory!", dir));
+        }
+
+        // 1. 按文件大小分组
+        final Map<Long, List<Entry>> sizeGroups = new HashMap<>();
+        final Set<String> visited = new HashSet<>();
+        FileUtils.walkFiles(dir.toPath(), maxDepth, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                if (!attrs.isRegularFile() || attrs.size() == 0) {
+                    return FileVisitResult.CONTINUE;
+                }
+                File file = path.toFile();
+                if (fileFilter != null && !fileFilter.accept(file)) {
+                    return FileVisitResult.CONTINUE;
+                }
+
+                String key = file.getAbsolutePath();
+                long size = attrs.size();
+                long lastModified = attrs.lastModifiedTime().toMillis();
+                Entry entry = entries.get(key);
+                if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+                    entry = new Entry(key, size, lastModified);
+                    entries.put(key, entry);
+                }
+                visited.add(key);
+                sizeGroups.computeIfAbsent(size, k -> new ArrayList<>()).add(entry);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        removeStaleEntries(dir.getAbsolutePath(), visited);
+
+        List<List<File>> duplicates = new ArrayList<>();
+        for (List<Entry> sizeGroup : sizeGroups.values()) {
+            if (sizeGroup.size() < 2) {
+                continue;
+            }
+
+            // 2. 按部分摘要分组
+            Map<String, List<Entry>> partialGroups = new HashMap<>();
+            for (Entry entry : sizeGroup) {
+                if (entry.partialHash == null) {
+                    entry.partialHash = hash(entry, partialSize);
+                }
+                partialGroups.computeIfAbsent(entry.partialHash, k -> new ArrayList<>()).add(entry);
+            }
+
+            for (List<Entry> partialGroup : partialGroups.values()) {
+                if (partialGroup.size() < 2) {
+                    continue;
+                }
+
+                // 3. 按完整摘要分组，文件不超过部分摘要长度时部分摘要即为完整摘要
+                Map<String, List<File>> fullGroups = new HashMap<>();
+                for (Entry entry : partialGroup) {
+                    if (entry.fullHash == null) {
+                        entry.fullHash = entry.size <= partialSize ? entry.partialHash : hash(entry, Long.MAX_VALUE);
+                    }
+                    fullGroups.computeIfAbsent(entry.fullHash, k -> new ArrayList<>()).add(new File(entry.path));
+                }
+
+                for (List<File> fullGroup : fullGroups.values()) {
+                    if (fullGroup.size() > 1) {
+                        duplicates.add(fullGroup);
+                    }
+                }
+            }
+        }
+
+        if (indexFile != null) {
+            save();
+        }
+
+        return duplicates;
+    }
+
+    /**
+     * 获取已索引的文件内容摘要，文件未索引或未计算完整摘要时返回 {@code null}
+     *
+     * @param file 文件
+     * @return 文件内容摘要的十六进制字符串
+     */
+    public String getHash(File file) {
+        if (file == null) {
+            return null;
+        }
+        Entry entry = entries.get(file.getAbsolutePath());
+        return entry == null ? null : entry.fullHash;
+    }
+
+    /**
+     * 已索引的文件数量
+     *
+     * @return 已索引的文件数量
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 清空索引，不会删除索引文件
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 从索引文件加载索引，已加载的条目会被覆盖
+     */
+    public void load() {
+        if (indexFile == null || !indexFile.isFile()) {
+            return;
+        }
+
+        List<String> lines;
+        try {
+            lines = FileUtils.readUtf8Lines(indexFile);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+
+        for (String line : lines) {
+            // 格式：算法 大小 修改时间 部分摘要 完整摘要 路径，路径放在最后以允许包含分隔符
+            List<String> fields = StringUtils.split(line, FIELD_SEPARATOR, 6, false, false, false);
+            if (fields.size() < 6 || !algorithm.equals(fields.get(0))) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry(fields.get(5), Long.parseLong(fields.get(1)), Long.parseLong(fields.get(2)));
+                entry.partialHash = NONE.equals(fields.get(3)) ? null : fields.get(3);
+                entry.fullHash = NONE.equals(fields.get(4)) ? null : fields.get(4);
+                entries.put(entry.path, entry);
+            } catch (NumberFormatException ignored) {
+                // 忽略损坏的行
+            }
+        }
+    }
+
+    /**
+     * 将索引保存到索引文件
+     */
+    public void save() {
+        if (indexFile == null) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>(entries.size());
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries.values()) {
+            sb.setLength(0);
+            sb.append(algorithm).append(FIELD_SEPARATOR)
+                    .append(entry.size).append(FIELD_SEPARATOR)
+                    .append(entry.lastModified).append(FIELD_SEPARATOR)
+                    .append(entry.partialHash == null ? NONE : entry.partialHash).append(FIELD_SEPARATOR)
+                    .append(entry.fullHash == null ? NONE : entry.fullHash).append(FIELD_SEPARATOR)
+                    .append(entry.path);
+            lines.add(sb.toString());
+        }
+        FileUtils.write(indexFile, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 移除扫描目录下已不存在的文件条目
+     *
+     * @param root    扫描的目录绝对路径
+     * @param visited 本次扫描到的文件
+     */
+    private void removeStaleEntries(String root, Set<String> visited) {
+        String prefix = root.endsWith(File.separator) ? root : root + File.separator;
+        entries.keySet().removeIf(path -> path.startsWith(prefix) && !visited.contains(path));
+    }
+
+    /**
+     * 计算文件头部若干字节的摘要
+     *
+     * @param entry 索引条目
+     * @param limit 最多读取的字节数
+     * @return 摘要的十六进制字符串
+     */
+    private String hash(Entry entry, long limit) {
+        MessageDigest md = newDigest(algorithm);
+        InputStream in = null;
+        try {
+            in = new FileInputStream(entry.path);
+            byte[] buffer = new byte[(int) Math.min(8192, Math.max(limit, 1))];
+            long remaining = limit;
+            int len;
+            while (remaining > 0 && (len = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                md.update(buffer, 0, len);
+                remaining -= len;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+
+        return Hex.encode(md.digest());
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 索引条目
+     */
+    private static class Entry {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private String partialHash;
+        private String fullHash;
+
+        private Entry(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
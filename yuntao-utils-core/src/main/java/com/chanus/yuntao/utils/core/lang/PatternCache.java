@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 有界的已编译正则缓存
+ * <p>
+ * 按正则表达式和匹配标志缓存 {@link Pattern}，读取不加锁，命中时只将条目的访问序号记为当前序号，不递增序号；
+ * 序号只在写入时递增，两次写入之间命中的条目视为同样新。
+ * 缓存数量超过上限时批量淘汰最久未访问的条目（近似 LRU），淘汰由写入线程顺带完成。
+ * 通过 {@link #precompile(String...)} 预编译的正则常驻缓存，不会被淘汰；
+ * 通过 {@link #register(String, String)} 可以为常用正则命名，按名称直接获取。
+ * </p>
+ * 线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class PatternCache {
+    /**
+     * 默认的缓存最大数量
+     */
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    /**
+     * 缓存的最大数量
+     */
+    private final int maxSize;
+    /**
+     * 默认匹配标志，使用默认标志的正则直接以正则表达式作为键，查找时无需创建键对象
+     */
+    private final int defaultFlags;
+    /**
+     * 缓存
+     */
+    private final Map<Object, Entry> cache = new ConcurrentHashMap<>();
+    /**
+     * 命名的正则
+     */
+    private final Map<String, Pattern> registry = new ConcurrentHashMap<>();
+    /**
+     * 访问序号，只在写入时递增
+     */
+    private final AtomicLong clock = new AtomicLong();
+    /**
+     * 淘汰锁，同一时刻只允许一个线程执行淘汰
+     */
+    private final Object evictLock = new Object();
+    /**
+     * 预编译的正则数量
+     */
+    private final AtomicInteger pinnedCount = new AtomicInteger();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 使用默认最大数量、无匹配标志构造缓存
+     */
+    public PatternCache() {
+        this(DEFAULT_MAX_SIZE, 0);
+    }
+
+    /**
+     * 构造缓存
+     *
+     * @param maxSize      缓存的最大数量，不包括预编译的正则
+     * @param defaultFlags 默认匹配标志，如 {@link Pattern#DOTALL}
+     */
+    public PatternCache(int maxSize, int defaultFlags) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.defaultFlags = defaultFlags;
+    }
+
+    /**
+     * 使用默认匹配标志获取已编译的正则，未缓存时编译并缓存
+     *
+     * @param regex 正则表达式
+     * @return 已编译的正则
+     */
+    public Pattern get(String regex) {
+        return get(regex, defaultFlags);
+    }
+
+    /**
+     * 获取已编译的正则，未缓存时编译并缓存
+     *
+     * @param regex 正则表达式
+     * @param flags 匹配标志
+     * @return 已编译的正则
+     */
+    public Pattern get(String regex, int flags) {
+        Objects.requireNonNull(regex, "regex");
+        Object key = flags == defaultFlags ? regex : new Key(regex, flags);
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            if (!entry.pinned) {
+                long now = clock.get();
+                if (entry.lastAccess != now) {
+                    entry.lastAccess = now;
+                }
+            }
+            return entry.pattern;
+        }
+
+        missCount.increment();
+        return put(key, Pattern.compile(regex, flags)).pattern;
+    }
+
+    /**
+     * 使用默认匹配标志预编译正则，预编译的正则常驻缓存，不会被淘汰
+     *
+     * @param regexes 正则表达式
+     */
+    public void precompile(String... regexes) {
+        for (String regex : regexes) {
+            Objects.requireNonNull(regex, "regex");
+            Entry previous = cache.put(regex, new Entry(Pattern.compile(regex, defaultFlags), 0, true));
+            if (previous == null || !previous.pinned) {
+                pinnedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 使用默认匹配标志编译正则并命名
+     *
+     * @param name  名称
+     * @param regex 正则表达式
+     * @return 已编译的正则
+     */
+    public Pattern register(String name, String regex) {
+        return register(name, regex, defaultFlags);
+    }
+
+    /**
+     * 编译正则并命名，同名的正则会被覆盖
+     *
+     * @param name  名称
+     * @param regex 正则表达式
+     * @param flags 匹配标志
+     * @return 已编译的正则
+     */
+    public Pattern register(String name, String regex, int flags) {
+        Objects.requireNonNull(name, "name");
+        Pattern pattern = Pattern.compile(regex, flags);
+        registry.put(name, pattern);
+        return pattern;
+    }
+
+    /**
+     * 获取命名的正则
+     *
+     * @param name 名称
+     * @return 已编译的正则，未注册返回 {@code null}
+     */
+    public Pattern getRegistered(String name) {
+        return registry.get(name);
+    }
+
+    /**
+     * 移除命名的正则
+     *
+     * @param name 名称
+     * @return 被移除的正则，未注册返回 {@code null}
+     */
+    public Pattern unregister(String name) {
+        return registry.remove(name);
+    }
+
+    /**
+     * 获取缓存的正则数量，包括预编译的正则
+     *
+     * @return 缓存数量
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 获取缓存的最大数量
+     *
+     * @return 缓存的最大数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取未命中次数，即编译次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，没有访问时返回 {@code 1.0}
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * 清空缓存，包括预编译的正则，不影响命名的正则
+     */
+    public void clear() {
+        cache.clear();
+        pinnedCount.set(0);
+    }
+
+    /**
+     * 重置命中、未命中和淘汰次数
+     */
+    public void resetStats() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    private Entry put(Object key, Pattern pattern) {
+        // 写入的条目取递增前的序号，此后命中的条目序号更大，视为比它新
+        Entry entry = new Entry(pattern, clock.getAndIncrement(), false);
+        Entry existing = cache.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing;
+        }
+        evictIfNecessary();
+        return entry;
+    }
+
+    /**
+     * 未预编译的条目数量超过上限时淘汰最久未访问的条目，每次多淘汰上限的八分之一，摊薄排序的开销
+     */
+    private void evictIfNecessary() {
+        if (cache.size() - pinnedCount.get() <= maxSize) {
+            return;
+        }
+
+        synchronized (evictLock) {
+            // 访问序号会被并发更新，排序前先取快照
+            List<Candidate> candidates = new ArrayList<>(cache.size());
+            for (Map.Entry<Object, Entry> e : cache.entrySet()) {
+                Entry entry = e.getValue();
+                if (!entry.pinned) {
+                    candidates.add(new Candidate(e.getKey(), entry, entry.lastAccess));
+                }
+            }
+            int excess = candidates.size() - maxSize;
+            if (excess <= 0) {
+                return;
+            }
+
+            int count = Math.min(candidates.size(), excess + Math.max(1, maxSize >> 3) - 1);
+            candidates.sort((a, b) -> Long.compare(a.lastAccess, b.lastAccess));
+            for (int i = 0; i < count; i++) {
+                Candidate candidate = candidates.get(i);
+                if (cache.remove(candidate.key, candidate.entry)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PatternCache{size=" + cache.size() + ", maxSize=" + maxSize + ", hitCount=" + getHitCount()
+                + ", missCount=" + getMissCount() + ", evictionCount=" + getEvictionCount() + "}";
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+        final Pattern pattern;
+        final boolean pinned;
+        volatile long lastAccess;
+
+        Entry(Pattern pattern, long lastAccess, boolean pinned) {
+            this.pattern = pattern;
+            this.lastAccess = lastAccess;
+            this.pinned = pinned;
+        }
+    }
+
+    /**
+     * 淘汰候选，保存排序时的访问序号快照
+     */
+    private static final class Candidate {
+        final Object key;
+        final Entry entry;
+        final long lastAccess;
+
+        Candidate(Object key, Entry entry, long lastAccess) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * 非默认匹配标志的缓存键
+     */
+    private static final class Key {
+        final String regex;
+        final int flags;
+        final int hash;
+
+        Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+            this.hash = regex.hashCode() * 31 + flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return flags == key.flags && regex.equals(key.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
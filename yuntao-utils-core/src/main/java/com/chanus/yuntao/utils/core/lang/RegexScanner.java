@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.IOUtils;
+import com.chanus.yuntao.utils.core.RegexUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 流式正则扫描器，无需将全部内容读入内存即可在 {@link Reader}、{@link ReadableByteChannel} 或文件中查找匹配
+ * <p>
+ * 内容按块读入滑动窗口，窗口末尾可能因后续内容而变化的匹配（{@link Matcher#hitEnd()}）会保留到下一块继续匹配，
+ * 因此跨越块边界的匹配不会丢失或被截断。保留的内容不超过 {@link #maxMatchLength(int)}，
+ * 长度超过该值的匹配可能被截断；为支持 {@code ^}、{@code \b} 和短的后行断言，匹配位置之前会额外保留少量上下文。
+ * 匹配的位置为字符偏移量，通过回调或 {@link Stream} 依次输出。
+ * </p>
+ * <p>
+ * 对于大文件可使用并行模式：文件按行边界切分为若干分段，各分段通过内存映射读取后并行匹配，
+ * 每个分段视为独立的文本，因此并行模式只适用于不跨行的正则，且要求字符集中换行符为单字节（如 UTF-8、GBK）。
+ * </p>
+ * 实例不可变，线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class RegexScanner {
+    /**
+     * 默认每次读取的字符数
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    /**
+     * 默认的最大匹配长度
+     */
+    public static final int DEFAULT_MAX_MATCH_LENGTH = 4096;
+    /**
+     * 默认的并行分段大小，单位字节
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 23;
+    /**
+     * 匹配位置之前额外保留的上下文长度
+     */
+    private static final int CONTEXT_LENGTH = 16;
+
+    private final Pattern pattern;
+    private final int bufferSize;
+    private final int maxMatchLength;
+    private final int segmentSize;
+
+    private RegexScanner(Pattern pattern, int bufferSize, int maxMatchLength, int segmentSize) {
+        this.pattern = pattern;
+        this.bufferSize = bufferSize;
+        this.maxMatchLength = maxMatchLength;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 创建扫描器，正则通过 {@link RegexUtils#getPattern(String)} 编译
+     *
+     * @param regex 正则表达式
+     * @return 扫描器
+     */
+    public static RegexScanner of(String regex) {
+        return of(RegexUtils.getPattern(Objects.requireNonNull(regex, "regex")));
+    }
+
+    /**
+     * 创建扫描器
+     *
+     * @param pattern 正则模式
+     * @return 扫描器
+     */
+    public static RegexScanner of(Pattern pattern) {
+        return new RegexScanner(Objects.requireNonNull(pattern, "pattern"), DEFAULT_BUFFER_SIZE, DEFAULT_MAX_MATCH_LENGTH,
+                DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 设置每次读取的字符数
+     *
+     * @param bufferSize 每次读取的字符数
+     * @return 新的扫描器
+     */
+    public RegexScanner bufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        return new RegexScanner(pattern, bufferSize, maxMatchLength, segmentSize);
+    }
+
+    /**
+     * 设置最大匹配长度，即跨越块边界时最多保留的字符数
+     *
+     * @param maxMatchLength 最大匹配长度
+     * @return 新的扫描器
+     */
+    public RegexScanner maxMatchLength(int maxMatchLength) {
+        if (maxMatchLength <= 0) {
+            throw new IllegalArgumentException("maxMatchLength must be positive: " + maxMatchLength);
+        }
+        return new RegexScanner(pattern, bufferSize, maxMatchLength, segmentSize);
+    }
+
+    /**
+     * 设置并行模式下的分段大小
+     *
+     * @param segmentSize 分段大小，单位字节
+     * @return 新的扫描器
+     */
+    public RegexScanner segmentSize(int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive: " + segmentSize);
+        }
+        return new RegexScanner(pattern, bufferSize, maxMatchLength, segmentSize);
+    }
+
+    /**
+     * 获取正则模式
+     *
+     * @return 正则模式
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 扫描 {@link Reader}，依次输出匹配，不关闭 {@code reader}
+     *
+     * @param reader   {@link Reader}
+     * @param consumer 匹配的处理
+     */
+    public void scan(Reader reader, Consumer<? super Match> consumer) {
+        Cursor cursor = new Cursor(reader);
+        try {
+            while (cursor.find()) {
+                consumer.accept(cursor.toMatch());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 扫描通道，依次输出匹配，不关闭 {@code channel}，无法解码的字节以替换字符处理
+     *
+     * @param channel  通道
+     * @param charset  字符集
+     * @param consumer 匹配的处理
+     */
+    public void scan(ReadableByteChannel channel, Charset charset, Consumer<? super Match> consumer) {
+        scan(newReader(channel, charset), consumer);
+    }
+
+    /**
+     * 扫描文件，依次输出匹配
+     *
+     * @param path     文件路径
+     * @param charset  字符集
+     * @param consumer 匹配的处理
+     */
+    public void scan(Path path, Charset charset, Consumer<? super Match> consumer) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scan(channel, charset, consumer);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 计算 {@link Reader} 中匹配的个数，不关闭 {@code reader}
+     *
+     * @param reader {@link Reader}
+     * @return 匹配的个数
+     */
+    public long count(Reader reader) {
+        Cursor cursor = new Cursor(reader);
+        long count = 0;
+        try {
+            while (cursor.find()) {
+                count++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+        return count;
+    }
+
+    /**
+     * 计算通道中匹配的个数，不关闭 {@code channel}
+     *
+     * @param channel 通道
+     * @param charset 字符集
+     * @return 匹配的个数
+     */
+    public long count(ReadableByteChannel channel, Charset charset) {
+        return count(newReader(channel, charset));
+    }
+
+    /**
+     * 计算文件中匹配的个数
+     *
+     * @param path    文件路径
+     * @param charset 字符集
+     * @return 匹配的个数
+     */
+    public long count(Path path, Charset charset) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return count(channel, charset);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 以 {@link Stream} 的形式惰性输出 {@link Reader} 中的匹配，不关闭 {@code reader}
+     *
+     * @param reader {@link Reader}
+     * @return 匹配的 {@link Stream}
+     */
+    public Stream<Match> stream(Reader reader) {
+        Cursor cursor = new Cursor(reader);
+        Spliterator<Match> spliterator = new Spliterators.AbstractSpliterator<Match>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Match> action) {
+                try {
+                    if (cursor.find()) {
+                        action.accept(cursor.toMatch());
+                        return true;
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred.", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * 以 {@link Stream} 的形式惰性输出文件中的匹配，使用完毕后需关闭 {@link Stream} 以关闭文件
+     *
+     * @param path    文件路径
+     * @param charset 字符集
+     * @return 匹配的 {@link Stream}
+     */
+    public Stream<Match> stream(Path path, Charset charset) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+        return stream(newReader(channel, charset)).onClose(() -> IOUtils.closeQuietly(channel));
+    }
+
+    /**
+     * 并行查找文件中的全部匹配，文件按行边界分段后通过内存映射并行匹配，结果按位置排序
+     *
+     * @param path    文件路径
+     * @param charset 字符集，换行符必须为单字节
+     * @return 全部匹配
+     */
+    public List<Match> findAllParallel(Path path, Charset charset) {
+        checkLineCharset(charset);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitLines(channel);
+            List<Segment> segments = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> scanSegment(channel, bounds[i], bounds[i + 1], charset, true))
+                    .collect(Collectors.toList());
+
+            int total = 0;
+            for (Segment segment : segments) {
+                total += segment.matches.size();
+            }
+            List<Match> matches = new ArrayList<>(total);
+            long offset = 0;
+            for (Segment segment : segments) {
+                for (Match match : segment.matches) {
+                    matches.add(offset == 0 ? match : match.shift(offset));
+                }
+                offset += segment.length;
+            }
+            return matches;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    /**
+     * 并行计算文件中匹配的个数，文件按行边界分段后通过内存映射并行匹配
+     *
+     * @param path    文件路径
+     * @param charset 字符集，换行符必须为单字节
+     * @return 匹配的个数
+     */
+    public long countParallel(Path path, Charset charset) {
+        checkLineCharset(charset);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitLines(channel);
+            return IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToLong(i -> scanSegment(channel, bounds[i], bounds[i + 1], charset, false).count)
+                    .sum();
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+    }
+
+    private static Reader newReader(ReadableByteChannel channel, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return Channels.newReader(channel, decoder, -1);
+    }
+
+    private static void checkLineCharset(Charset charset) {
+        byte[] lineFeed = "\n".getBytes(charset);
+        if (lineFeed.length != 1 || lineFeed[0] != '\n') {
+            throw new IllegalArgumentException("Line feed must be a single byte in charset: " + charset);
+        }
+    }
+
+    /**
+     * 按分段大小将文件切分在换行符之后，返回各分段的边界
+     */
+    private long[] splitLines(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[16];
+        int n = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = segmentSize;
+        while (position < size) {
+            long lineEnd = -1;
+            long p = position;
+            search:
+            while (p < size) {
+                buffer.clear();
+                int read = channel.read(buffer, p);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lineEnd = p + i + 1;
+                        break search;
+                    }
+                }
+                p += read;
+            }
+            if (lineEnd < 0 || lineEnd >= size) {
+                break;
+            }
+            if (n == bounds.length) {
+                bounds = Arrays.copyOf(bounds, n << 1);
+            }
+            bounds[n++] = lineEnd;
+            position = lineEnd + segmentSize;
+        }
+        if (n == bounds.length) {
+            bounds = Arrays.copyOf(bounds, n + 1);
+        }
+        bounds[n++] = size;
+        return Arrays.copyOf(bounds, n);
+    }
+
+    private Segment scanSegment(FileChannel channel, long start, long end, Charset charset, boolean collect) {
+        CharBuffer chars;
+        try {
+            chars = charset.decode(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+
+        Segment segment = new Segment(chars.length(), collect);
+        Matcher matcher = pattern.matcher(chars);
+        while (matcher.find()) {
+            if (collect) {
+                segment.matches.add(Match.of(matcher, 0));
+            }
+            segment.count++;
+        }
+        return segment;
+    }
+
+    /**
+     * 滑动窗口，在读入的内容中依次查找匹配
+     */
+    private final class Cursor {
+        private final Reader reader;
+        private final char[] buffer;
+        private final Matcher matcher;
+        /**
+         * 窗口中的字符数
+         */
+        private int length;
+        /**
+         * 窗口起始位置对应的字符偏移量
+         */
+        private long base;
+        /**
+         * 重新读入内容后开始查找的位置
+         */
+        private int from;
+        private boolean eof;
+        private boolean started;
+
+        Cursor(Reader reader) {
+            this.reader = Objects.requireNonNull(reader, "reader");
+            this.buffer = new char[bufferSize + maxMatchLength + CONTEXT_LENGTH];
+            this.matcher = pattern.matcher("");
+            this.matcher.useTransparentBounds(true).useAnchoringBounds(false);
+        }
+
+        /**
+         * 查找下一个匹配，找到时 {@link #matcher} 处于该匹配
+         */
+        boolean find() throws IOException {
+            if (!started) {
+                started = true;
+                refill(0);
+            }
+
+            while (true) {
+                boolean searched = from <= length;
+                if (searched && matcher.find()) {
+                    int start = matcher.start();
+                    if (!eof && (matcher.hitEnd() || matcher.requireEnd()) && length - start <= maxMatchLength) {
+                        // 匹配可能因后续内容而变化，保留后重新匹配
+                        from = start;
+                        refill(start);
+                        continue;
+                    }
+                    int end = matcher.end();
+                    from = end == start ? end + 1 : end;
+                    return true;
+                }
+
+                if (eof) {
+                    return false;
+                }
+                // 查找触及窗口末尾时，末尾可能存在未完整读入的匹配
+                int keep = searched && matcher.hitEnd() ? Math.max(from, length - maxMatchLength) : length;
+                from = Math.max(from, keep);
+                refill(keep);
+            }
+        }
+
+        Match toMatch() {
+            return Match.of(matcher, base);
+        }
+
+        /**
+         * 丢弃 {@code keep} 之前除上下文以外的内容，并读入新内容直到窗口填满或读完
+         */
+        private void refill(int keep) throws IOException {
+            int shift = Math.max(0, keep - CONTEXT_LENGTH);
+            if (shift > 0) {
+                System.arraycopy(buffer, shift, buffer, 0, length - shift);
+                length -= shift;
+                base += shift;
+                from -= shift;
+            }
+            while (length < buffer.length) {
+                int read = reader.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                length += read;
+            }
+            matcher.reset(CharBuffer.wrap(buffer, 0, length));
+            if (from <= length) {
+                matcher.region(from, length);
+            }
+        }
+    }
+
+    /**
+     * 并行模式下一个分段的匹配结果
+     */
+    private static final class Segment {
+        final int length;
+        final List<Match> matches;
+        long count;
+
+        Segment(int length, boolean collect) {
+            this.length = length;
+            this.matches = collect ? new ArrayList<>() : null;
+        }
+    }
+
+    /**
+     * 匹配结果，位置为字符偏移量
+     */
+    public static final class Match {
+        private final long start;
+        private final long end;
+        /**
+         * 各分组匹配的内容，下标 0 为整个匹配
+         */
+        private final String[] groups;
+
+        private Match(long start, long end, String[] groups) {
+            this.start = start;
+            this.end = end;
+            this.groups = groups;
+        }
+
+        private static Match of(Matcher matcher, long base) {
+            String[] groups = new String[matcher.groupCount() + 1];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = matcher.group(i);
+            }
+            return new Match(base + matcher.start(), base + matcher.end(), groups);
+        }
+
+        private Match shift(long offset) {
+            return new Match(start + offset, end + offset, groups);
+        }
+
+        /**
+         * 获取匹配的起始位置
+         *
+         * @return 起始位置
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * 获取匹配的结束位置（不包含）
+         *
+         * @return 结束位置
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * 获取匹配的内容
+         *
+         * @return 匹配的内容
+         */
+        public String group() {
+            return groups[0];
+        }
+
+        /**
+         * 获取分组匹配的内容
+         *
+         * @param group 分组序号
+         * @return 分组匹配的内容，分组未参与匹配返回 {@code null}
+         */
+        public String group(int group) {
+            if (group < 0 || group >= groups.length) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+            return groups[group];
+        }
+
+        /**
+         * 获取分组个数，不包括分组 0
+         *
+         * @return 分组个数
+         */
+        public int groupCount() {
+            return groups.length - 1;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ") " + groups[0];
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+/**
+ * 线程本地的 {@link StringBuilder} 复用池
+ * <p>
+ * 每个线程最多缓存 {@value #POOL_DEPTH} 个 {@link StringBuilder}，支持嵌套使用；池中没有可用实例时直接创建新实例。
+ * 容量超过 {@value #MAX_POOLED_CAPACITY} 的实例归还时会被丢弃，避免线程长期持有大块内存。
+ * 线程本地变量只保存 JDK 自身的类型，不会因此阻止类加载器的回收。
+ * </p>
+ * 使用方式：
+ * <pre>
+ *     StringBuilder sb = StringBuilderPool.acquire(64);
+ *     sb.append(...);
+ *     return StringBuilderPool.toStringAndRelease(sb);
+ * </pre>
+ * 归还后不能再使用该实例，也不能重复归还
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class StringBuilderPool {
+    /**
+     * 可复用的最大容量
+     */
+    public static final int MAX_POOLED_CAPACITY = 8192;
+    /**
+     * 每个线程缓存的实例数量
+     */
+    private static final int POOL_DEPTH = 4;
+    /**
+     * 默认初始容量
+     */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final ThreadLocal<StringBuilder[]> POOL = ThreadLocal.withInitial(() -> new StringBuilder[POOL_DEPTH]);
+
+    private StringBuilderPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取一个空的 {@link StringBuilder}
+     *
+     * @return 空的 {@link StringBuilder}
+     */
+    public static StringBuilder acquire() {
+        return acquire(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 获取一个空的 {@link StringBuilder}，容量不小于 {@code capacity}
+     *
+     * @param capacity 预计需要的容量
+     * @return 空的 {@link StringBuilder}
+     */
+    public static StringBuilder acquire(int capacity) {
+        if (capacity <= MAX_POOLED_CAPACITY) {
+            StringBuilder[] builders = POOL.get();
+            for (int i = builders.length - 1; i >= 0; i--) {
+                StringBuilder sb = builders[i];
+                if (sb != null) {
+                    builders[i] = null;
+                    sb.ensureCapacity(capacity);
+                    return sb;
+                }
+            }
+        }
+        return new StringBuilder(Math.max(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * 归还 {@link StringBuilder}，容量过大或池已满时直接丢弃
+     *
+     * @param sb 通过 {@link #acquire(int)} 获取的 {@link StringBuilder}
+     */
+    public static void release(StringBuilder sb) {
+        if (sb == null || sb.capacity() > MAX_POOLED_CAPACITY) {
+            return;
+        }
+
+        sb.setLength(0);
+        StringBuilder[] builders = POOL.get();
+        for (int i = 0; i < builders.length; i++) {
+            if (builders[i] == null) {
+                builders[i] = sb;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取 {@link StringBuilder} 的内容后将其归还
+     *
+     * @param sb 通过 {@link #acquire(int)} 获取的 {@link StringBuilder}
+     * @return {@code sb} 的内容
+     */
+    public static String toStringAndRelease(StringBuilder sb) {
+        String s = sb.toString();
+        release(sb);
+        return s;
+    }
+}
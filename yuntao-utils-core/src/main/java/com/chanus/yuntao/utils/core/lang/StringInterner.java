@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界的字符串驻留池，用于合并大量重复的短字符串（如请求参数名），使相同内容只保留一个实例
+ * <p>
+ * 与 {@link String#intern()} 不同，池中的字符串为弱引用，不再被使用时可被垃圾回收；
+ * 池按哈希分为多个分段，每个分段独立加锁，并发访问时只竞争同一分段。
+ * 每个分段的数量达到上限时清空该分段，长度超过 {@code maxLength} 的字符串不驻留，直接返回原字符串。
+ * </p>
+ * 线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class StringInterner {
+    /**
+     * 默认的最大数量
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+    /**
+     * 默认的分段数量
+     */
+    public static final int DEFAULT_STRIPES = 16;
+    /**
+     * 默认驻留的最大字符串长度
+     */
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private static final StringInterner SHARED = new StringInterner();
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int stripeMaxSize;
+    private final int maxLength;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 使用默认参数构造驻留池
+     */
+    public StringInterner() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_STRIPES, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * 构造驻留池
+     *
+     * @param maxSize   最大数量，平均分配到各分段
+     * @param stripes   分段数量，向上取整为 2 的幂
+     * @param maxLength 驻留的最大字符串长度
+     */
+    public StringInterner(int maxSize, int stripes, int maxLength) {
+        if (maxSize <= 0 || stripes <= 0 || maxLength < 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize + ", stripes: " + stripes + ", maxLength: " + maxLength);
+        }
+        int n = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = n - 1;
+        this.stripeMaxSize = Math.max(1, maxSize / n);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 获取全局共享的驻留池
+     *
+     * @return 使用默认参数的驻留池
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * 驻留字符串
+     *
+     * @param s 字符串
+     * @return 池中与 {@code s} 内容相同的实例，不存在时驻留并返回 {@code s}；{@code s} 为 {@code null} 或过长时返回 {@code s}
+     */
+    public String intern(String s) {
+        if (s == null || s.length() > maxLength) {
+            return s;
+        }
+
+        int h = s.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        synchronized (stripe) {
+            WeakReference<String> ref = stripe.map.get(s);
+            String cached = ref == null ? null : ref.get();
+            if (cached != null) {
+                hitCount.increment();
+                return cached;
+            }
+            if (stripe.map.size() >= stripeMaxSize) {
+                stripe.map.clear();
+            }
+            stripe.map.put(s, new WeakReference<>(s));
+        }
+        missCount.increment();
+        return s;
+    }
+
+    /**
+     * 获取池中字符串的数量，已被回收的字符串不计入
+     *
+     * @return 数量
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 清空驻留池
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.map.clear();
+            }
+        }
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "StringInterner{size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "}";
+    }
+
+    /**
+     * 分段，访问 {@link #map} 时以分段对象加锁
+     */
+    private static final class Stripe {
+        private final Map<String, WeakReference<String>> map = new WeakHashMap<>();
+    }
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.CharUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 惰性字符串切分器
+ * <p>
+ * 与 {@link com.chanus.yuntao.utils.core.StringUtils#split(String, String, int, boolean, boolean, boolean)} 的切分规则相同，
+ * 但不会一次性生成全部结果：可按需迭代、转为 {@link Stream}，或通过 {@link #forEachRange(CharSequence, RangeConsumer)}
+ * 只回调每个分片的起止位置而不创建任何对象。{@link #splitToViews(CharSequence)} 返回的分片为原字符序列的视图，不复制字符。
+ * 不限制分片数时，{@link #stream(CharSequence, boolean)} 可在分隔符处拆分输入并行处理。
+ * </p>
+ * <p>
+ * 与 {@code StringUtils.split} 的区别：去除两端空白符时使用 {@link CharUtils#isBlank(char)} 判断空白符，
+ * 空白分片去除后为空串而不是 {@code null}。
+ * </p>
+ * 实例不可变，线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class StringSplitter {
+    /**
+     * 并行切分时每块的最小字符数
+     */
+    private static final int MIN_SPLIT_SIZE = 1 << 13;
+
+    /**
+     * 分隔符字符串，为 {@code null} 时使用 {@link #separatorChar}，二者均未指定时按空白符切分
+     */
+    private final String separator;
+    /**
+     * 分隔符字符
+     */
+    private final char separatorChar;
+    /**
+     * 是否按空白符切分
+     */
+    private final boolean whitespace;
+    /**
+     * 限制分片数，小于等于 0 不限制
+     */
+    private final int limit;
+    /**
+     * 是否去除分片两边的空白符
+     */
+    private final boolean trim;
+    /**
+     * 是否忽略空分片
+     */
+    private final boolean ignoreEmpty;
+    /**
+     * 是否忽略大小写
+     */
+    private final boolean ignoreCase;
+
+    private StringSplitter(String separator, char separatorChar, boolean whitespace, int limit, boolean trim, boolean ignoreEmpty, boolean ignoreCase) {
+        this.separator = separator;
+        this.separatorChar = separatorChar;
+        this.whitespace = whitespace;
+        this.limit = limit;
+        this.trim = trim;
+        this.ignoreEmpty = ignoreEmpty;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * 按字符切分
+     *
+     * @param separator 分隔符字符
+     * @return 切分器
+     */
+    public static StringSplitter on(char separator) {
+        return new StringSplitter(null, separator, false, -1, false, false, false);
+    }
+
+    /**
+     * 按字符串切分
+     *
+     * @param separator 分隔符字符串，若为 {@code null} 或空串则按空白符切分
+     * @return 切分器
+     */
+    public static StringSplitter on(String separator) {
+        if (separator == null || separator.isEmpty()) {
+            return onWhitespace();
+        }
+        if (separator.length() == 1) {
+            return on(separator.charAt(0));
+        }
+        return new StringSplitter(separator, '\0', false, -1, false, false, false);
+    }
+
+    /**
+     * 按空白符切分
+     *
+     * @return 切分器
+     */
+    public static StringSplitter onWhitespace() {
+        return new StringSplitter(null, '\0', true, -1, false, false, false);
+    }
+
+    /**
+     * 限制分片数，达到 {@code limit - 1} 个分片后剩余部分作为最后一个分片
+     *
+     * @param limit 限制分片数，-1不限制
+     * @return 新的切分器
+     */
+    public StringSplitter limit(int limit) {
+        return new StringSplitter(separator, separatorChar, whitespace, limit, trim, ignoreEmpty, ignoreCase);
+    }
+
+    /**
+     * 设置是否去除分片两边的空白符
+     *
+     * @param trim 是否去除分片两边的空白符
+     * @return 新的切分器
+     */
+    public StringSplitter trim(boolean trim) {
+        return new StringSplitter(separator, separatorChar, whitespace, limit, trim, ignoreEmpty, ignoreCase);
+    }
+
+    /**
+     * 设置是否忽略空分片
+     *
+     * @param ignoreEmpty 是否忽略空分片
+     * @return 新的切分器
+     */
+    public StringSplitter ignoreEmpty(boolean ignoreEmpty) {
+        return new StringSplitter(separator, separatorChar, whitespace, limit, trim, ignoreEmpty, ignoreCase);
+    }
+
+    /**
+     * 设置分隔符是否忽略大小写
+     *
+     * @param ignoreCase 是否忽略大小写
+     * @return 新的切分器
+     */
+    public StringSplitter ignoreCase(boolean ignoreCase) {
+        return new StringSplitter(separator, separatorChar, whitespace, limit, trim, ignoreEmpty, ignoreCase);
+    }
+
+    /**
+     * 惰性切分，每次迭代创建一个分片字符串
+     *
+     * @param s 被切分的字符序列
+     * @return 分片字符串的 {@link Iterable}，可重复迭代
+     */
+    public Iterable<String> split(CharSequence s) {
+        return () -> new SplitIterator<>(new Cursor(s), StringSplitter::substring);
+    }
+
+    /**
+     * 惰性切分，分片为原字符序列的视图，不复制字符，视图的 {@code toString()} 才会创建字符串
+     *
+     * @param s 被切分的字符序列，迭代期间不能修改
+     * @return 分片视图的 {@link Iterable}，可重复迭代
+     */
+    public Iterable<CharSequence> splitToViews(CharSequence s) {
+        return () -> new SplitIterator<>(new Cursor(s), Slice::new);
+    }
+
+    /**
+     * 切分为字符串列表
+     *
+     * @param s 被切分的字符序列
+     * @return 分片字符串列表
+     */
+    public List<String> splitToList(CharSequence s) {
+        List<String> list = new ArrayList<>();
+        for (String part : split(s)) {
+            list.add(part);
+        }
+        return list;
+    }
+
+    /**
+     * 获取第 {@code index} 个分片，只扫描到该分片为止
+     *
+     * @param s     被切分的字符序列
+     * @param index 分片下标，从 0 开始
+     * @return 分片字符串，不存在时返回 {@code null}
+     */
+    public String get(CharSequence s, int index) {
+        Cursor cursor = new Cursor(s);
+        for (int i = 0; cursor.next(); i++) {
+            if (i == index) {
+                return substring(s, cursor.partStart, cursor.partEnd);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 遍历每个分片的起止位置，不创建任何对象
+     *
+     * @param s        被切分的字符序列
+     * @param consumer 分片处理函数
+     */
+    public void forEachRange(CharSequence s, RangeConsumer consumer) {
+        Cursor cursor = new Cursor(s);
+        while (cursor.next()) {
+            consumer.accept(s, cursor.partStart, cursor.partEnd);
+        }
+    }
+
+    /**
+     * 切分为分片字符串的 {@link Stream}
+     *
+     * @param s        被切分的字符序列
+     * @param parallel 是否并行，仅在不限制分片数时会拆分输入
+     * @return 分片字符串的 {@link Stream}
+     */
+    public Stream<String> stream(CharSequence s, boolean parallel) {
+        return StreamSupport.stream(new SplitSpliterator<>(new Cursor(s), StringSplitter::substring), parallel);
+    }
+
+    /**
+     * 切分为分片视图的 {@link Stream}
+     *
+     * @param s        被切分的字符序列，处理期间不能修改
+     * @param parallel 是否并行，仅在不限制分片数时会拆分输入
+     * @return 分片视图的 {@link Stream}
+     */
+    public Stream<CharSequence> viewStream(CharSequence s, boolean parallel) {
+        return StreamSupport.stream(new SplitSpliterator<>(new Cursor(s), Slice::new), parallel);
+    }
+
+    private static String substring(CharSequence s, int start, int end) {
+        return s instanceof String ? ((String) s).substring(start, end) : s.subSequence(start, end).toString();
+    }
+
+    /**
+     * 从 {@code from} 开始查找分隔符
+     *
+     * @return 分隔符位置，不存在时返回 -1
+     */
+    private int indexOfSeparator(CharSequence s, int from, int to) {
+        if (whitespace) {
+            for (int i = from; i < to; i++) {
+                if (CharUtils.isBlank(s.charAt(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        if (separator == null) {
+            if (!ignoreCase && s instanceof String && to == s.length()) {
+                return ((String) s).indexOf(separatorChar, from);
+            }
+            for (int i = from; i < to; i++) {
+                if (CharUtils.equals(separatorChar, s.charAt(i), ignoreCase)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int length = separator.length();
+        if (!ignoreCase && s instanceof String && to == s.length()) {
+            return ((String) s).indexOf(separator, from);
+        }
+        for (int i = from, last = to - length; i <= last; i++) {
+            if (regionMatches(s, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(CharSequence s, int offset) {
+        for (int j = 0; j < separator.length(); j++) {
+            if (!CharUtils.equals(separator.charAt(j), s.charAt(offset + j), ignoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int separatorLength() {
+        return separator == null ? 1 : separator.length();
+    }
+
+    /**
+     * 分隔符是否可能与自身重叠，如 "aa"、"aba"，重叠时不能从任意位置开始查找，无法拆分并行处理
+     */
+    private boolean isSelfOverlapping() {
+        if (separator == null) {
+            return false;
+        }
+        int length = separator.length();
+        for (int border = 1; border < length; border++) {
+            boolean match = true;
+            for (int j = 0; j < border && match; j++) {
+                match = CharUtils.equals(separator.charAt(j), separator.charAt(length - border + j), ignoreCase);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 分片区间处理函数
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+        /**
+         * 处理分片
+         *
+         * @param source 被切分的字符序列
+         * @param start  分片起始位置，包含
+         * @param end    分片结束位置，不包含
+         */
+        void accept(CharSequence source, int start, int end);
+    }
+
+    /**
+     * 分片创建函数
+     */
+    @FunctionalInterface
+    private interface Slicer<T> {
+        T slice(CharSequence source, int start, int end);
+    }
+
+    /**
+     * 切分游标，依次定位每个分片的起止位置
+     */
+    private final class Cursor {
+        private final CharSequence source;
+        private final int end;
+        private int position;
+        private int count;
+        private boolean done;
+        private int partStart;
+        private int partEnd;
+
+        private Cursor(CharSequence source) {
+            this(source, 0, source == null ? 0 : source.length());
+            // 空字符序列没有分片
+            this.done = end == 0;
+        }
+
+        private Cursor(CharSequence source, int start, int end) {
+            this.source = source;
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * 定位下一个分片
+         *
+         * @return {@code true} 存在下一个分片；{@code false} 已切分完毕
+         */
+        private boolean next() {
+            while (!done) {
+                int start = position;
+                int stop;
+                int separatorIndex = limit > 0 && count >= limit - 1 ? -1 : indexOfSeparator(source, start, end);
+                if (separatorIndex < 0) {
+                    stop = end;
+                    done = true;
+                } else {
+                    stop = separatorIndex;
+                    position = separatorIndex + separatorLength();
+                }
+                if (trim) {
+                    while (start < stop && CharUtils.isBlank(source.charAt(start))) {
+                        start++;
+                    }
+                    while (start < stop && CharUtils.isBlank(source.charAt(stop - 1))) {
+                        stop--;
+                    }
+                }
+                if (ignoreEmpty && start == stop) {
+                    continue;
+                }
+                count++;
+                partStart = start;
+                partEnd = stop;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 在剩余部分的中间附近的分隔符处拆出前半部分
+         *
+         * @return 前半部分的游标，无法拆分时返回 {@code null}
+         */
+        private Cursor trySplit() {
+            if (done || limit > 0 || end - position < MIN_SPLIT_SIZE * 2 || isSelfOverlapping()) {
+                return null;
+            }
+            int separatorIndex = indexOfSeparator(source, position + (end - position) / 2, end);
+            if (separatorIndex < 0) {
+                return null;
+            }
+            Cursor prefix = new Cursor(source, position, separatorIndex);
+            position = separatorIndex + separatorLength();
+            return prefix;
+        }
+    }
+
+    /**
+     * 分片迭代器
+     */
+    private static final class SplitIterator<T> implements Iterator<T> {
+        private final Cursor cursor;
+        private final Slicer<T> slicer;
+        private Boolean hasNext;
+
+        private SplitIterator(Cursor cursor, Slicer<T> slicer) {
+            this.cursor = cursor;
+            this.slicer = slicer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                hasNext = cursor.next();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            return slicer.slice(cursor.source, cursor.partStart, cursor.partEnd);
+        }
+    }
+
+    /**
+     * 分片 {@link Spliterator}，在分隔符处拆分
+     */
+    private static final class SplitSpliterator<T> implements Spliterator<T> {
+        private final Cursor cursor;
+        private final Slicer<T> slicer;
+
+        private SplitSpliterator(Cursor cursor, Slicer<T> slicer) {
+            this.cursor = cursor;
+            this.slicer = slicer;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!cursor.next()) {
+                return false;
+            }
+            action.accept(slicer.slice(cursor.source, cursor.partStart, cursor.partEnd));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (cursor.next()) {
+                action.accept(slicer.slice(cursor.source, cursor.partStart, cursor.partEnd));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Cursor prefix = cursor.trySplit();
+            return prefix == null ? null : new SplitSpliterator<>(prefix, slicer);
+        }
+
+        @Override
+        public long estimateSize() {
+            return cursor.done ? 0 : cursor.end - cursor.position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * 字符序列视图
+     */
+    private static final class Slice implements CharSequence {
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+
+        private Slice(CharSequence source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return source.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+            }
+            return new Slice(source, this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return substring(source, start, end);
+        }
+    }
+}
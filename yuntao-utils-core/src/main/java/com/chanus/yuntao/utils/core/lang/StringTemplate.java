@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import com.chanus.yuntao.utils.core.CharUtils;
+import com.chanus.yuntao.utils.core.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的文本模板，{} 表示占位符，转义规则与 {@link StringUtils#format(String, Object...)} 完全一致
+ * <p>
+ * 模板只在编译时扫描一次，拆分为文本片段和占位符，格式化时按顺序拼接片段和参数，
+ * 并根据片段总长度预估结果长度，可直接输出到调用方复用的 {@link StringBuilder} 或任意 {@link Appendable}。
+ * 通过 {@link #compile(String)} 获取的实例按模板字符串缓存，缓存数量达到 {@value #MAX_CACHE_SIZE} 时淘汰其中的八分之一。
+ * {@link #formatTemplate(String, Object...)} 只编译出现过不止一次的模板，首次出现的模板直接扫描格式化，避免拼接生成的模板反复编译。
+ * </p>
+ * 实例不可变，线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class StringTemplate {
+    /**
+     * 缓存的最大数量
+     */
+    public static final int MAX_CACHE_SIZE = 1024;
+    /**
+     * 预估结果长度时每个参数的长度
+     */
+    private static final int PARAM_LENGTH_HINT = 16;
+    /**
+     * 模板缓存
+     */
+    private static final Map<String, StringTemplate> CACHE = new ConcurrentHashMap<>();
+    /**
+     * 已出现过一次、尚未编译的模板
+     */
+    private static final Map<String, Boolean> SEEN = new ConcurrentHashMap<>();
+
+    /**
+     * 模板
+     */
+    private final String template;
+    /**
+     * 每个占位符之前的文本片段，已处理转义
+     */
+    private final String[] literals;
+    /**
+     * 每个占位符之后的位置，参数个数恰好等于已替换的占位符个数时，之后的模板原样输出
+     */
+    private final int[] ends;
+    /**
+     * 参数个数多于占位符个数时，最后一个占位符之后已处理转义的文本
+     */
+    private final String tail;
+    /**
+     * 文本片段总长度
+     */
+    private final int literalLength;
+
+    private StringTemplate(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = template.length();
+        int position = 0;
+        int delimIndex;
+        while ((delimIndex = template.indexOf(StringUtils.EMPTY_JSON, position)) != -1) {
+            if (delimIndex > 0 && template.charAt(delimIndex - 1) == CharUtils.BACKSLASH) {
+                if (delimIndex > 1 && template.charAt(delimIndex - 2) == CharUtils.BACKSLASH) {
+                    // 双转义符，占位符依旧有效
+                    literal.append(template, position, delimIndex - 1);
+                } else {
+                    // 占位符被转义
+                    literal.append(template, position, delimIndex - 1).append(CharUtils.OPEN_BRACE);
+                    position = delimIndex + 1;
+                    continue;
+                }
+            } else {
+                literal.append(template, position, delimIndex);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            position = delimIndex + 2;
+            ends.add(position);
+        }
+
+        this.template = template;
+        this.literals = literals.toArray(new String[0]);
+        this.ends = new int[ends.size()];
+        int total = 0;
+        for (int i = 0; i < this.ends.length; i++) {
+            this.ends[i] = ends.get(i);
+            total += this.literals[i].length();
+        }
+        this.tail = position == 0 ? template : literal.append(template, position, length).toString();
+        this.literalLength = total + tail.length();
+    }
+
+    /**
+     * 编译模板，相同的模板返回缓存的实例
+     *
+     * @param template 文本模板，不能为 {@code null}
+     * @return 编译后的模板
+     */
+    public static StringTemplate compile(String template) {
+        Objects.requireNonNull(template, "template");
+        StringTemplate compiled = CACHE.get(template);
+        if (compiled == null) {
+            compiled = new StringTemplate(template);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                evict(CACHE);
+            }
+            StringTemplate existing = CACHE.putIfAbsent(template, compiled);
+            if (existing != null) {
+                compiled = existing;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * 格式化文本，规则与 {@link StringUtils#format(String, Object...)} 一致
+     * <p>
+     * 模板已缓存时使用编译后的模板；首次出现的模板直接扫描格式化，再次出现时才编译并缓存。
+     * </p>
+     *
+     * @param template 文本模板，不能为 {@code null}
+     * @param params   参数值
+     * @return 格式化后的文本
+     */
+    public static String formatTemplate(String template, Object... params) {
+        Objects.requireNonNull(template, "template");
+        StringTemplate compiled = CACHE.get(template);
+        if (compiled != null) {
+            return compiled.format(params);
+        }
+        if (SEEN.remove(template) != null) {
+            return compile(template).format(params);
+        }
+
+        if (SEEN.size() >= MAX_CACHE_SIZE) {
+            evict(SEEN);
+        }
+        SEEN.put(template, Boolean.TRUE);
+        return render(template, params);
+    }
+
+    /**
+     * 获取缓存的模板数量
+     *
+     * @return 缓存数量
+     */
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * 清空模板缓存
+     */
+    public static void clearCache() {
+        CACHE.clear();
+        SEEN.clear();
+    }
+
+    /**
+     * 淘汰八分之一的条目，不清空整个缓存
+     */
+    private static void evict(Map<String, ?> map) {
+        int count = MAX_CACHE_SIZE >>> 3;
+        Iterator<String> iterator = map.keySet().iterator();
+        while (count-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 不编译模板，逐个查找占位符直接格式化
+     */
+    private static String render(String template, Object... params) {
+        if (params == null || params.length == 0) {
+            return template;
+        }
+
+        final int length = template.length();
+        StringBuilder sb = new StringBuilder(length + 50);
+        // 记录已经处理到的位置
+        int handledPosition = 0;
+        // 占位符所在位置
+        int delimIndex;
+        for (int argIndex = 0; argIndex < params.length; argIndex++) {
+            delimIndex = template.indexOf(StringUtils.EMPTY_JSON, handledPosition);
+            if (delimIndex == -1) {
+                if (handledPosition == 0) {
+                    // 不带占位符的模板直接返回
+                    return template;
+                }
+                sb.append(template, handledPosition, length);
+                return sb.toString();
+            }
+
+            if (delimIndex > 0 && template.charAt(delimIndex - 1) == CharUtils.BACKSLASH) {
+                if (delimIndex > 1 && template.charAt(delimIndex - 2) == CharUtils.BACKSLASH) {
+                    // 双转义符，占位符依旧有效
+                    sb.append(template, handledPosition, delimIndex - 1).append(StringUtils.toUtf8String(params[argIndex]));
+                    handledPosition = delimIndex + 2;
+                } else {
+                    // 占位符被转义
+                    argIndex--;
+                    sb.append(template, handledPosition, delimIndex - 1).append(CharUtils.OPEN_BRACE);
+                    handledPosition = delimIndex + 1;
+                }
+            } else {
+                sb.append(template, handledPosition, delimIndex).append(StringUtils.toUtf8String(params[argIndex]));
+                handledPosition = delimIndex + 2;
+            }
+        }
+        sb.append(template, handledPosition, length);
+        return sb.toString();
+    }
+
+    /**
+     * 获取模板
+     *
+     * @return 模板
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * 获取有效占位符的个数
+     *
+     * @return 占位符个数
+     */
+    public int getPlaceholderCount() {
+        return literals.length;
+    }
+
+    /**
+     * 预估格式化结果的长度，可用于初始化 {@link StringBuilder} 的容量
+     *
+     * @param paramCount 参数个数
+     * @return 预估长度
+     */
+    public int getCapacityHint(int paramCount) {
+        return literalLength + Math.min(paramCount, literals.length) * PARAM_LENGTH_HINT;
+    }
+
+    /**
+     * 格式化文本
+     *
+     * @param params 参数值
+     * @return 格式化后的文本
+     */
+    public String format(Object... params) {
+        if (params == null || params.length == 0 || literals.length == 0 && tail == template) {
+            return template;
+        }
+
+        StringBuilder sb = StringBuilderPool.acquire(getCapacityHint(params.length));
+        formatTo(sb, params);
+        return StringBuilderPool.toStringAndRelease(sb);
+    }
+
+    /**
+     * 格式化文本并追加到 {@link StringBuilder}
+     *
+     * @param sb     追加结果的 {@link StringBuilder}
+     * @param params 参数值
+     * @return {@code sb}
+     */
+    public StringBuilder formatTo(StringBuilder sb, Object... params) {
+        if (params == null || params.length == 0) {
+            return sb.append(template);
+        }
+
+        sb.ensureCapacity(sb.length() + getCapacityHint(params.length));
+        int n = Math.min(params.length, literals.length);
+        for (int i = 0; i < n; i++) {
+            sb.append(literals[i]).append(StringUtils.toUtf8String(params[i]));
+        }
+        if (params.length > literals.length) {
+            sb.append(tail);
+        } else {
+            sb.append(template, ends[n - 1], template.length());
+        }
+        return sb;
+    }
+
+    /**
+     * 格式化文本并输出到 {@link Appendable}
+     *
+     * @param appendable 输出目标，如 {@link java.io.Writer}
+     * @param params     参数值
+     * @param <A>        输出目标的类型
+     * @return {@code appendable}
+     */
+    public <A extends Appendable> A formatTo(A appendable, Object... params) {
+        if (appendable instanceof StringBuilder) {
+            formatTo((StringBuilder) appendable, params);
+            return appendable;
+        }
+
+        try {
+            if (params == null || params.length == 0) {
+                appendable.append(template);
+                return appendable;
+            }
+
+            int n = Math.min(params.length, literals.length);
+            for (int i = 0; i < n; i++) {
+                appendable.append(literals[i]).append(StringUtils.toUtf8String(params[i]));
+            }
+            if (params.length > literals.length) {
+                appendable.append(tail);
+            } else {
+                appendable.append(template, ends[n - 1], template.length());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred.", e);
+        }
+        return appendable;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
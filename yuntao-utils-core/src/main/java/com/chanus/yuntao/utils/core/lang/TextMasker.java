@@ -0,0 +1,551 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 敏感信息脱敏器，一次扫描完成全部规则的脱敏
+ * <p>
+ * 内置手机号、身份证号、银行卡号和邮箱的匹配规则，均为手写的逐字符匹配：
+ * 连续的数字作为一个整体，按长度和格式判断为手机号（11 位，1[3-9] 开头）、身份证号（15 位或 18 位，出生日期合法）
+ * 或银行卡号（16 至 19 位，通过 Luhn 校验），不会匹配更长数字中的一部分；邮箱只脱敏 @ 之前除首字符以外的部分。
+ * 内置规则无法覆盖的格式可通过 {@link Builder#regex(String, int, int)} 添加正则规则，所有正则规则合并为一个正则，
+ * 与内置规则在同一次扫描中按出现位置依次处理，重叠时先出现的匹配优先。
+ * </p>
+ * <p>
+ * 没有需要脱敏的内容时直接返回原字符串，否则只复制一次；{@link #maskTo(CharSequence, StringBuilder)} 可将结果写入调用方复用的缓冲区。
+ * </p>
+ * 实例不可变，线程安全
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public final class TextMasker {
+    /**
+     * 默认的脱敏字符
+     */
+    public static final char DEFAULT_MASK_CHAR = '*';
+
+    private static final TextMasker PII = builder().mobile().idCard().bankCard().email().build();
+
+    private final char maskChar;
+    /**
+     * 内置规则保留的首尾字符数，{@code null} 表示未启用
+     */
+    private final int[] mobile;
+    private final int[] idCard;
+    private final int[] bankCard;
+    private final boolean email;
+    /**
+     * 合并后的正则规则，{@code null} 表示没有正则规则
+     */
+    private final Pattern pattern;
+    /**
+     * 每条正则规则在合并后的正则中对应的分组
+     */
+    private final int[] groups;
+    /**
+     * 每条正则规则保留的首尾字符数
+     */
+    private final int[][] keeps;
+
+    private TextMasker(Builder builder) {
+        this.maskChar = builder.maskChar;
+        this.mobile = builder.mobile;
+        this.idCard = builder.idCard;
+        this.bankCard = builder.bankCard;
+        this.email = builder.email;
+
+        int size = builder.regexes.size();
+        this.groups = new int[size];
+        this.keeps = builder.regexKeeps.toArray(new int[0][]);
+        if (size == 0) {
+            this.pattern = null;
+        } else {
+            // 每条规则包裹在一个分组中，通过分组判断匹配的规则
+            StringBuilder regex = new StringBuilder();
+            int group = 1;
+            for (int i = 0; i < size; i++) {
+                String rule = builder.regexes.get(i);
+                if (i > 0) {
+                    regex.append('|');
+                }
+                regex.append('(').append(rule).append(')');
+                groups[i] = group;
+                group += Pattern.compile(rule).matcher("").groupCount() + 1;
+            }
+            this.pattern = Pattern.compile(regex.toString());
+        }
+    }
+
+    /**
+     * 创建构造器
+     *
+     * @return 构造器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取启用全部内置规则（手机号、身份证号、银行卡号和邮箱）的脱敏器
+     *
+     * @return 脱敏器
+     */
+    public static TextMasker pii() {
+        return PII;
+    }
+
+    /**
+     * 脱敏
+     *
+     * @param text 文本
+     * @return 脱敏后的文本，没有需要脱敏的内容时返回原文本
+     */
+    public String mask(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        Scanner scanner = new Scanner(text);
+        if (!scanner.next()) {
+            return text.toString();
+        }
+
+        StringBuilder sb = StringBuilderPool.acquire(text.length());
+        write(text, scanner, sb);
+        return StringBuilderPool.toStringAndRelease(sb);
+    }
+
+    /**
+     * 脱敏并将结果追加到 {@link StringBuilder}
+     *
+     * @param text 文本
+     * @param sb   追加结果的 {@link StringBuilder}
+     * @return {@code sb}
+     */
+    public StringBuilder maskTo(CharSequence text, StringBuilder sb) {
+        Scanner scanner = new Scanner(text);
+        if (!scanner.next()) {
+            return sb.append(text);
+        }
+
+        sb.ensureCapacity(sb.length() + text.length());
+        write(text, scanner, sb);
+        return sb;
+    }
+
+    private void write(CharSequence text, Scanner scanner, StringBuilder sb) {
+        int copied = 0;
+        do {
+            sb.append(text, copied, scanner.maskStart);
+            for (int i = scanner.maskStart; i < scanner.maskEnd; i++) {
+                sb.append(maskChar);
+            }
+            copied = scanner.maskEnd;
+        } while (scanner.next());
+        sb.append(text, copied, text.length());
+    }
+
+    /**
+     * 依次查找需要脱敏的内容，合并内置规则和正则规则的结果
+     */
+    private final class Scanner {
+        private final CharSequence text;
+        private final Matcher matcher;
+        /**
+         * 下一次查找的起始位置
+         */
+        private int from;
+
+        private boolean builtinDone;
+        private int builtinStart = -1;
+        private int builtinEnd;
+        private int builtinMaskStart;
+        private int builtinMaskEnd;
+
+        private boolean regexDone;
+        private int regexStart = -1;
+        private int regexEnd;
+        private int regexMaskStart;
+        private int regexMaskEnd;
+
+        /**
+         * 当前需要脱敏的范围
+         */
+        int maskStart;
+        int maskEnd;
+
+        Scanner(CharSequence text) {
+            this.text = text;
+            this.matcher = pattern == null ? null : pattern.matcher(text);
+            this.regexDone = matcher == null;
+            this.builtinDone = mobile == null && idCard == null && bankCard == null && !email;
+        }
+
+        boolean next() {
+            final int length = text.length();
+            if (from > length) {
+                return false;
+            }
+            if (!builtinDone && builtinStart < from) {
+                builtinDone = !findBuiltin(from);
+            }
+            if (!regexDone && regexStart < from) {
+                regexDone = !findRegex(from);
+            }
+            if (builtinDone && regexDone) {
+                return false;
+            }
+
+            if (!builtinDone && (regexDone || builtinStart <= regexStart)) {
+                maskStart = builtinMaskStart;
+                maskEnd = builtinMaskEnd;
+                from = builtinEnd;
+            } else {
+                maskStart = regexMaskStart;
+                maskEnd = regexMaskEnd;
+                // 空匹配时后移一位，避免重复匹配
+                from = Math.max(regexEnd, regexStart + 1);
+            }
+            return true;
+        }
+
+        private boolean findRegex(int start) {
+            if (start > text.length() || !matcher.find(start)) {
+                return false;
+            }
+
+            int rule = 0;
+            while (rule < groups.length - 1 && matcher.start(groups[rule]) < 0) {
+                rule++;
+            }
+            regexStart = matcher.start();
+            regexEnd = matcher.end();
+            setMask(regexStart, regexEnd, keeps[rule], false);
+            return true;
+        }
+
+        private boolean findBuiltin(int start) {
+            final int length = text.length();
+            for (int i = start; i < length; i++) {
+                char c = text.charAt(i);
+                if (isDigit(c)) {
+                    int end = i + 1;
+                    while (end < length && isDigit(text.charAt(end))) {
+                        end++;
+                    }
+                    // 只处理完整的数字串
+                    if (i > 0 && isDigit(text.charAt(i - 1))) {
+                        i = end - 1;
+                        continue;
+                    }
+                    if (idCard != null && end - i == 17 && end < length && (text.charAt(end) == 'X' || text.charAt(end) == 'x')) {
+                        end++;
+                    }
+                    if (email && end < length && text.charAt(end) == '@') {
+                        // 邮箱的用户名部分由邮箱规则处理
+                        i = end - 1;
+                        continue;
+                    }
+                    int[] keep = classify(i, end);
+                    if (keep != null) {
+                        setBuiltin(i, end, keep);
+                        return true;
+                    }
+                    i = end - 1;
+                } else if (c == '@' && email && findEmail(start, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 判断数字串的类型，返回对应规则保留的首尾字符数
+         */
+        private int[] classify(int start, int end) {
+            final int length = end - start;
+            if (mobile != null && length == 11 && text.charAt(start) == '1' && text.charAt(start + 1) >= '3') {
+                return mobile;
+            }
+            if (idCard != null && (length == 18 && isBirthday(start + 6, true) || length == 15 && isBirthday(start + 6, false))) {
+                return idCard;
+            }
+            if (bankCard != null && length >= 16 && length <= 19 && isDigit(text.charAt(end - 1)) && isLuhn(start, end)) {
+                return bankCard;
+            }
+            return null;
+        }
+
+        /**
+         * 邮箱：向前查找用户名，向后查找域名，域名至少包含一个点且顶级域名为至少两个字母
+         */
+        private boolean findEmail(int lower, int at) {
+            final int length = text.length();
+            int start = at;
+            while (start > lower && isEmailLocal(text.charAt(start - 1))) {
+                start--;
+            }
+            int end = at + 1;
+            int lastDot = -1;
+            while (end < length) {
+                char c = text.charAt(end);
+                if (c == '.') {
+                    if (end + 1 >= length || !isDomain(text.charAt(end + 1))) {
+                        break;
+                    }
+                    lastDot = end;
+                } else if (!isDomain(c)) {
+                    break;
+                }
+                end++;
+            }
+            if (start == at || lastDot < 0 || end - lastDot < 3) {
+                return false;
+            }
+            for (int i = lastDot + 1; i < end; i++) {
+                if (!isAsciiLetter(text.charAt(i))) {
+                    return false;
+                }
+            }
+
+            builtinStart = start;
+            builtinEnd = end;
+            // 保留用户名首字符和域名
+            builtinMaskStart = at - start > 1 ? start + 1 : start;
+            builtinMaskEnd = at;
+            return true;
+        }
+
+        private void setBuiltin(int start, int end, int[] keep) {
+            builtinStart = start;
+            builtinEnd = end;
+            setMask(start, end, keep, true);
+        }
+
+        private void setMask(int start, int end, int[] keep, boolean builtin) {
+            int maskStart = start + keep[0];
+            int maskEnd = end - keep[1];
+            if (maskStart >= maskEnd) {
+                // 内容过短时全部脱敏
+                maskStart = start;
+                maskEnd = end;
+            }
+            if (builtin) {
+                builtinMaskStart = maskStart;
+                builtinMaskEnd = maskEnd;
+            } else {
+                regexMaskStart = maskStart;
+                regexMaskEnd = maskEnd;
+            }
+        }
+
+        /**
+         * 判断身份证号中的出生日期是否合法，18 位为 yyyyMMdd，15 位为 yyMMdd
+         */
+        private boolean isBirthday(int offset, boolean fullYear) {
+            if (fullYear) {
+                int century = digits(offset, 2);
+                if (century < 18 || century > 20) {
+                    return false;
+                }
+                offset += 2;
+            }
+            int month = digits(offset + 2, 2);
+            int day = digits(offset + 4, 2);
+            return month >= 1 && month <= 12 && day >= 1 && day <= 31;
+        }
+
+        private int digits(int offset, int count) {
+            int value = 0;
+            for (int i = offset; i < offset + count; i++) {
+                value = value * 10 + (text.charAt(i) - '0');
+            }
+            return value;
+        }
+
+        private boolean isLuhn(int start, int end) {
+            int sum = 0;
+            boolean doubled = false;
+            for (int i = end - 1; i >= start; i--) {
+                int d = text.charAt(i) - '0';
+                if (doubled) {
+                    d <<= 1;
+                    if (d > 9) {
+                        d -= 9;
+                    }
+                }
+                sum += d;
+                doubled = !doubled;
+            }
+            return sum % 10 == 0;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDomain(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '-';
+    }
+
+    private static boolean isEmailLocal(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '-' || c == '+' || c == '%';
+    }
+
+    /**
+     * {@link TextMasker} 构造器
+     */
+    public static final class Builder {
+        private char maskChar = DEFAULT_MASK_CHAR;
+        private int[] mobile;
+        private int[] idCard;
+        private int[] bankCard;
+        private boolean email;
+        private final List<String> regexes = new ArrayList<>();
+        private final List<int[]> regexKeeps = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 设置脱敏字符，默认为 {@value #DEFAULT_MASK_CHAR}
+         *
+         * @param maskChar 脱敏字符
+         * @return 当前构造器
+         */
+        public Builder maskChar(char maskChar) {
+            this.maskChar = maskChar;
+            return this;
+        }
+
+        /**
+         * 启用手机号规则，保留前 3 位和后 4 位
+         *
+         * @return 当前构造器
+         */
+        public Builder mobile() {
+            return mobile(3, 4);
+        }
+
+        /**
+         * 启用手机号规则
+         *
+         * @param keepStart 保留的前几位
+         * @param keepEnd   保留的后几位
+         * @return 当前构造器
+         */
+        public Builder mobile(int keepStart, int keepEnd) {
+            this.mobile = keep(keepStart, keepEnd);
+            return this;
+        }
+
+        /**
+         * 启用身份证号规则，保留前 3 位和后 4 位
+         *
+         * @return 当前构造器
+         */
+        public Builder idCard() {
+            return idCard(3, 4);
+        }
+
+        /**
+         * 启用身份证号规则
+         *
+         * @param keepStart 保留的前几位
+         * @param keepEnd   保留的后几位
+         * @return 当前构造器
+         */
+        public Builder idCard(int keepStart, int keepEnd) {
+            this.idCard = keep(keepStart, keepEnd);
+            return this;
+        }
+
+        /**
+         * 启用银行卡号规则，保留前 6 位和后 4 位
+         *
+         * @return 当前构造器
+         */
+        public Builder bankCard() {
+            return bankCard(6, 4);
+        }
+
+        /**
+         * 启用银行卡号规则
+         *
+         * @param keepStart 保留的前几位
+         * @param keepEnd   保留的后几位
+         * @return 当前构造器
+         */
+        public Builder bankCard(int keepStart, int keepEnd) {
+            this.bankCard = keep(keepStart, keepEnd);
+            return this;
+        }
+
+        /**
+         * 启用邮箱规则，保留用户名的首字符和域名
+         *
+         * @return 当前构造器
+         */
+        public Builder email() {
+            this.email = true;
+            return this;
+        }
+
+        /**
+         * 添加正则规则，多条正则规则会合并为一个正则，因此规则中不能使用按序号的反向引用
+         *
+         * @param regex     正则表达式
+         * @param keepStart 匹配内容保留的前几位
+         * @param keepEnd   匹配内容保留的后几位
+         * @return 当前构造器
+         */
+        public Builder regex(String regex, int keepStart, int keepEnd) {
+            Objects.requireNonNull(regex, "regex");
+            Pattern.compile(regex);
+            regexes.add(regex);
+            regexKeeps.add(keep(keepStart, keepEnd));
+            return this;
+        }
+
+        /**
+         * 构造脱敏器
+         *
+         * @return 脱敏器
+         */
+        public TextMasker build() {
+            return new TextMasker(this);
+        }
+
+        private static int[] keep(int keepStart, int keepEnd) {
+            if (keepStart < 0 || keepEnd < 0) {
+                throw new IllegalArgumentException("keepStart and keepEnd must not be negative");
+            }
+            return new int[]{keepStart, keepEnd};
+        }
+    }
+}
@@ -16,8 +16,10 @@
 package com.chanus.yuntao.utils.core.map;
 
 import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.StringInterner;
 
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 自定义 Map，继承 HashMap
@@ -28,6 +30,11 @@ import java.util.HashMap;
 public class CustomMap extends HashMap<String, Object> {
     private static final long serialVersionUID = -8758604201563163293L;
 
+    /**
+     * 键的驻留池，为 {@code null} 时不驻留
+     */
+    private transient StringInterner keyInterner;
+
     /**
      * 构造
      */
@@ -85,6 +92,33 @@ public class CustomMap extends HashMap<String, Object> {
         return new CustomMap(key, value);
     }
 
+    /**
+     * 设置键的驻留池，之后通过 {@link #put(String, Object)} 和 {@link #putAll(Map)} 存入的键会合并为池中的共享实例，
+     * 减少大量 {@code CustomMap} 中重复键字符串的内存占用
+     *
+     * @param interner 驻留池，如 {@link StringInterner#shared()}，为 {@code null} 时不驻留
+     * @return 当前 {@code CustomMap} 对象
+     * @since 1.8.0
+     */
+    public CustomMap internKeys(StringInterner interner) {
+        this.keyInterner = interner;
+        return this;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return super.put(keyInterner == null ? key : keyInterner.intern(key), value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (keyInterner == null) {
+            super.putAll(m);
+        } else {
+            m.forEach(this::put);
+        }
+    }
+
     /**
      * 存储数据并返回当前对象
      *
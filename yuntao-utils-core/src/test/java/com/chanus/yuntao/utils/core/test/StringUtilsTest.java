@@ -16,8 +16,10 @@
 package com.chanus.yuntao.utils.core.test;
 
 import com.chanus.yuntao.utils.core.ArrayUtils;
+import com.chanus.yuntao.utils.core.CharUtils;
 import com.chanus.yuntao.utils.core.CharsetUtils;
 import com.chanus.yuntao.utils.core.StringUtils;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.*;
@@ -431,6 +433,14 @@ public class StringUtilsTest {
     public void replaceTest() {
         System.out.println(StringUtils.replace("13378653645", "*", 3, 7, 4));
         System.out.println(StringUtils.replace("13378653645", 3, 7));
+        Assert.assertEquals("133****3645", StringUtils.replace("13378653645", 3, 7));
+        Assert.assertEquals("13378653645", StringUtils.replace("13378653645", 3, 3));
+        try {
+            StringUtils.replace("13378653645", 7, 3);
+            Assert.fail();
+        } catch (StringIndexOutOfBoundsException e) {
+            // begin 大于 end 时抛出异常
+        }
     }
 
     @Test
@@ -706,4 +716,90 @@ public class StringUtilsTest {
         System.out.println(StringUtils.format("this is \\{} for {}", "a", "b"));// this is {} for a
         System.out.println(StringUtils.format("this is \\\\{} for {}", "a", "b"));// this is \a for b
     }
+
+    @Test
+    public void fastPathTest() {
+        // 快速路径与原有的通用实现逐一比对
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            Assert.assertEquals(Character.isWhitespace(c) || Character.isSpaceChar(c) || c == '\ufeff' || c == '\u202a',
+                    CharUtils.isBlank(c));
+            Assert.assertEquals(Character.toUpperCase(c), CharUtils.toUpperCase(c));
+            Assert.assertEquals(Character.toLowerCase(c), CharUtils.toLowerCase(c));
+            String s = String.valueOf(c);
+            Assert.assertEquals(s.trim().length() == 0, StringUtils.isBlank(s));
+            Assert.assertEquals(Character.toTitleCase(c) + "x", StringUtils.capitalize(s + "x"));
+            Assert.assertEquals(Character.toLowerCase(c) + "x", StringUtils.uncapitalize(s + "x"));
+        }
+
+        Random random = new Random(1);
+        char[] chars = {' ', '\t', '\u0001', 'a', 'B', '_', 'é', 'É', 'ß', 'ı', 'İ', '\u00a0', '中'};
+        for (int i = 0; i < 100000; i++) {
+            char[] value = new char[random.nextInt(8)];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = chars[random.nextInt(chars.length)];
+            }
+            String s = new String(value);
+            String t = random.nextBoolean() ? s.toUpperCase() : s.toLowerCase();
+            Assert.assertEquals(s.trim().length() == 0, StringUtils.isBlank(s));
+            Assert.assertEquals(s.trim().length() == 0 ? null : s.trim(), StringUtils.trim(s));
+            Assert.assertEquals(s.equalsIgnoreCase(t), StringUtils.equalsIgnoreCase(new StringBuilder(s), t));
+            Assert.assertEquals(legacyToCamelCase(s), StringUtils.toCamelCase(s));
+        }
+    }
+
+    private static String legacyToCamelCase(String s) {
+        if (!s.contains("_")) {
+            return s;
+        }
+
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean upperCase = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '_') {
+                upperCase = true;
+            } else if (upperCase) {
+                sb.append(Character.toUpperCase(c));
+                upperCase = false;
+            } else {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void repeatCompatibilityTest() {
+        String[] values = {"", "a", "ab", "中文", "abc"};
+        String[] separators = {null, "", "-", "::"};
+        for (String value : values) {
+            for (int num = 0; num < 40; num++) {
+                StringBuilder expected = new StringBuilder();
+                for (int i = 0; i < num; i++) {
+                    expected.append(value);
+                }
+                Assert.assertEquals(expected.toString(), StringUtils.repeat(value, num));
+                for (String separator : separators) {
+                    StringBuilder joined = new StringBuilder();
+                    for (int i = 0; i < num; i++) {
+                        if (i > 0 && separator != null) {
+                            joined.append(separator);
+                        }
+                        joined.append(value);
+                    }
+                    Assert.assertEquals(joined.toString(), StringUtils.repeatWithSeparator(value, num, separator));
+                }
+                String s = "x" + value;
+                StringBuilder filled = new StringBuilder();
+                for (int i = s.length(); i < num; i++) {
+                    filled.append(value);
+                }
+                Assert.assertEquals(filled + s, StringUtils.fillBefore(s, value, num));
+                Assert.assertEquals(s + filled, StringUtils.fillAfter(s, value, num));
+            }
+        }
+        Assert.assertEquals("1000000", StringUtils.fillAfter("1", "0", 7));
+        Assert.assertEquals("abnullc", StringUtils.concat(false, "", "a", "b", null, "c"));
+        Assert.assertEquals("a_b_c", StringUtils.toUnderlineCase("aBC"));
+    }
 }
@@ -16,6 +16,8 @@
 package com.chanus.yuntao.utils.core.test;
 
 import com.chanus.yuntao.utils.core.UrlUtils;
+import com.chanus.yuntao.utils.core.lang.StringInterner;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.UnsupportedEncodingException;
@@ -56,6 +58,18 @@ public class UrlUtilsTest {
         map.forEach((x, y) -> System.out.println(x + " = " + y));
     }
 
+    @Test
+    public void getParamsMapInternTest() {
+        StringInterner interner = new StringInterner();
+        Map<String, String> map1 = UrlUtils.getParamsMap("page=1&limit=10&id=3", null, interner);
+        Map<String, String> map2 = UrlUtils.getParamsMap("page=2&limit=20&id=4", null, interner);
+        Assert.assertEquals("2", map2.get("page"));
+        for (String key : map1.keySet()) {
+            Assert.assertTrue(map2.keySet().stream().anyMatch(k -> k == key));
+        }
+        Assert.assertEquals(map1.keySet(), UrlUtils.getParamsMap("page=1&limit=10&id=3", null).keySet());
+    }
+
     @Test
     public void getParamsUriTest() {
         Map<String, Object> map = new HashMap<String, Object>() {
@@ -16,9 +16,18 @@
 package com.chanus.yuntao.utils.core.test.codec;
 
 import com.chanus.yuntao.utils.core.CharsetUtils;
+import com.chanus.yuntao.utils.core.StreamUtils;
 import com.chanus.yuntao.utils.core.codec.Base32;
+import com.chanus.yuntao.utils.core.codec.Base32InputStream;
+import com.chanus.yuntao.utils.core.codec.Base32OutputStream;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Base32 测试类
  *
@@ -42,4 +51,43 @@ public class Base32Test {
         System.out.println(Base32.decode("IJQXGZJTGIQLDYGC5OZOFSWU", CharsetUtils.GBK));
         System.out.println(Base32.decode("IJQXGZJTGIQLDYGC5OZOFSWU", CharsetUtils.CHARSET_GBK));
     }
+
+    @Test
+    public void encodeToBufferTest() {
+        byte[] bytes = "Base32 编码测试".getBytes(StandardCharsets.UTF_8);
+        char[] chars = new char[Base32.encodedLength(bytes.length)];
+        int len = Base32.encode(bytes, 0, bytes.length, chars, 0);
+        System.out.println(new String(chars, 0, len));
+        Assert.assertEquals("IJQXGZJTGIQOPPEW46QIDZVVRPUK7FI", new String(chars, 0, len));
+    }
+
+    @Test
+    public void decodeToBufferTest() {
+        String base32 = "IJQXGZJTGIQOPPEW46QIDZVVRPUK7FI";
+        byte[] bytes = new byte[Base32.decodedLength(base32.length())];
+        int len = Base32.decode(base32, 0, base32.length(), bytes, 0);
+        System.out.println(new String(bytes, 0, len, StandardCharsets.UTF_8));
+        Assert.assertEquals("Base32 编码测试", new String(bytes, 0, len, StandardCharsets.UTF_8));
+        // 忽略补位符和小写字母
+        Assert.assertEquals("f", new String(Base32.decode2Bytes("my======"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        byte[] bytes = new byte[10007];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (Base32OutputStream out = new Base32OutputStream(encoded)) {
+            out.write(bytes, 0, 3);
+            out.write(bytes[3]);
+            out.write(bytes, 4, bytes.length - 4);
+        }
+        Assert.assertEquals(Base32.encode(bytes), encoded.toString("ASCII"));
+
+        byte[] decoded = StreamUtils.read2Byte(new Base32InputStream(new ByteArrayInputStream(encoded.toByteArray())));
+        Assert.assertArrayEquals(bytes, decoded);
+    }
 }
@@ -19,10 +19,15 @@ import com.chanus.yuntao.utils.core.CharsetUtils;
 import com.chanus.yuntao.utils.core.IOUtils;
 import com.chanus.yuntao.utils.core.StreamUtils;
 import com.chanus.yuntao.utils.core.codec.Base64;
+import com.chanus.yuntao.utils.core.codec.Base64Encoder;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 /**
@@ -83,4 +88,59 @@ public class Base64Test {
         byte[] b = new byte[]{81, 109, 70, 122, 90, 84, 89, 48, 73, 79, 101, 56, 108, 117, 101, 103, 103, 101, 97, 49, 105, 43, 105, 118, 108, 81, 61, 61};
         System.out.println(new String(Base64.decode(b)));
     }
+
+    @Test
+    public void streamTest() {
+        for (int length : new int[]{0, 1, 2, 3, 56, 57, 58, 114, 1000}) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i * 7);
+            }
+
+            for (boolean isMultiLine : new boolean[]{false, true}) {
+                for (boolean isUrlSafe : new boolean[]{false, true}) {
+                    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                    Base64.encode(new ByteArrayInputStream(bytes), encoded, isMultiLine, isUrlSafe);
+                    Assert.assertArrayEquals(Base64.encode(bytes, isMultiLine, isUrlSafe), encoded.toByteArray());
+
+                    ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+                    Base64.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+                    Assert.assertArrayEquals(bytes, decoded.toByteArray());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void encodeByteBufferTest() {
+        byte[] bytes = "Base64 编码测试".getBytes(StandardCharsets.UTF_8);
+        for (boolean isUrlSafe : new boolean[]{false, true}) {
+            String expected = isUrlSafe ? Base64.encodeUrlSafe(bytes) : Base64.encode(bytes);
+            int length = Base64Encoder.encodedLength(bytes.length, isUrlSafe);
+
+            ByteBuffer heap = ByteBuffer.allocate(length);
+            Base64Encoder.encode(ByteBuffer.wrap(bytes), heap, isUrlSafe);
+            Assert.assertEquals(expected, new String(heap.array(), StandardCharsets.US_ASCII));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(length);
+            Base64Encoder.encode(ByteBuffer.wrap(bytes), direct, isUrlSafe);
+            direct.flip();
+            Assert.assertEquals(expected, StandardCharsets.US_ASCII.decode(direct).toString());
+        }
+    }
+
+    @Test
+    public void decodeLenientTest() {
+        // 补位、无补位、URL 安全、换行符、混用字母表
+        String[] sources = {"QmFzZTY0IOe8lueggea1i+ivlQ==", "QmFzZTY0IOe8lueggea1i+ivlQ", "QmFzZTY0IOe8lueggea1i-ivlQ",
+                "QmFzZTY0IOe8\r\nlueggea1i+ivlQ==", "QmFzZTY0IOe8lueggea1i-ivlT8/"};
+        for (String source : sources) {
+            System.out.println(Base64.decodeStr(source));
+        }
+        Assert.assertEquals("Base64 编码测试", Base64.decodeStr(sources[0]));
+        Assert.assertEquals("Base64 编码测试", Base64.decodeStr(sources[1]));
+        Assert.assertEquals("Base64 编码测试", Base64.decodeStr(sources[2]));
+        Assert.assertEquals("Base64 编码测试", Base64.decodeStr(sources[3]));
+        Assert.assertEquals("Base64 编码测试??", Base64.decodeStr(sources[4]));
+    }
 }
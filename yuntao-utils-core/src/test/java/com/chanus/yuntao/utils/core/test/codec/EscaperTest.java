@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.codec;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.codec.Escaper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Escaper 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class EscaperTest {
+    @Test
+    public void unicodeTest() {
+        Assert.assertEquals("a\\u6d4b\\u8bd5b", StringUtils.escapeUnicode("a测试b"));
+        Assert.assertEquals("a测试b\\x\\u12", StringUtils.unescapeUnicode("a\\u6d4b\\u8BD5b\\x\\u12"));
+        String plain = "plain ascii";
+        Assert.assertSame(plain, StringUtils.escapeUnicode(plain));
+        Assert.assertSame(plain, StringUtils.unescapeUnicode(plain));
+        Assert.assertNull(StringUtils.escapeUnicode(null));
+
+        // string2Unicode 保持原有的不补齐前导0的格式
+        Assert.assertEquals("\\u6d4b\\u8bd5\\u31\\u0\\u21", StringUtils.string2Unicode("测试1\0!"));
+        Assert.assertEquals("测试1\0!", StringUtils.unicode2String(StringUtils.string2Unicode("测试1\0!")));
+    }
+
+    @Test
+    public void htmlTest() {
+        String html = "<a href=\"x?a=1&b=2\">it's\u00A0</a>";
+        String escaped = "&lt;a href=&quot;x?a=1&amp;b=2&quot;&gt;it&apos;s&nbsp;&lt;/a&gt;";
+        Assert.assertEquals(escaped, StringUtils.escapeHtml(html));
+        Assert.assertEquals(html, StringUtils.unescapeHtml(escaped));
+        Assert.assertEquals("A中😀 & &unknown; &#xZZ; &", StringUtils.unescapeHtml("&#65;&#x4e2d;&#x1F600; &amp; &unknown; &#xZZ; &"));
+        Assert.assertEquals("&#1114112;", StringUtils.unescapeHtml("&#1114112;"));
+    }
+
+    @Test
+    public void jsonTest() {
+        String s = "say \"hi\"\\\n\t\u0001\u2028/";
+        String escaped = "say \\\"hi\\\"\\\\\\n\\t\\u0001\\u2028/";
+        Assert.assertEquals(escaped, StringUtils.escapeJson(s));
+        Assert.assertEquals(s, StringUtils.unescapeJson(escaped));
+        Assert.assertEquals("/中\\q", StringUtils.unescapeJson("\\/\\u4e2d\\q"));
+
+        StringBuilder sb = Escaper.JSON.escape("a\"b", new StringBuilder("{\"k\":\"")).append("\"}");
+        Assert.assertEquals("{\"k\":\"a\\\"b\"}", sb.toString());
+    }
+
+    @Test
+    public void streamTest() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            sb.append("<p>第").append(i).append("行 & \"x\"</p>\n");
+        }
+        String text = sb.toString();
+
+        for (Escaper escaper : new Escaper[]{Escaper.UNICODE, Escaper.HTML, Escaper.JSON}) {
+            StringWriter escaped = new StringWriter();
+            escaper.escape(new ChunkedReader(text, 7), escaped);
+            Assert.assertEquals(escaper.escape(text), escaped.toString());
+
+            // 每次只读取少量字符，转义序列会跨越分块边界
+            StringWriter unescaped = new StringWriter();
+            escaper.unescape(new ChunkedReader(escaped.toString(), 3), unescaped);
+            Assert.assertEquals(text, unescaped.toString());
+        }
+
+        // 输入末尾不完整的转义序列原样保留
+        StringWriter writer = new StringWriter();
+        Escaper.HTML.unescape(new ChunkedReader("a &am", 2), writer);
+        Assert.assertEquals("a &am", writer.toString());
+    }
+
+    /**
+     * 每次最多读取指定数量字符的 Reader
+     */
+    private static class ChunkedReader extends Reader {
+        private final Reader reader;
+        private final int chunk;
+
+        ChunkedReader(String s, int chunk) {
+            this.reader = new StringReader(s);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws java.io.IOException {
+            return reader.read(cbuf, off, Math.min(len, chunk));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
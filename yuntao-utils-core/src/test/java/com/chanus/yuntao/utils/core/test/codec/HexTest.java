@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.codec;
+
+import com.chanus.yuntao.utils.core.StreamUtils;
+import com.chanus.yuntao.utils.core.codec.Hex;
+import com.chanus.yuntao.utils.core.codec.HexInputStream;
+import com.chanus.yuntao.utils.core.codec.HexOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Hex 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class HexTest {
+    private static final byte[] BYTES = {0, 1, 15, 16, 127, -128, -1};
+
+    @Test
+    public void encodeTest() {
+        System.out.println(Hex.encode(BYTES));
+        System.out.println(Hex.encode(BYTES, false));
+        Assert.assertEquals("00010f107f80ff", Hex.encode(BYTES));
+        Assert.assertEquals("00010F107F80FF", Hex.encode(BYTES, false));
+
+        StringBuilder sb = new StringBuilder("hex:");
+        Hex.encode(BYTES, 1, 2, sb, true);
+        Assert.assertEquals("hex:010f", sb.toString());
+    }
+
+    @Test
+    public void decodeTest() {
+        Assert.assertArrayEquals(BYTES, Hex.decode("00010f107F80Ff"));
+        try {
+            Hex.decode("0g");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (HexOutputStream out = new HexOutputStream(encoded)) {
+            out.write(BYTES[0]);
+            out.write(BYTES, 1, BYTES.length - 1);
+        }
+        Assert.assertEquals(Hex.encode(BYTES), encoded.toString("ASCII"));
+
+        byte[] decoded = StreamUtils.read2Byte(new HexInputStream(new ByteArrayInputStream(encoded.toByteArray())));
+        Assert.assertArrayEquals(BYTES, decoded);
+    }
+}
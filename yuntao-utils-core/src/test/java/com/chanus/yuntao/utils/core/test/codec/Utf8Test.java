@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.codec;
+
+import com.chanus.yuntao.utils.core.CharsetUtils;
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.codec.Utf8;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Utf8 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class Utf8Test {
+    @Test
+    public void encodeTest() {
+        // 与 JDK 的编码结果逐一比对，包括无法配对的代理字符
+        Random random = new Random(1);
+        char[] chars = {'a', 'Z', 'é', '߿', 'ࠀ', '中', '￿', '\ud83d', '\ude00'};
+        byte[] dest = new byte[64];
+        for (int i = 0; i < 100000; i++) {
+            char[] value = new char[random.nextInt(12)];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = chars[random.nextInt(chars.length)];
+            }
+            String s = new String(value);
+            byte[] expected = s.getBytes(StandardCharsets.UTF_8);
+            Assert.assertEquals(expected.length, Utf8.encodedLength(s));
+            Assert.assertArrayEquals(expected, Utf8.encode(new StringBuilder(s)));
+            Assert.assertEquals(expected.length, Utf8.encode(s, dest, 3));
+            for (int j = 0; j < expected.length; j++) {
+                Assert.assertEquals(expected[j], dest[j + 3]);
+            }
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(64);
+            direct.put((byte) 1);
+            Assert.assertEquals(expected.length, Utf8.encode(s, direct));
+            direct.flip();
+            direct.get();
+            Assert.assertEquals(new String(expected, StandardCharsets.UTF_8), Utf8.decode(direct));
+        }
+    }
+
+    @Test
+    public void decodeTest() {
+        Random random = new Random(2);
+        for (int i = 0; i < 100000; i++) {
+            byte[] bytes = new byte[random.nextInt(12)];
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte) (random.nextBoolean() ? random.nextInt(128) : random.nextInt(256));
+            }
+            String expected = new String(bytes, StandardCharsets.UTF_8);
+            Assert.assertEquals(expected, Utf8.decode(bytes));
+            Assert.assertEquals(expected, Utf8.decode(ByteBuffer.wrap(bytes)));
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).flip();
+            Assert.assertEquals(expected, Utf8.decode(direct));
+            Assert.assertFalse(direct.hasRemaining());
+        }
+
+        byte[] bytes = "前缀hello中文后缀".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals("hello中文", Utf8.decode(bytes, 6, 11));
+        Assert.assertEquals("hello中文", StringUtils.toUtf8String(bytes, 6, 11));
+    }
+
+    @Test
+    public void bufferTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        Assert.assertEquals(5, StringUtils.utf8Bytes("hello", buffer));
+        try {
+            Utf8.encode("中文", buffer);
+            Assert.fail();
+        } catch (BufferOverflowException e) {
+            Assert.assertEquals(5, buffer.position());
+        }
+        buffer.flip();
+        Assert.assertEquals("hello", StringUtils.toString(buffer, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void charsetTest() {
+        Charset gbk = CharsetUtils.CHARSET_GBK;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        int n = CharsetUtils.encode("中文abc", gbk, buffer);
+        Assert.assertEquals(7, n);
+        buffer.flip();
+        Assert.assertEquals("中文abc", CharsetUtils.decode(buffer, gbk));
+
+        ByteBuffer small = ByteBuffer.allocate(3);
+        try {
+            CharsetUtils.encode("中文", gbk, small);
+            Assert.fail();
+        } catch (BufferOverflowException e) {
+            Assert.assertEquals(0, small.position());
+        }
+
+        String garbled = new String("中文".getBytes(gbk), StandardCharsets.ISO_8859_1);
+        Assert.assertEquals("中文", CharsetUtils.convert(garbled, StandardCharsets.ISO_8859_1, gbk));
+        Assert.assertEquals("abc", CharsetUtils.convert("abc", StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8));
+        Assert.assertSame(CharsetUtils.decoder(gbk), CharsetUtils.decoder(gbk));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.RandomUtils;
+import com.chanus.yuntao.utils.core.date.CachedClock;
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import com.chanus.yuntao.utils.core.date.LocalDateTimeUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * CachedClock 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class CachedClockTest {
+    @Test
+    public void nowTest() throws InterruptedException {
+        CachedClock clock = new CachedClock(10, ZoneId.of("Asia/Shanghai"));
+        try {
+            long before = System.currentTimeMillis();
+            Thread.sleep(50);
+            long now = clock.currentTimeMillis();
+            System.out.println(now + " " + clock.currentTimeMillisString() + " " + clock.nowDateTime() + " " + clock.nowDateTimeMillis() + " " + clock.nowDate());
+            Assert.assertTrue(now > before);
+            Assert.assertTrue(now <= System.currentTimeMillis());
+            Assert.assertEquals(String.valueOf(now), clock.currentTimeMillisString());
+            Assert.assertEquals(19, clock.nowDateTime().length());
+            Assert.assertEquals(23, clock.nowDateTimeMillis().length());
+            Assert.assertTrue(clock.nowDateTimeMillis().startsWith(clock.nowDate()));
+        } finally {
+            clock.shutdown();
+        }
+
+        // 停止后台线程后每次读取系统时钟
+        long before = System.currentTimeMillis();
+        Assert.assertTrue(clock.currentTimeMillis() >= before);
+    }
+
+    @Test
+    public void noTickerTest() {
+        CachedClock clock = new CachedClock(0);
+        long before = System.currentTimeMillis();
+        Assert.assertTrue(clock.currentTimeMillis() >= before);
+        Assert.assertEquals(DateUtils.formatDate(new Date(clock.currentTimeMillis())), clock.nowDate());
+    }
+
+    @Test
+    public void defaultZoneTest() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        CachedClock clock = new CachedClock(0);
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            Assert.assertEquals(ZoneId.of("Asia/Shanghai"), clock.getZone());
+            Assert.assertEquals(DateUtils.formatDate(new Date(clock.currentTimeMillis())), clock.nowDate());
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            Assert.assertEquals(ZoneId.of("Pacific/Kiritimati"), clock.getZone());
+            Assert.assertEquals(DateUtils.formatDate(new Date(clock.currentTimeMillis())), clock.nowDate());
+            Assert.assertEquals(DateUtils.formatDate(new Date()), DateUtils.nowDate());
+            Assert.assertEquals(LocalDateTimeUtils.nowDate(), DateUtils.nowDate());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void utilsTest() {
+        Assert.assertEquals(0, CachedClock.getInstance().getGranularity());
+        System.out.println(DateUtils.nowDateTime());
+        System.out.println(DateUtils.nowDate());
+        System.out.println(LocalDateTimeUtils.nowDateTime());
+        System.out.println(LocalDateTimeUtils.nowDateTimeMillis());
+        System.out.println(LocalDateTimeUtils.nowDate());
+        System.out.println(RandomUtils.getRandomUniqueNo());
+        Assert.assertEquals(18, RandomUtils.getRandomUniqueNo().length());
+    }
+}
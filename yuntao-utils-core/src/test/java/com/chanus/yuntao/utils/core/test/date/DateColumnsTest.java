@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DateColumns;
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * DateColumns 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class DateColumnsTest {
+    private static final ZoneId SHANGHAI = ZoneId.of("Asia/Shanghai");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    public void epochDayTest() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            long epochDay = random.nextInt(2000000) - 1000000;
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int ymd = DateColumns.toYearMonthDay(epochDay);
+            if (date.getYear() > 0) {
+                Assert.assertEquals(date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth(), ymd);
+            }
+            Assert.assertEquals(epochDay, DateColumns.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            Assert.assertEquals(date.getDayOfWeek().getValue() - 1, DateColumns.dayOfWeek(epochDay));
+        }
+        System.out.println(DateColumns.toYearMonthDay(18627));
+    }
+
+    @Test
+    public void bucketTest() {
+        long[] millis = randomMillis(100000, 2);
+        for (ZoneId zone : new ZoneId[]{SHANGHAI, NEW_YORK}) {
+            long[] days = DateColumns.bucketByDay(millis, zone, false);
+            long[] weeks = DateColumns.bucketByWeek(millis, zone, DayOfWeek.SUNDAY, true);
+            long[] months = DateColumns.bucketByMonth(millis, zone, true);
+            for (int i = 0; i < millis.length; i++) {
+                LocalDate date = Instant.ofEpochMilli(millis[i]).atZone(zone).toLocalDate();
+                Assert.assertEquals(date.toEpochDay(), days[i]);
+                Assert.assertEquals(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY)).toEpochDay(), weeks[i]);
+                Assert.assertEquals(date.withDayOfMonth(1).toEpochDay(), months[i]);
+            }
+        }
+    }
+
+    @Test
+    public void startOfDayTest() {
+        // 圣保罗 2018-11-04 零点因夏令时跳过
+        ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+        long[] days = new long[3000];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = LocalDate.of(2017, 1, 1).toEpochDay() + i;
+        }
+        long[] millis = DateColumns.toStartOfDayMillis(days, saoPaulo, false);
+        for (int i = 0; i < days.length; i++) {
+            Assert.assertEquals(LocalDate.ofEpochDay(days[i]).atStartOfDay(saoPaulo).toInstant().toEpochMilli(), millis[i]);
+        }
+    }
+
+    @Test
+    public void plusTest() {
+        long[] days = {LocalDate.of(2020, 1, 31).toEpochDay(), LocalDate.of(2020, 3, 31).toEpochDay(), LocalDate.of(1999, 12, 15).toEpochDay()};
+        long[] result = DateColumns.plusMonths(days, 1, false);
+        Assert.assertEquals(LocalDate.of(2020, 2, 29).toEpochDay(), result[0]);
+        Assert.assertEquals(LocalDate.of(2020, 4, 30).toEpochDay(), result[1]);
+        Assert.assertEquals(LocalDate.of(2000, 1, 15).toEpochDay(), result[2]);
+        result = DateColumns.plusMonths(days, -14, false);
+        Assert.assertEquals(LocalDate.of(2018, 11, 30).toEpochDay(), result[0]);
+
+        Assert.assertEquals(days[0] + 10, DateColumns.plusDays(days, 10, false)[0]);
+        Assert.assertEquals(1000L, DateColumns.plusMillis(new long[]{0L}, 1000L, false)[0]);
+    }
+
+    @Test
+    public void diffDaysTest() {
+        long[] source = randomMillis(1000, 3);
+        long[] target = randomMillis(1000, 4);
+        long[] diff = DateColumns.diffDays(source, target, null, false);
+        for (int i = 0; i < source.length; i++) {
+            Assert.assertEquals(DateUtils.diffDays(new Date(source[i]), new Date(target[i])), diff[i]);
+        }
+
+        int[] cycles = DateColumns.dayOfCycle(new long[]{10, 11, 17, 9}, 7, 10, false);
+        Assert.assertArrayEquals(new int[]{1, 2, 1, 0}, cycles);
+    }
+
+    @Test
+    public void businessDaysTest() {
+        Random random = new Random(5);
+        int n = 20000;
+        long[] start = new long[n];
+        long[] end = new long[n];
+        for (int i = 0; i < n; i++) {
+            start[i] = 18000 + random.nextInt(1000);
+            end[i] = 18000 + random.nextInt(1000);
+        }
+        long[] holidays = {LocalDate.of(2020, 1, 1).toEpochDay(), LocalDate.of(2020, 10, 1).toEpochDay(),
+                LocalDate.of(2020, 10, 3).toEpochDay(), LocalDate.of(2020, 1, 1).toEpochDay()};
+        long[] counts = DateColumns.countBusinessDays(start, end, holidays, true);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(naiveBusinessDays(start[i], end[i], holidays), counts[i]);
+        }
+        // 2020-10-05 星期一 至 2020-10-12 星期一
+        Assert.assertEquals(5L, DateColumns.countBusinessDays(18540, 18547));
+        Assert.assertEquals(-5L, DateColumns.countBusinessDays(18547, 18540));
+    }
+
+    private static long[] randomMillis(int n, long seed) {
+        Random random = new Random(seed);
+        long[] millis = new long[n];
+        for (int i = 0; i < n; i++) {
+            // 1990 年至 2040 年之间
+            millis[i] = 631152000000L + (long) (random.nextDouble() * 1577836800000L);
+        }
+        return millis;
+    }
+
+    private static long naiveBusinessDays(long start, long end, long[] holidays) {
+        long from = Math.min(start, end);
+        long to = Math.max(start, end);
+        long count = 0;
+        for (long day = from; day < to; day++) {
+            DayOfWeek dow = LocalDate.ofEpochDay(day).getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            boolean holiday = false;
+            for (long h : holidays) {
+                holiday |= h == day;
+            }
+            if (!holiday) {
+                count++;
+            }
+        }
+        return end >= start ? count : -count;
+    }
+}
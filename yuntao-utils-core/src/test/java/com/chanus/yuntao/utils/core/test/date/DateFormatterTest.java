@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DateFormatter;
+import com.chanus.yuntao.utils.core.date.DatePattern;
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateFormatter 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class DateFormatterTest {
+    @Test
+    public void getDateTimeFormatterTest() {
+        DateTimeFormatter formatter = DateFormatter.getDateTimeFormatter(DatePattern.NORMAL_DATETIME_PATTERN);
+        Assert.assertSame(formatter, DateFormatter.getDateTimeFormatter(DatePattern.NORMAL_DATETIME_PATTERN, Locale.getDefault()));
+        Assert.assertSame(formatter, DateFormatter.getDateTimeFormatter(DatePattern.NORMAL_DATETIME_PATTERN, null, ZoneId.systemDefault()));
+        Assert.assertNotSame(formatter, DateFormatter.getDateTimeFormatter(DatePattern.NORMAL_DATETIME_PATTERN, Locale.CHINA));
+        Assert.assertNotSame(formatter, DateFormatter.getDateTimeFormatter(DatePattern.NORMAL_DATETIME_PATTERN, null, ZoneId.of("Asia/Shanghai")));
+    }
+
+    @Test
+    public void getDateFormatTest() throws Exception {
+        SimpleDateFormat format = DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN);
+        Assert.assertSame(format, DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN));
+        Assert.assertNotSame(format, DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN, Locale.CHINA));
+        Assert.assertSame(format, DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN, Locale.getDefault(Locale.Category.FORMAT)));
+        Assert.assertEquals("1970-01-01 00:00:00",
+                DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN, null, TimeZone.getTimeZone("UTC")).format(new Date(0)));
+
+        // 不同线程获取到的对象不同
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<SimpleDateFormat> future = executor.submit(() -> DateFormatter.getDateFormat(DatePattern.NORMAL_DATETIME_PATTERN));
+        Assert.assertNotSame(format, future.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        String dateStr = "2023-08-09 12:33:25";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    Assert.assertEquals(dateStr, DateUtils.formatDateTime(DateUtils.parseDateTime(dateStr)));
+                }
+            }));
+        }
+        executor.shutdown();
+        // 通过 get() 抛出子线程中的断言失败
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+    }
+}
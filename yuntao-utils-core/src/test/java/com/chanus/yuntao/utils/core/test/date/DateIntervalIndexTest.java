@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DateIntervalIndex;
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DateIntervalIndex 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class DateIntervalIndexTest {
+    @Test
+    public void queryTest() {
+        DateIntervalIndex<String> index = new DateIntervalIndex<>();
+        index.add(DateUtils.parseDateTime("2020-01-01 08:00:00"), DateUtils.parseDateTime("2020-01-01 12:00:00"), "上午");
+        index.add(DateUtils.parseDateTime("2020-01-01 13:00:00"), DateUtils.parseDateTime("2020-01-01 18:00:00"), "下午");
+        index.add(DateUtils.parseDateTime("2020-01-01 00:00:00"), DateUtils.parseDateTime("2020-01-01 23:59:59"), "全天");
+
+        Date noon = DateUtils.parseDateTime("2020-01-01 12:00:00");
+        System.out.println(index.stab(noon));
+        Assert.assertEquals(2, index.stab(noon).size());
+        Assert.assertTrue(index.contains(noon));
+        Assert.assertFalse(index.contains(DateUtils.parseDateTime("2020-01-02 00:00:00")));
+        Assert.assertEquals(3, index.overlapping(DateUtils.parseDateTime("2020-01-01 11:00:00"), DateUtils.parseDateTime("2020-01-01 13:00:00")).size());
+
+        Assert.assertTrue(index.remove(noon.getTime() - 4 * 3600000L, noon.getTime(), "上午"));
+        Assert.assertFalse(index.remove(noon.getTime() - 4 * 3600000L, noon.getTime(), "上午"));
+        Assert.assertEquals(1, index.stab(noon).size());
+        Assert.assertEquals(2, index.size());
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(1);
+        DateIntervalIndex<Integer> index = new DateIntervalIndex<>();
+        List<DateIntervalIndex.Interval<Integer>> intervals = new ArrayList<>();
+        List<DateIntervalIndex.Interval<Integer>> bulk = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long start = random.nextInt(100000);
+            DateIntervalIndex.Interval<Integer> interval = new DateIntervalIndex.Interval<>(start, start + random.nextInt(500), i % 50);
+            intervals.add(interval);
+            if (i < 2000) {
+                index.add(interval);
+            } else {
+                bulk.add(interval);
+            }
+        }
+        index.addAll(bulk);
+        for (int i = 0; i < 1500; i++) {
+            DateIntervalIndex.Interval<Integer> interval = intervals.remove(random.nextInt(intervals.size()));
+            Assert.assertTrue(index.remove(interval));
+        }
+        Assert.assertEquals(intervals.size(), index.size());
+
+        for (int i = 0; i < 2000; i++) {
+            long point = random.nextInt(101000);
+            long end = point + random.nextInt(300);
+            int stabbed = 0;
+            int overlapped = 0;
+            for (DateIntervalIndex.Interval<Integer> interval : intervals) {
+                if (interval.contains(point)) {
+                    stabbed++;
+                }
+                if (interval.getStart() <= end && interval.getEnd() >= point) {
+                    overlapped++;
+                }
+            }
+            Assert.assertEquals(stabbed, index.stab(point).size());
+            Assert.assertEquals(stabbed > 0, index.contains(point));
+            Assert.assertEquals(overlapped, index.overlapping(point, end).size());
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.chanus.yuntao.utils.core.test.date;
 
 import com.chanus.yuntao.utils.core.date.DateUtils;
 import com.chanus.yuntao.utils.core.date.DatePattern;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.time.ZoneId;
@@ -88,6 +89,18 @@ public class DateUtilsTest {
     @Test
     public void formatDateTimeTest() {
         System.out.println(DateUtils.formatDateTime(new Date()));
+
+        // 修改默认时区后按新时区格式化
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            Date date = new Date(1593563415000L);
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            Assert.assertEquals("2020-07-01 08:30:15", DateUtils.formatDateTime(date));
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            Assert.assertEquals("2020-06-30 20:30:15", DateUtils.formatDateTime(date));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
     }
 
     @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DatePattern;
+import com.chanus.yuntao.utils.core.date.FastDateFormatter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * FastDateFormatter 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FastDateFormatterTest {
+    private static final String[] PATTERNS = {
+            DatePattern.NORMAL_DATE_PATTERN,
+            DatePattern.PURE_TIME_MILLIS_PATTERN,
+            DatePattern.NORMAL_DATETIME_PATTERN,
+            DatePattern.PURE_DATETIME_PATTERN,
+            DatePattern.NORMAL_DATETIME_MILLIS_PATTERN,
+            DatePattern.PURE_DATETIME_MILLIS_PATTERN,
+            DatePattern.UTC_PATTERN,
+            DatePattern.UTC_SIMPLE_PATTERN,
+            DatePattern.UTC_WITH_ZONE_OFFSET_PATTERN,
+            DatePattern.UTC_WITH_XXX_OFFSET_PATTERN,
+            DatePattern.UTC_MILLIS_PATTERN,
+            DatePattern.UTC_SIMPLE_MILLIS_PATTERN,
+            DatePattern.UTC_MILLIS_WITH_ZONE_OFFSET_PATTERN,
+            DatePattern.UTC_MILLIS_WITH_XXX_OFFSET_PATTERN
+    };
+
+    @Test
+    public void isSupportedTest() {
+        for (String pattern : PATTERNS) {
+            Assert.assertTrue(pattern, FastDateFormatter.isSupported(pattern));
+        }
+        Assert.assertFalse(FastDateFormatter.isSupported(DatePattern.CHINESE_DATETIME_PATTERN));
+        Assert.assertFalse(FastDateFormatter.isSupported(DatePattern.HTTP_DATETIME_PATTERN));
+        Assert.assertFalse(FastDateFormatter.isSupported("yyyy-M-d"));
+    }
+
+    @Test
+    public void formatTest() {
+        Random random = new Random(20201018L);
+        String[] zones = {"UTC", "Asia/Shanghai", "America/New_York", "Asia/Kolkata", "Europe/London"};
+        for (String zone : zones) {
+            ZoneId zoneId = ZoneId.of(zone);
+            for (String pattern : PATTERNS) {
+                FastDateFormatter formatter = FastDateFormatter.getInstance(pattern, zoneId);
+                DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, Locale.ROOT).withZone(zoneId);
+                long millis = 1600000000000L;
+                for (int i = 0; i < 2000; i++) {
+                    // 交替使用相近时间和随机时间，覆盖缓存命中和失效两种情况
+                    millis = i % 2 == 0 ? millis + random.nextInt(7200000) : random.nextLong() % 4000000000000L;
+                    Assert.assertEquals(expected.format(Instant.ofEpochMilli(millis)), formatter.format(millis));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void formatToBufferTest() {
+        FastDateFormatter formatter = FastDateFormatter.getInstance(DatePattern.NORMAL_DATETIME_MILLIS_PATTERN, ZoneId.of("Asia/Shanghai"));
+        long millis = 1691555605123L;
+        String expected = "2023-08-09 12:33:25.123";
+        System.out.println(formatter.format(millis));
+
+        char[] chars = new char[formatter.getMaxLength() + 2];
+        Assert.assertEquals(expected.length(), formatter.format(millis, chars, 2));
+        Assert.assertEquals(expected, new String(chars, 2, expected.length()));
+
+        byte[] bytes = new byte[formatter.getMaxLength()];
+        Assert.assertEquals(expected.length(), formatter.format(millis, bytes, 0));
+        Assert.assertEquals(expected, new String(bytes, StandardCharsets.US_ASCII));
+
+        StringBuilder sb = new StringBuilder("time=");
+        Assert.assertEquals("time=" + expected, formatter.format(millis, sb).toString());
+
+        ByteBuffer heap = ByteBuffer.allocate(64);
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        formatter.format(millis, heap.put((byte) '[')).put((byte) ']').flip();
+        formatter.format(millis, direct.put((byte) '[')).put((byte) ']').flip();
+        Assert.assertEquals(heap, direct);
+        byte[] result = new byte[heap.remaining()];
+        heap.get(result);
+        Assert.assertEquals("[" + expected + "]", new String(result, StandardCharsets.US_ASCII));
+
+        // 超出快速格式化范围时回退到 DateTimeFormatter
+        Assert.assertEquals("+10000-01-01 00:00:00.000", FastDateFormatter.getInstance(DatePattern.NORMAL_DATETIME_MILLIS_PATTERN, ZoneId.of("UTC"))
+                .format(LocalDateTime.of(10000, 1, 1, 0, 0).toInstant(java.time.ZoneOffset.UTC).toEpochMilli()));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DatePattern;
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import com.chanus.yuntao.utils.core.date.FastDateFormatter;
+import com.chanus.yuntao.utils.core.date.FastDateParser;
+import com.chanus.yuntao.utils.core.date.LocalDateTimeUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * FastDateParser 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FastDateParserTest {
+    private static final String[] PATTERNS = {
+            DatePattern.NORMAL_DATE_PATTERN,
+            DatePattern.NORMAL_DATETIME_PATTERN,
+            DatePattern.PURE_DATETIME_PATTERN,
+            DatePattern.NORMAL_DATETIME_MILLIS_PATTERN,
+            DatePattern.PURE_DATETIME_MILLIS_PATTERN,
+            DatePattern.UTC_PATTERN,
+            DatePattern.UTC_WITH_ZONE_OFFSET_PATTERN,
+            DatePattern.UTC_WITH_XXX_OFFSET_PATTERN,
+            DatePattern.UTC_MILLIS_PATTERN,
+            DatePattern.UTC_MILLIS_WITH_XXX_OFFSET_PATTERN
+    };
+
+    @Test
+    public void parseMillisTest() {
+        Random random = new Random(20201018L);
+        String[] zones = {"UTC", "Asia/Shanghai", "America/New_York", "Asia/Kolkata", "Europe/London"};
+        for (String zone : zones) {
+            ZoneId zoneId = ZoneId.of(zone);
+            for (String pattern : PATTERNS) {
+                FastDateFormatter formatter = FastDateFormatter.getInstance(pattern, zoneId);
+                FastDateParser parser = FastDateParser.getInstance(pattern, zoneId);
+                DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, Locale.ROOT).withZone(zoneId);
+                Assert.assertTrue(parser.isFast());
+                for (int i = 0; i < 2000; i++) {
+                    String text = formatter.format(random.nextLong() % 4000000000000L);
+                    Assert.assertEquals(text, toEpochMillis(expected.parse(text), zoneId, pattern), parser.parseMillis(text));
+                    Assert.assertEquals(text, toEpochMillis(expected.parse(text), zoneId, pattern),
+                            parser.tryParseMillis(text.getBytes(StandardCharsets.US_ASCII), 0, text.length()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseLocalDateTimeTest() {
+        FastDateParser parser = FastDateParser.getInstance(DatePattern.NORMAL_DATETIME_MILLIS_PATTERN);
+        LocalDateTime expected = LocalDateTime.of(2023, 8, 9, 12, 33, 25, 123000000);
+        Assert.assertEquals(expected, parser.parseLocalDateTime("2023-08-09 12:33:25.123"));
+        Assert.assertEquals(expected, parser.parseLocalDateTime("[2023-08-09 12:33:25.123]", 1, 24));
+        byte[] bytes = "time=2023-08-09 12:33:25.123".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertEquals(expected, parser.parseLocalDateTime(bytes, 5, 23));
+
+        // 日期越界时与 DateTimeFormatter 的 SMART 模式一致
+        FastDateParser dateTimeParser = FastDateParser.getInstance(DatePattern.NORMAL_DATETIME_PATTERN);
+        Assert.assertEquals(LocalDateTime.of(2023, 2, 28, 0, 0), dateTimeParser.parseLocalDateTime("2023-02-30 00:00:00"));
+        Assert.assertEquals(LocalDateTimeUtils.parseDateTime("2023-02-30 00:00:00"), dateTimeParser.parseLocalDateTime("2023-02-30 00:00:00"));
+        Assert.assertEquals(FastDateParser.INVALID, dateTimeParser.tryParseMillis("2023-02-30 00:00:00", 0, 19));
+        Assert.assertEquals(FastDateParser.INVALID, dateTimeParser.tryParseMillis("2023-02-28 00:00", 0, 16));
+        Assert.assertEquals(FastDateParser.INVALID, dateTimeParser.tryParseMillis("2023-02-28T00:00:00", 0, 19));
+        try {
+            dateTimeParser.parseLocalDateTime("2023-02-28T00:00:00");
+            Assert.fail();
+        } catch (DateTimeParseException e) {
+            System.out.println(e.getMessage());
+        }
+
+        // 非 ASCII 字面量的格式同样支持快速解析
+        FastDateParser chineseParser = FastDateParser.getInstance(DatePattern.CHINESE_DATETIME_PATTERN);
+        Assert.assertTrue(chineseParser.isFast());
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25), chineseParser.parseLocalDateTime("2023年08月09日12时33分25秒"));
+
+        // 不支持快速解析的格式使用 DateTimeFormatter 解析
+        FastDateParser microsParser = FastDateParser.getInstance("yyyy-MM-dd HH:mm:ss.SSSSSS");
+        Assert.assertFalse(microsParser.isFast());
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25, 123456000), microsParser.parseLocalDateTime("2023-08-09 12:33:25.123456"));
+        Assert.assertNull(microsParser.tryParseLocalDateTime("2023-08-09 12:33:25", 0, 19));
+        Assert.assertEquals(FastDateParser.INVALID, microsParser.tryParseMillis("2023-13-09 12:33:25.123456", 0, 26));
+    }
+
+    @Test
+    public void dateUtilsTest() {
+        Assert.assertEquals(DateUtils.parse("2023-08-09 12:33:25", DateUtils.createDateFormat(DatePattern.NORMAL_DATETIME_PATTERN)),
+                DateUtils.parseDateTime("2023-08-09 12:33:25"));
+        // 非标准格式仍按 SimpleDateFormat 宽松解析
+        Assert.assertEquals(DateUtils.parse("2023-8-9 12:33:25", DateUtils.createDateFormat(DatePattern.NORMAL_DATETIME_PATTERN)),
+                DateUtils.parseDateTime("2023-8-9 12:33:25"));
+        Assert.assertEquals(DateUtils.parse("2023-02-30 12:33:25", DateUtils.createDateFormat(DatePattern.NORMAL_DATETIME_PATTERN)),
+                DateUtils.parseDateTime("2023-02-30 12:33:25"));
+    }
+
+    @Test
+    public void daylightSavingTest() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            // 重叠：01:30 出现两次，与 SimpleDateFormat 一致取标准时间 EST(-05:00)
+            String overlap = "2023-11-05 01:30:00";
+            Assert.assertEquals(1699165800000L, DateUtils.parseDateTime(overlap).getTime());
+            Assert.assertEquals(DateUtils.parse(overlap, DatePattern.NORMAL_DATETIME_PATTERN), DateUtils.parseDateTime(overlap));
+            // 间隙：02:30 不存在，与 SimpleDateFormat 一致按切换前的 EST(-05:00) 计算
+            String gap = "2023-03-12 02:30:00";
+            Assert.assertEquals(1678606200000L, DateUtils.parseDateTime(gap).getTime());
+            Assert.assertEquals(DateUtils.parse(gap, DatePattern.NORMAL_DATETIME_PATTERN), DateUtils.parseDateTime(gap));
+
+            // 不支持快速解析的格式走 DateTimeFormatter，结果一致
+            FastDateParser parser = FastDateParser.getInstance("yyyy/MM/dd HH:mm", ZoneId.of("America/New_York"));
+            Assert.assertEquals(1699165800000L, parser.parseMillis("2023/11/05 01:30"));
+            Assert.assertEquals(1678606200000L, parser.parseMillis("2023/03/12 02:30"));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    /**
+     * 期望的时间戳：文本含时区偏移量时直接取瞬时值，否则按时区转换，夏令时重叠时与 SimpleDateFormat 一致取较晚的偏移量
+     */
+    private static long toEpochMillis(TemporalAccessor temporal, ZoneId zoneId, String pattern) {
+        String fields = pattern.replaceAll("'[^']*'", "");
+        if (fields.indexOf('X') >= 0 || fields.indexOf('Z') >= 0) {
+            return Instant.from(temporal).toEpochMilli();
+        }
+        LocalDate date = LocalDate.from(temporal);
+        LocalDateTime local = temporal.isSupported(ChronoField.NANO_OF_DAY) ? LocalDateTime.of(date, LocalTime.from(temporal)) : date.atStartOfDay();
+        return local.atZone(zoneId).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DatePattern;
+import com.chanus.yuntao.utils.core.date.FastDateParser;
+import com.chanus.yuntao.utils.core.date.SmartDateParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * SmartDateParser 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class SmartDateParserTest {
+    private static final String[] TEXTS = {
+            "2023-08-09 12:33:25",
+            "2023-08-09 12:33:25.123",
+            "2023-08-09 12:33",
+            "2023-08-09",
+            "20230809123325",
+            "20230809123325123",
+            "202308091233",
+            "20230809",
+            "2023年08月09日12时33分25秒",
+            "2023年08月09日12时33分",
+            "2023年08月09日",
+            "2023-08-09T12:33:25",
+            "2023-08-09T12:33:25Z",
+            "2023-08-09T12:33:25+08:00",
+            "2023-08-09T12:33:25+0800",
+            "2023-08-09T12:33:25.123",
+            "2023-08-09T12:33:25.123Z",
+            "2023-08-09T12:33:25.123+08:00",
+            "2023-08-09T12:33:25.123+0800"
+    };
+
+    @Test
+    public void parseTest() {
+        SmartDateParser parser = new SmartDateParser(ZoneId.of("Asia/Shanghai"));
+        for (String text : TEXTS) {
+            String pattern = parser.detectPattern(text);
+            System.out.println(text + " -> " + pattern + " -> " + parser.parseLocalDateTime(text));
+            Assert.assertNotNull(text, pattern);
+            Assert.assertEquals(FastDateParser.getInstance(pattern, ZoneId.of("Asia/Shanghai")).parseMillis(text), parser.parseMillis(text));
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == text.length()) {
+                Assert.assertEquals(parser.parseMillis(text), parser.parseMillis(bytes, 0, bytes.length));
+            }
+        }
+
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25), parser.parseLocalDateTime("  2023-08-09 12:33:25\n"));
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25), parser.parseLocalDateTime("2023-08-09T12:33:25+08:00"));
+        Assert.assertNull(parser.parseLocalDateTime("2023-02-30 12:33:25"));
+        Assert.assertNull(parser.parseLocalDateTime("2023/08/09 12:33:25"));
+        Assert.assertNull(parser.parseLocalDateTime(""));
+        Assert.assertEquals(FastDateParser.INVALID, parser.parseMillis("not a date"));
+    }
+
+    @Test
+    public void customPatternTest() {
+        SmartDateParser parser = new SmartDateParser(null, "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd", "yyyy-MM-dd HH:mm:ss.SSSSSS");
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25), parser.parseLocalDateTime("2023/08/09 12:33:25"));
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 0, 0), parser.parseLocalDateTime("2023/08/09"));
+        Assert.assertEquals(LocalDateTime.of(2023, 8, 9, 12, 33, 25, 123456000), parser.parseLocalDateTime("2023-08-09 12:33:25.123456"));
+        Assert.assertNull(parser.parseLocalDateTime("2023-08-09 12:33:25"));
+    }
+
+    @Test
+    public void hitCountsTest() {
+        SmartDateParser parser = new SmartDateParser(null, DatePattern.NORMAL_DATETIME_PATTERN, DatePattern.UTC_SIMPLE_PATTERN);
+        for (int i = 0; i < 10; i++) {
+            parser.parseMillis("2023-08-09T12:33:25");
+        }
+        parser.parseMillis("2023-08-09 12:33:25");
+        Map<String, Long> hitCounts = parser.getHitCounts();
+        System.out.println(hitCounts);
+        Assert.assertEquals(Long.valueOf(1), hitCounts.get(DatePattern.NORMAL_DATETIME_PATTERN));
+        Assert.assertEquals(Long.valueOf(10), hitCounts.get(DatePattern.UTC_SIMPLE_PATTERN));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.date;
+
+import com.chanus.yuntao.utils.core.date.DateUtils;
+import com.chanus.yuntao.utils.core.date.LocalDateTimeUtils;
+import com.chanus.yuntao.utils.core.date.ZoneOffsetTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * ZoneOffsetTable 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class ZoneOffsetTableTest {
+    private static final String[] ZONES = {"Asia/Shanghai", "America/New_York", "America/Sao_Paulo", "Europe/Dublin",
+            "Australia/Lord_Howe", "Pacific/Apia", "UTC", "GMT+08:00"};
+
+    @Test
+    public void offsetTest() {
+        Random random = new Random(1);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneOffsetTable table = ZoneOffsetTable.getInstance(zone);
+            Assert.assertSame(table, ZoneOffsetTable.getInstance(zone));
+            System.out.println(table);
+            for (int i = 0; i < 200000; i++) {
+                // 1800 年至 2200 年之间
+                long millis = -5364662400000L + (long) (random.nextDouble() * 12623040000000L);
+                Assert.assertEquals(zone.getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds() * 1000,
+                        table.getOffsetMillis(millis));
+            }
+        }
+    }
+
+    @Test
+    public void localTest() {
+        Random random = new Random(2);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneOffsetTable table = ZoneOffsetTable.getInstance(zone);
+            for (int i = 0; i < 200000; i++) {
+                // 随机取时间点，并在每个时区转换附近取值以覆盖夏令时重叠和跳过
+                long local = -5364662400000L + (long) (random.nextDouble() * 12623040000000L);
+                if ((i & 1) == 0) {
+                    local = local / 1800000L * 1800000L;
+                }
+                LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(local, 1000L),
+                        (int) Math.floorMod(local, 1000L) * 1000000, ZoneOffset.UTC);
+                Assert.assertEquals(localDateTime.atZone(zone).toInstant().toEpochMilli(), table.toEpochMillis(local));
+            }
+        }
+
+        // 纽约 2020-03-08 02:30 跳过，2020-11-01 01:30 重叠
+        LocalDateTime gap = LocalDateTime.of(2020, 3, 8, 2, 30);
+        LocalDateTime overlap = LocalDateTime.of(2020, 11, 1, 1, 30);
+        ZoneId newYork = ZoneId.of("America/New_York");
+        Assert.assertEquals(gap.atZone(newYork).toInstant().toEpochMilli(), LocalDateTimeUtils.getMillis(gap, newYork));
+        Assert.assertEquals(overlap.atZone(newYork).toInstant().toEpochMilli(), LocalDateTimeUtils.getMillis(overlap, newYork));
+        Assert.assertEquals(overlap.atZone(newYork).toInstant().getEpochSecond(), LocalDateTimeUtils.getSeconds(overlap, newYork));
+    }
+
+    @Test
+    public void convertTest() {
+        ZoneId shanghai = ZoneId.of("Asia/Shanghai");
+        ZoneId newYork = ZoneId.of("America/New_York");
+        LocalDateTime localDateTime = LocalDateTime.of(2020, 7, 1, 8, 30, 15, 123456789);
+        Assert.assertEquals(localDateTime.atZone(shanghai).withZoneSameInstant(newYork).toLocalDateTime(),
+                LocalDateTimeUtils.convertTimeZone(localDateTime, shanghai, newYork));
+        Assert.assertEquals(LocalDateTime.of(2020, 3, 8, 3, 30),
+                LocalDateTimeUtils.convertTimeZone(LocalDateTime.of(2020, 3, 8, 2, 30), newYork, newYork));
+        Assert.assertNull(LocalDateTimeUtils.convertTimeZone(null, shanghai, newYork));
+
+        Date date = new Date(1593563415000L);
+        Date converted = DateUtils.convertByTimeZone(date, TimeZone.getTimeZone("Asia/Shanghai"), TimeZone.getTimeZone("America/New_York"));
+        // 只使用标准偏移，夏令时期间仍相差 13 小时
+        Assert.assertEquals(date.getTime() - 13 * 3600 * 1000L, converted.getTime());
+        // 按该时刻的偏移平移时包含夏令时，相差 12 小时
+        long[] shifted = new long[1];
+        ZoneOffsetTable.getInstance(ZoneId.of("Asia/Shanghai")).shift(new long[]{date.getTime()}, ZoneOffsetTable.getInstance(ZoneId.of("America/New_York")), shifted);
+        Assert.assertEquals(date.getTime() - 12 * 3600 * 1000L, shifted[0]);
+    }
+
+    @Test
+    public void batchTest() {
+        Random random = new Random(3);
+        long[] millis = new long[100000];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = 631152000000L + (long) (random.nextDouble() * 1577836800000L);
+        }
+        Arrays.sort(millis);
+        ZoneOffsetTable newYork = ZoneOffsetTable.getInstance(ZoneId.of("America/New_York"));
+        ZoneOffsetTable shanghai = ZoneOffsetTable.getInstance(ZoneId.of("Asia/Shanghai"));
+
+        int[] offsets = new int[millis.length];
+        long[] local = new long[millis.length];
+        long[] shifted = new long[millis.length];
+        long[] back = new long[millis.length];
+        newYork.getOffsetsMillis(millis, offsets);
+        newYork.toLocalMillis(millis, local);
+        newYork.shift(millis, shanghai, shifted);
+        for (int i = 0; i < millis.length; i++) {
+            Assert.assertEquals(newYork.getOffsetMillis(millis[i]), offsets[i]);
+            Assert.assertEquals(millis[i] + offsets[i], local[i]);
+            Assert.assertEquals(millis[i] - offsets[i] + shanghai.getOffsetMillis(millis[i]), shifted[i]);
+        }
+        newYork.toEpochMillis(local, back);
+        for (int i = 0; i < millis.length; i++) {
+            // 夏令时重叠的一小时内取较早的偏移，无法还原
+            Assert.assertTrue(back[i] == millis[i] || back[i] == millis[i] - 3600000L);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.AhoCorasick;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * AhoCorasick 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class AhoCorasickTest {
+    @Test
+    public void findTest() {
+        AhoCorasick ac = AhoCorasick.builder().addAll(Arrays.asList("he", "she", "his", "hers", "he")).build();
+        Assert.assertEquals(4, ac.size());
+        List<AhoCorasick.Match> matches = ac.findAll("ushers");
+        System.out.println(matches);
+        Assert.assertEquals("[she[1, 4), he[2, 4), hers[2, 6)]", matches.toString());
+        Assert.assertEquals("she", ac.findFirst("ushers").getKeyword());
+        Assert.assertTrue(ac.containsAny("this"));
+        Assert.assertFalse(ac.containsAny("abc"));
+        Assert.assertFalse(ac.containsAny(null));
+    }
+
+    @Test
+    public void replaceTest() {
+        AhoCorasick ac = AhoCorasick.builder().addAll(Arrays.asList("敏感词", "敏感", "bad", "abc", "cd")).build();
+        Assert.assertEquals("这是[敏感词]和[bad]", ac.replace("这是敏感词和bad", s -> "[" + s + "]"));
+        Assert.assertEquals("这是***和***", ac.replace("这是敏感词和bad", '*'));
+        // 重叠时优先替换靠前、较长的关键词，按字符替换时重叠部分全部替换
+        Assert.assertEquals("#de", ac.replace("abcde", "#"));
+        Assert.assertEquals("****e", ac.replace("abcde", '*'));
+        Assert.assertEquals("无关内容", ac.replace("无关内容", '*'));
+        Assert.assertEquals("x[bad]y", StringUtils.replaceAny("xbady", ac, s -> "[" + s + "]"));
+    }
+
+    @Test
+    public void modeTest() {
+        AhoCorasick ac = AhoCorasick.builder().addAll(Arrays.asList("Spam", "广告")).ignoreCase(true).normalizeWidth(true).wholeWord(true).build();
+        Assert.assertEquals("**** 和 **** 和 **", ac.replace("SPAM 和 ｓｐａｍ 和 广告", '*'));
+        // 整词匹配，英文单词内部不匹配，中文前后不受词边界限制
+        Assert.assertFalse(ac.containsAny("spammer"));
+        Assert.assertTrue(ac.containsAny("这是spam广告"));
+        Assert.assertTrue(ac.containsAny("发广告了"));
+
+        AhoCorasick plain = AhoCorasick.builder().add("Spam").build();
+        Assert.assertFalse(plain.containsAny("spam"));
+        Assert.assertTrue(plain.containsAny("Spammer"));
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            List<String> keywords = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                keywords.add(randomString(random, 1 + random.nextInt(4)));
+            }
+            AhoCorasick ac = AhoCorasick.builder().addAll(keywords).build();
+            String text = randomString(random, 200);
+            int expected = 0;
+            for (String keyword : ac.getKeywords()) {
+                for (int i = text.indexOf(keyword); i >= 0; i = text.indexOf(keyword, i + 1)) {
+                    expected++;
+                }
+            }
+            Assert.assertEquals(expected, ac.findAll(text).size());
+            for (AhoCorasick.Match match : ac.findAll(text)) {
+                Assert.assertEquals(match.getKeyword(), text.substring(match.getStart(), match.getEnd()));
+            }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.CharsetUtils;
+import com.chanus.yuntao.utils.core.FileUtils;
+import com.chanus.yuntao.utils.core.lang.CharsetDetector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * CharsetDetector 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class CharsetDetectorTest {
+    private static final String TEXT = "字符集探测器用于区分 UTF-8 和 GBK 编码的文本，内存占用固定，可用于任意大小的输入。";
+
+    @Test
+    public void detectTest() {
+        Charset gbk = CharsetUtils.CHARSET_GBK;
+        CharsetDetector.Result utf8 = CharsetDetector.detect(TEXT.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(StandardCharsets.UTF_8, utf8.getCharset());
+        Assert.assertTrue(utf8.getConfidence() > 0.9);
+        System.out.println(utf8);
+
+        CharsetDetector.Result result = CharsetDetector.detect(TEXT.getBytes(gbk));
+        Assert.assertEquals(gbk, result.getCharset());
+        Assert.assertTrue(result.getConfidence() > 0.9);
+        System.out.println(result);
+
+        result = CharsetDetector.detect("plain ascii".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals(StandardCharsets.UTF_8, result.getCharset());
+        Assert.assertEquals(1.0, result.getConfidence(), 0.0);
+
+        // 截断在多字节字符中间的 UTF-8 内容仍能识别
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        result = new CharsetDetector(bytes.length - 1).update(bytes, 0, bytes.length).result();
+        Assert.assertEquals(StandardCharsets.UTF_8, result.getCharset());
+    }
+
+    @Test
+    public void truncatedLeadByteTest() {
+        // 唯一的非 ASCII 字节是末尾未配对的 GBK 首字节
+        CharsetDetector.Result result = CharsetDetector.detect(new byte[]{(byte) 0x81});
+        Assert.assertEquals(CharsetUtils.CHARSET_GBK, result.getCharset());
+        Assert.assertEquals(0.6, result.getConfidence(), 0.0);
+
+        result = CharsetDetector.detect(new byte[]{'a', 'b', (byte) 0x81});
+        Assert.assertEquals(CharsetUtils.CHARSET_GBK, result.getCharset());
+        Assert.assertFalse(Double.isNaN(result.getConfidence()));
+    }
+
+    @Test
+    public void bomTest() throws IOException {
+        byte[] utf8 = concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, TEXT.getBytes(StandardCharsets.UTF_8));
+        CharsetDetector.Result result = CharsetUtils.detect(utf8);
+        Assert.assertEquals(StandardCharsets.UTF_8, result.getCharset());
+        Assert.assertEquals(3, result.getBomLength());
+
+        byte[] utf16 = concat(new byte[]{(byte) 0xFF, (byte) 0xFE}, TEXT.getBytes(StandardCharsets.UTF_16LE));
+        result = CharsetUtils.detect(new ByteArrayInputStream(utf16));
+        Assert.assertEquals(StandardCharsets.UTF_16LE, result.getCharset());
+        Assert.assertEquals(2, result.getBomLength());
+
+        File file = File.createTempFile("charset-detector", ".txt");
+        try {
+            Files.write(file.toPath(), utf16);
+            Assert.assertEquals(TEXT, FileUtils.readString(file));
+            Files.write(file.toPath(), utf8);
+            Assert.assertEquals(TEXT, FileUtils.readString(file.getPath()));
+            Files.write(file.toPath(), TEXT.getBytes(CharsetUtils.CHARSET_GBK));
+            Assert.assertEquals(TEXT, FileUtils.readString(file));
+            Assert.assertEquals(CharsetUtils.CHARSET_GBK, CharsetUtils.detect(file).getCharset());
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        // 分批输入与一次输入的结果一致，支持 mark 的输入流在探测后重置
+        byte[] bytes = TEXT.getBytes(CharsetUtils.CHARSET_GBK);
+        CharsetDetector detector = new CharsetDetector();
+        for (int i = 0; i < bytes.length; i++) {
+            detector.update(bytes, i, 1);
+        }
+        Assert.assertEquals(CharsetDetector.detect(bytes).toString(), detector.result().toString());
+
+        InputStream in = new ByteArrayInputStream(bytes);
+        Assert.assertEquals(CharsetUtils.CHARSET_GBK, CharsetUtils.detect(in).getCharset());
+        Assert.assertEquals(bytes.length, in.available());
+
+        // 只检查采样范围内的字节
+        detector = new CharsetDetector(16);
+        detector.update("0123456789abcdef".getBytes(StandardCharsets.US_ASCII), 0, 16);
+        Assert.assertTrue(detector.isDone());
+        detector.update(bytes, 0, bytes.length);
+        Assert.assertEquals(1.0, detector.result().getConfidence(), 0.0);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] bytes = new byte[a.length + b.length];
+        System.arraycopy(a, 0, bytes, 0, a.length);
+        System.arraycopy(b, 0, bytes, a.length, b.length);
+        return bytes;
+    }
+}
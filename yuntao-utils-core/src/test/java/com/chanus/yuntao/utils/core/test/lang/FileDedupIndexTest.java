@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.FileUtils;
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.FileDedupIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * FileDedupIndex 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class FileDedupIndexTest {
+    @Test
+    public void findDuplicatesTest() throws IOException {
+        File dir = Files.createTempDirectory("dedup").toFile();
+        try {
+            String big = StringUtils.repeat("0123456789", 1000);
+            FileUtils.write(new File(dir, "a.txt"), "hello");
+            FileUtils.write(new File(dir, "sub/b.txt"), "hello");
+            FileUtils.write(new File(dir, "c.txt"), "world");
+            FileUtils.write(new File(dir, "d.txt"), big + "a");
+            FileUtils.write(new File(dir, "sub/e.txt"), big + "b");
+            FileUtils.write(new File(dir, "sub/f.txt"), big + "a");
+
+            List<List<File>> duplicates = new FileDedupIndex().findDuplicates(dir);
+            duplicates.forEach(System.out::println);
+            Assert.assertEquals(2, duplicates.size());
+        } finally {
+            FileUtils.delete(dir);
+        }
+    }
+
+    @Test
+    public void indexFileTest() throws IOException {
+        File dir = Files.createTempDirectory("dedup").toFile();
+        File indexFile = File.createTempFile("dedup", ".idx");
+        try {
+            FileUtils.write(new File(dir, "a.txt"), "hello");
+            FileUtils.write(new File(dir, "b.txt"), "hello");
+
+            FileDedupIndex index = new FileDedupIndex(indexFile);
+            System.out.println(index.findDuplicates(dir));
+            System.out.println(FileUtils.readUtf8String(indexFile));
+
+            FileDedupIndex reloaded = new FileDedupIndex(indexFile);
+            Assert.assertEquals(2, reloaded.size());
+            Assert.assertEquals(index.getHash(new File(dir, "a.txt")), reloaded.getHash(new File(dir, "b.txt")));
+            Assert.assertEquals(1, reloaded.findDuplicates(dir).size());
+        } finally {
+            FileUtils.delete(dir, indexFile);
+        }
+    }
+}
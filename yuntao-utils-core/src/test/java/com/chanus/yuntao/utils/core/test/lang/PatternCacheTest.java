@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.RegexUtils;
+import com.chanus.yuntao.utils.core.lang.PatternCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+/**
+ * PatternCache 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class PatternCacheTest {
+    @Test
+    public void getTest() {
+        PatternCache cache = new PatternCache(16, Pattern.DOTALL);
+        Pattern pattern = cache.get("a.b");
+        Assert.assertSame(pattern, cache.get("a.b"));
+        Assert.assertEquals(Pattern.DOTALL, pattern.flags());
+        Assert.assertTrue(pattern.matcher("a\nb").matches());
+        Pattern insensitive = cache.get("a.b", Pattern.CASE_INSENSITIVE);
+        Assert.assertNotSame(pattern, insensitive);
+        Assert.assertSame(insensitive, cache.get("a.b", Pattern.CASE_INSENSITIVE));
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.0);
+        System.out.println(cache);
+    }
+
+    @Test
+    public void evictionTest() {
+        PatternCache cache = new PatternCache(16, 0);
+        cache.precompile("pinned");
+        Pattern hot = cache.get("hot");
+        for (int i = 0; i < 100; i++) {
+            cache.get("cold" + i);
+            Assert.assertSame(hot, cache.get("hot"));
+        }
+        Assert.assertTrue(cache.size() <= 17);
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+        long misses = cache.getMissCount();
+        cache.get("pinned");
+        Assert.assertEquals(misses, cache.getMissCount());
+        System.out.println(cache);
+    }
+
+    @Test
+    public void lruTest() {
+        PatternCache cache = new PatternCache(2, 0);
+        Pattern a = cache.get("a");
+        cache.get("b");
+        Assert.assertSame(a, cache.get("a"));
+        cache.get("c");
+        Assert.assertEquals(1, cache.getEvictionCount());
+
+        // 命中不推进访问序号，最近写入之后被命中的 a 保留，b 被淘汰
+        long misses = cache.getMissCount();
+        Assert.assertSame(a, cache.get("a"));
+        cache.get("b");
+        Assert.assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void registerTest() {
+        PatternCache cache = new PatternCache();
+        Pattern mobile = cache.register("mobile", "1[3-9]\\d{9}");
+        Assert.assertSame(mobile, cache.getRegistered("mobile"));
+        Assert.assertTrue(cache.getRegistered("mobile").matcher("13800138000").matches());
+        Assert.assertSame(mobile, cache.unregister("mobile"));
+        Assert.assertNull(cache.getRegistered("mobile"));
+    }
+
+    @Test
+    public void regexUtilsTest() {
+        String regex = "(\\d+)-(\\d+)";
+        Assert.assertSame(RegexUtils.getPattern(regex), RegexUtils.getPattern(regex));
+        long hits = RegexUtils.getPatternCache().getHitCount();
+        Assert.assertEquals("12", RegexUtils.getGroup1(regex, "a12-34"));
+        Assert.assertTrue(RegexUtils.isMatch(regex, "12-34"));
+        Assert.assertEquals(2, RegexUtils.count(regex, "1-2 3-4"));
+        Assert.assertTrue(RegexUtils.getPatternCache().getHitCount() >= hits + 3);
+    }
+}
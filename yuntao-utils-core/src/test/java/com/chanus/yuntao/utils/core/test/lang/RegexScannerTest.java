@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.RegexUtils;
+import com.chanus.yuntao.utils.core.lang.RegexScanner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * RegexScanner 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class RegexScannerTest {
+    @Test
+    public void scanTest() {
+        RegexScanner scanner = RegexScanner.of("(\\d+)-(\\d+)");
+        List<RegexScanner.Match> matches = new ArrayList<>();
+        scanner.scan(new StringReader("a12-34 b5-6 c7"), matches::add);
+        Assert.assertEquals(2, matches.size());
+        Assert.assertEquals("12-34", matches.get(0).group());
+        Assert.assertEquals("34", matches.get(0).group(2));
+        Assert.assertEquals(1, matches.get(0).getStart());
+        Assert.assertEquals(11, matches.get(1).getEnd());
+        Assert.assertEquals(2, scanner.count(new StringReader("1-2 3-4")));
+        System.out.println(matches);
+
+        List<String> groups = new ArrayList<>();
+        RegexUtils.findAll("\\d+", new StringReader("a1b22c333"), 0, groups::add);
+        Assert.assertEquals("[1, 22, 333]", groups.toString());
+        Assert.assertEquals(3, RegexUtils.count("\\d+", new StringReader("a1b22c333")));
+    }
+
+    @Test
+    public void boundaryTest() {
+        // 使用很小的窗口，与整体匹配的结果逐一比对，每行不超过最大匹配长度
+        String[] regexes = {"\\d+", "a.b", "\\bab\\b", "(?m)^a.*$", "a*", "(?<=ab)1", "1\\s*\\n?b", "(ab)+1?$"};
+        Random random = new Random(1);
+        char[] chars = {'a', 'b', '1', ' ', '\n'};
+        for (int i = 0; i < 200; i++) {
+            char[] content = new char[random.nextInt(2000)];
+            for (int j = 0; j < content.length; j++) {
+                content[j] = j % 24 == 23 ? '\n' : chars[random.nextInt(chars.length)];
+            }
+            String s = new String(content);
+            for (String regex : regexes) {
+                Pattern pattern = Pattern.compile(regex);
+                RegexScanner scanner = RegexScanner.of(pattern).bufferSize(1 + random.nextInt(16)).maxMatchLength(32);
+                List<String> actual = new ArrayList<>();
+                scanner.scan(new StringReader(s), m -> actual.add(m.getStart() + ":" + m.group()));
+                Assert.assertEquals(regex, expected(pattern, s), actual);
+            }
+        }
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        List<String> list = RegexScanner.of("\\d+").stream(new StringReader("a1b22c333")).map(RegexScanner.Match::group)
+                .collect(Collectors.toList());
+        Assert.assertEquals("[1, 22, 333]", list.toString());
+
+        File file = File.createTempFile("regex-scanner", ".txt");
+        try {
+            Files.write(file.toPath(), "编号 12\n编号 345\n".getBytes(StandardCharsets.UTF_8));
+            try (Stream<RegexScanner.Match> stream = RegexScanner.of("\\d+").stream(file.toPath(), StandardCharsets.UTF_8)) {
+                Assert.assertEquals("[[3, 5) 12, [9, 12) 345]", stream.collect(Collectors.toList()).toString());
+            }
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void parallelTest() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Random random = new Random(2);
+        for (int i = 0; i < 2000; i++) {
+            sb.append("第").append(i).append("行 id=").append(random.nextInt(100000)).append(" 状态=OK\n");
+        }
+        String content = sb.toString();
+        File file = File.createTempFile("regex-scanner", ".txt");
+        try {
+            Path path = file.toPath();
+            Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+            Pattern pattern = Pattern.compile("id=(\\d+)");
+            RegexScanner scanner = RegexScanner.of(pattern).segmentSize(1000);
+            List<String> actual = scanner.findAllParallel(path, StandardCharsets.UTF_8).stream()
+                    .map(m -> m.getStart() + ":" + m.group()).collect(Collectors.toList());
+            Assert.assertEquals(expected(pattern, content), actual);
+            Assert.assertEquals(2000, scanner.countParallel(path, StandardCharsets.UTF_8));
+            Assert.assertEquals(2000, scanner.count(path, StandardCharsets.UTF_8));
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCharsetTest() {
+        RegexScanner.of("a").countParallel(new File("none").toPath(), StandardCharsets.UTF_16);
+    }
+
+    private static List<String> expected(Pattern pattern, String content) {
+        List<String> list = new ArrayList<>();
+        Matcher matcher = pattern.matcher(content);
+        while (matcher.find()) {
+            list.add(matcher.start() + ":" + matcher.group());
+        }
+        return list;
+    }
+}
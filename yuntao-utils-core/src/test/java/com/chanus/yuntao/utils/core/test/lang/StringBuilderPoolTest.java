@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.lang.StringBuilderPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StringBuilderPool 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class StringBuilderPoolTest {
+    @Test
+    public void acquireTest() {
+        StringBuilder sb = StringBuilderPool.acquire(64);
+        sb.append("hello");
+        Assert.assertEquals("hello", StringBuilderPool.toStringAndRelease(sb));
+
+        // 归还后再次获取得到同一个已清空的实例，嵌套获取得到不同的实例
+        StringBuilder outer = StringBuilderPool.acquire(64);
+        Assert.assertSame(sb, outer);
+        Assert.assertEquals(0, outer.length());
+        StringBuilder inner = StringBuilderPool.acquire(64);
+        Assert.assertNotSame(outer, inner);
+        StringBuilderPool.release(inner);
+        StringBuilderPool.release(outer);
+
+        // 容量过大的实例不会被复用
+        StringBuilder large = StringBuilderPool.acquire(StringBuilderPool.MAX_POOLED_CAPACITY + 1);
+        StringBuilderPool.release(large);
+        Assert.assertNotSame(large, StringBuilderPool.acquire(StringBuilderPool.MAX_POOLED_CAPACITY + 1));
+        Assert.assertNotSame(large, StringBuilderPool.acquire());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.lang.StringInterner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StringInterner 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class StringInternerTest {
+    @Test
+    public void internTest() {
+        StringInterner interner = new StringInterner();
+        String a = new String("page");
+        String b = new String("page");
+        Assert.assertSame(a, interner.intern(a));
+        Assert.assertSame(a, interner.intern(b));
+        Assert.assertEquals(1, interner.getHitCount());
+        Assert.assertEquals(1, interner.getMissCount());
+        Assert.assertNull(interner.intern(null));
+
+        // 过长的字符串不驻留
+        StringInterner shortOnly = new StringInterner(16, 1, 4);
+        String longKey = new String("limit");
+        Assert.assertSame(longKey, shortOnly.intern(longKey));
+        Assert.assertNotSame(longKey, shortOnly.intern(new String("limit")));
+        Assert.assertEquals(0, shortOnly.size());
+
+        interner.clear();
+        Assert.assertEquals(0, interner.size());
+        Assert.assertSame(b, interner.intern(b));
+    }
+
+    @Test
+    public void boundedTest() {
+        StringInterner interner = new StringInterner(64, 4, 64);
+        // 保持强引用，避免驻留的字符串被回收
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "key" + i;
+            keys.add(key);
+            interner.intern(key);
+        }
+        Assert.assertTrue(interner.size() <= 64);
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        StringInterner interner = new StringInterner();
+        String[] results = new String[8];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                String s = null;
+                for (int j = 0; j < 10000; j++) {
+                    s = interner.intern(new String("id"));
+                }
+                results[index] = s;
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (String result : results) {
+            Assert.assertSame(results[0], result);
+        }
+    }
+}
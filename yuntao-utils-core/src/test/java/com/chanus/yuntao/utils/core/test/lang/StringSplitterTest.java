@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.StringSplitter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * StringSplitter 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class StringSplitterTest {
+    @Test
+    public void splitTest() {
+        StringSplitter splitter = StringSplitter.on(',').trim(true).ignoreEmpty(true);
+        Assert.assertEquals("[a, b, c]", splitter.splitToList(" a, b,, c ,").toString());
+        Assert.assertEquals("[a, b,, c ,]", splitter.limit(2).splitToList(" a, b,, c ,").toString());
+        Assert.assertEquals("b", splitter.get("a,b,c", 1));
+        Assert.assertNull(splitter.get("a,b,c", 3));
+        Assert.assertEquals("[, a, ]", StringSplitter.on("ab").ignoreCase(true).splitToList("ABaAB").toString());
+        Assert.assertEquals("[a, b]", StringSplitter.onWhitespace().ignoreEmpty(true).splitToList("a \t b").toString());
+        Assert.assertFalse(splitter.split("").iterator().hasNext());
+        Assert.assertEquals("[a, b]", toList(StringUtils.splitIterable(new StringBuilder("a; b ;"), ';')).toString());
+
+        Iterator<CharSequence> views = splitter.splitToViews("x , yz").iterator();
+        Assert.assertEquals("x", views.next().toString());
+        CharSequence view = views.next();
+        Assert.assertEquals(2, view.length());
+        Assert.assertEquals('z', view.charAt(1));
+        Assert.assertEquals("z", view.subSequence(1, 2).toString());
+        Assert.assertFalse(views.hasNext());
+
+        StringBuilder ranges = new StringBuilder();
+        splitter.forEachRange("a,bb", (source, start, end) -> ranges.append(start).append('-').append(end).append(' '));
+        Assert.assertEquals("0-1 2-4 ", ranges.toString());
+    }
+
+    @Test
+    public void compatibilityTest() {
+        // 未去除空白符时与 StringUtils.split 结果一致
+        Random random = new Random(1);
+        char[] chars = {'a', 'b', 'B', ',', ' '};
+        String[] separators = {",", "b", "ab", "bb", "", null};
+        for (int i = 0; i < 100000; i++) {
+            char[] s = new char[random.nextInt(12)];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = chars[random.nextInt(chars.length)];
+            }
+            String str = new String(s);
+            String separator = separators[random.nextInt(separators.length)];
+            int limit = random.nextInt(5) - 1;
+            boolean ignoreEmpty = random.nextBoolean();
+            boolean ignoreCase = random.nextBoolean();
+            List<String> expected = StringUtils.split(str, separator, limit, false, ignoreEmpty, ignoreCase);
+            List<String> actual = StringSplitter.on(separator).limit(limit).ignoreEmpty(ignoreEmpty).ignoreCase(ignoreCase).splitToList(str);
+            Assert.assertEquals(str + "|" + separator + "|" + limit, expected, actual);
+            if (!ignoreCase) {
+                Assert.assertEquals(expected, toList(StringUtils.splitIterable(new StringBuilder(str), separator, limit, false, ignoreEmpty)));
+            }
+        }
+    }
+
+    @Test
+    public void parallelTest() {
+        StringBuilder sb = new StringBuilder();
+        Random random = new Random(2);
+        for (int i = 0; i < 200000; i++) {
+            sb.append(random.nextInt(1000)).append(i % 7 == 0 ? ", ," : ",");
+        }
+        String s = sb.toString();
+        for (StringSplitter splitter : new StringSplitter[]{StringSplitter.on(',').trim(true), StringSplitter.on(", ,"), StringSplitter.onWhitespace()}) {
+            List<String> sequential = splitter.splitToList(s);
+            Assert.assertEquals(sequential, splitter.stream(s, true).collect(Collectors.toList()));
+            Assert.assertEquals(sequential, splitter.viewStream(s, true).map(CharSequence::toString).collect(Collectors.toList()));
+        }
+    }
+
+    private static List<String> toList(Iterable<String> iterable) {
+        List<String> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.StringTemplate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Random;
+
+/**
+ * StringTemplate 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class StringTemplateTest {
+    @Test
+    public void formatTest() {
+        StringTemplate template = StringTemplate.compile("this is {} for {}");
+        Assert.assertSame(template, StringTemplate.compile("this is {} for {}"));
+        Assert.assertEquals(2, template.getPlaceholderCount());
+        Assert.assertEquals("this is a for b", template.format("a", "b"));
+        Assert.assertEquals("this is a for {}", template.format("a"));
+        Assert.assertEquals("this is null for [1, 2]", template.format(null, new int[]{1, 2}));
+        Assert.assertEquals("this is {} for a", StringTemplate.compile("this is \\{} for {}").format("a", "b"));
+        Assert.assertEquals("this is \\a for b", StringTemplate.compile("this is \\\\{} for {}").format("a", "b"));
+
+        StringBuilder sb = new StringBuilder("> ");
+        template.formatTo(sb, 1, 2);
+        Assert.assertEquals("> this is 1 for 2", sb.toString());
+        StringWriter writer = new StringWriter();
+        template.formatTo(writer, "x", "y", "z");
+        Assert.assertEquals("this is x for y", writer.toString());
+    }
+
+    @Test
+    public void cacheTest() {
+        StringTemplate.clearCache();
+        // 首次出现的模板不编译，再次出现时编译缓存
+        Assert.assertEquals("a-1", StringTemplate.formatTemplate("a-{}", 1));
+        Assert.assertEquals(0, StringTemplate.getCacheSize());
+        Assert.assertEquals("a-2", StringUtils.format("a-{}", 2));
+        Assert.assertEquals(1, StringTemplate.getCacheSize());
+        Assert.assertSame(StringTemplate.compile("a-{}"), StringTemplate.compile("a-{}"));
+
+        // 超过上限时只淘汰部分模板，不清空缓存
+        for (int i = 0; i < StringTemplate.MAX_CACHE_SIZE * 2; i++) {
+            StringTemplate.compile("t" + i + "-{}");
+            int size = StringTemplate.getCacheSize();
+            Assert.assertTrue(size <= StringTemplate.MAX_CACHE_SIZE);
+            Assert.assertTrue(i < StringTemplate.MAX_CACHE_SIZE || size > StringTemplate.MAX_CACHE_SIZE / 2);
+        }
+
+        // 只出现一次的模板数量不受限制，格式化结果不变
+        for (int i = 0; i < StringTemplate.MAX_CACHE_SIZE * 2; i++) {
+            Assert.assertEquals("u" + i + "-x", StringUtils.format("u" + i + "-{}", "x"));
+        }
+        Assert.assertTrue(StringTemplate.getCacheSize() <= StringTemplate.MAX_CACHE_SIZE);
+        StringTemplate.clearCache();
+    }
+
+    @Test
+    public void compatibilityTest() {
+        // 与编译前的逐次扫描实现逐一比对
+        Random random = new Random(1);
+        char[] chars = {'{', '}', '\\', 'a'};
+        for (int i = 0; i < 200000; i++) {
+            char[] template = new char[random.nextInt(12)];
+            for (int j = 0; j < template.length; j++) {
+                template[j] = chars[random.nextInt(chars.length)];
+            }
+            Object[] params = new Object[random.nextInt(5)];
+            for (int j = 0; j < params.length; j++) {
+                params[j] = "p" + j;
+            }
+            String s = new String(template);
+            Assert.assertEquals(s, legacyFormat(s, params), StringUtils.format(s, params));
+            Assert.assertEquals(s, legacyFormat(s, params), StringUtils.format(s, params));
+            Assert.assertEquals(s, legacyFormat(s, params), StringTemplate.compile(s).formatTo(new StringWriter(), params).toString());
+        }
+    }
+
+    /**
+     * 编译前的 StringUtils.format 实现
+     */
+    private static String legacyFormat(String template, Object... params) {
+        if (StringUtils.isBlank(template) || params.length == 0) {
+            return template;
+        }
+        StringBuilder sb = new StringBuilder(template.length() + 50);
+        int handledPosition = 0;
+        int delimIndex;
+        for (int argIndex = 0; argIndex < params.length; argIndex++) {
+            delimIndex = template.indexOf("{}", handledPosition);
+            if (delimIndex == -1) {
+                if (handledPosition == 0) {
+                    return template;
+                }
+                sb.append(template, handledPosition, template.length());
+                return sb.toString();
+            }
+            if (delimIndex > 0 && template.charAt(delimIndex - 1) == '\\') {
+                if (delimIndex > 1 && template.charAt(delimIndex - 2) == '\\') {
+                    sb.append(template, handledPosition, delimIndex - 1);
+                    sb.append(StringUtils.toUtf8String(params[argIndex]));
+                    handledPosition = delimIndex + 2;
+                } else {
+                    argIndex--;
+                    sb.append(template, handledPosition, delimIndex - 1);
+                    sb.append('{');
+                    handledPosition = delimIndex + 1;
+                }
+            } else {
+                sb.append(template, handledPosition, delimIndex);
+                sb.append(StringUtils.toUtf8String(params[argIndex]));
+                handledPosition = delimIndex + 2;
+            }
+        }
+        sb.append(template, handledPosition, template.length());
+        return sb.toString();
+    }
+}
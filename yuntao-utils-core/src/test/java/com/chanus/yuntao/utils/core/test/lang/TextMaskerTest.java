@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Chanus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chanus.yuntao.utils.core.test.lang;
+
+import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.TextMasker;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TextMasker 测试类
+ *
+ * @author Chanus
+ * @since 1.8.0
+ */
+public class TextMaskerTest {
+    private static final String LINE = "用户 张三 手机13812345678，身份证11010519491231002X，卡号6222020200112345679，邮箱 zhangsan@example.com，订单 202001011234567890123";
+
+    @Test
+    public void maskTest() {
+        TextMasker masker = TextMasker.pii();
+        Assert.assertEquals("用户 张三 手机138****5678，身份证110***********002X，卡号622202*********5679，邮箱 z*******@example.com，订单 202001011234567890123",
+                masker.mask(LINE));
+
+        // 没有敏感信息时返回原字符串
+        String plain = "no sensitive content 123";
+        Assert.assertSame(plain, masker.mask(plain));
+        Assert.assertNull(masker.mask(null));
+
+        // 更长数字串中的部分不会被匹配
+        Assert.assertEquals("id=138123456781", masker.mask("id=138123456781"));
+        // 15 位身份证号，出生日期不合法时不处理
+        Assert.assertEquals("110********1123", masker.mask("110105491231123"));
+        Assert.assertEquals("110105491331123", masker.mask("110105491331123"));
+        // 未通过 Luhn 校验的数字串不是银行卡号
+        Assert.assertEquals("6222020200112345671", masker.mask("6222020200112345671"));
+        // 数字开头的邮箱
+        Assert.assertEquals("1**********@qq.com", masker.mask("13812345678@qq.com"));
+        Assert.assertEquals("*@a.cn; a@b", masker.mask("x@a.cn; a@b"));
+        Assert.assertEquals("138****5678", StringUtils.mask("13812345678"));
+    }
+
+    @Test
+    public void builderTest() {
+        TextMasker masker = TextMasker.builder()
+                .mobile(0, 4)
+                .regex("password=\\w+", 9, 0)
+                .regex("(?i)token:\\s*[0-9a-f]+", 7, 2)
+                .maskChar('#')
+                .build();
+        Assert.assertEquals("tel #######5678 password=####### TOKEN: ##########ef, mail a@b.com",
+                masker.mask("tel 13812345678 password=abc1234 TOKEN: 0123456789ef, mail a@b.com"));
+        Assert.assertEquals("#######5678 password=#######", masker.mask("13812345678 password=abc1234"));
+
+        StringBuilder sb = new StringBuilder("> ");
+        masker.maskTo("13812345678", sb).append(" <");
+        Assert.assertEquals("> #######5678 <", sb.toString());
+
+        // 内置规则与正则规则重叠时先出现的匹配优先
+        TextMasker overlap = TextMasker.builder().mobile().regex("phone 1\\d{3}", 6, 0).build();
+        Assert.assertEquals("phone ****2345678 138****5678", overlap.mask("phone 13812345678 13812345678"));
+
+        try {
+            TextMasker.builder().mobile(-1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -16,9 +16,13 @@
 package com.chanus.yuntao.utils.core.test.map;
 
 import com.chanus.yuntao.utils.core.StringUtils;
+import com.chanus.yuntao.utils.core.lang.StringInterner;
 import com.chanus.yuntao.utils.core.map.CustomMap;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+
 /**
  * CustomMap 测试类
  *
@@ -60,4 +64,20 @@ public class CustomMapTest {
         System.out.println(map.getStringValue("aaa"));
         System.out.println(map.getStringValue("ccc"));
     }
+
+    @Test
+    public void internKeysTest() {
+        StringInterner interner = new StringInterner();
+        String key = new String("page");
+        CustomMap map1 = CustomMap.create().internKeys(interner).putNext(key, 1);
+        CustomMap map2 = CustomMap.create().internKeys(interner).putNext(new String("page"), 2);
+        map2.putAll(Collections.singletonMap(new String("limit"), 10));
+        CustomMap map3 = CustomMap.create().internKeys(interner);
+        map3.putAll(Collections.singletonMap(new String("limit"), 20));
+        Assert.assertSame(key, map2.keySet().stream().filter("page"::equals).findFirst().orElse(null));
+        Assert.assertSame(map2.keySet().stream().filter("limit"::equals).findFirst().orElse(null),
+                map3.keySet().iterator().next());
+        Assert.assertEquals(2, map2.get("page"));
+        Assert.assertEquals(1, map1.size());
+    }
 }